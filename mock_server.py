@@ -8,15 +8,22 @@ Mock server to simulate person data APIs
 import json
 import http.server
 import socketserver
+import time
 import urllib.parse
 import xml.etree.ElementTree as ET
 from datetime import datetime
 
 class PersonDataHandler(http.server.BaseHTTPRequestHandler):
     
+    # Artificial delay added before each response, in seconds (for load tests)
+    latency = 0.0
+    
     def do_GET(self):
         """Handle GET requests"""
         try:
+            if self.latency:
+                time.sleep(self.latency)
+            
             # Parse the URL path
             path = urllib.parse.urlparse(self.path).path
             
@@ -53,6 +60,9 @@ class PersonDataHandler(http.server.BaseHTTPRequestHandler):
     def do_POST(self):
         """Handle POST requests (SOAP)"""
         try:
+            if self.latency:
+                time.sleep(self.latency)
+            
             # Parse the URL path
             path = urllib.parse.urlparse(self.path).path
             
@@ -62,11 +72,17 @@ class PersonDataHandler(http.server.BaseHTTPRequestHandler):
                 content_length = int(self.headers.get('Content-Length', 0))
                 post_data = self.rfile.read(content_length).decode('utf-8')
                 
-                # Parse SOAP request to extract person ID
-                person_id = self.extract_person_id_from_soap(post_data)
-                
-                # Generate SOAP response
-                soap_response = self.generate_soap_response(person_id)
+                if 'GetEmployeesRequest' in post_data:
+                    # Bulk operation: one response carrying every requested employee, in request order
+                    person_ids = self.extract_person_ids_from_soap(post_data)
+                    soap_response = self.generate_soap_response(person_ids, "GetEmployeesResponse")
+                    person_id = ", ".join(person_ids)
+                else:
+                    # Parse SOAP request to extract person ID
+                    person_id = self.extract_person_id_from_soap(post_data)
+                    
+                    # Generate SOAP response
+                    soap_response = self.generate_soap_response([person_id])
                 
                 # Send response
                 self.send_response(200)
@@ -125,7 +141,7 @@ class PersonDataHandler(http.server.BaseHTTPRequestHandler):
         try:
             # Simple regex to find employeeId or personId in SOAP request
             import re
-            id_match = re.search(r'<(?:employeeId|personId)>(\d+)</(?:employeeId|personId)>', soap_request)
+            id_match = re.search(r'<(?:\w+:)?(?:employeeId|personId)>(\d+)</', soap_request)
             if id_match:
                 return id_match.group(1)
             
@@ -138,12 +154,12 @@ class PersonDataHandler(http.server.BaseHTTPRequestHandler):
         except Exception:
             return "1"
     
-    def generate_soap_response(self, person_id):
-        """Generate SOAP 1.2 response with employee data"""
+    def generate_employee_xml(self, person_id):
+        """Generate the per:Employee element of one employee"""
         
         # Different employee data templates for SOAP
         employee_names = ["Alexandre", "Sophie", "Pierre", "Marie", "Laurent", "Isabelle", "Nicolas", "Céline"]
-        departments = ["IT", "HR", "Finance", "Marketing", "Operations", "Sales", "Legal", "R&D"]
+        departments = ["IT", "HR", "Finance", "Marketing", "Operations", "Sales", "Legal", "R&amp;D"]
         positions = ["Developer", "Manager", "Analyst", "Director", "Coordinator", "Specialist", "Lead", "Consultant"]
         
         # Use ID to generate consistent employee data
@@ -155,16 +171,9 @@ class PersonDataHandler(http.server.BaseHTTPRequestHandler):
         # Generate salary based on ID
         base_salary = 45000 + (id_num * 2500)
         
-        soap_response = f'''<?xml version="1.0" encoding="UTF-8"?>
-<soap:Envelope 
-    xmlns:soap="http://www.w3.org/2003/05/soap-envelope"
-    xmlns:per="http://example.com/person"
-    xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
-    <soap:Header/>
-    <soap:Body>
-        <per:GetEmployeeResponse>
-            <per:Employee>
-                <per:EmployeeId>{id_num}</per:EmployeeId>
+        # The requested ID is echoed back as is, so bulk callers can match each employee to their request
+        return f'''            <per:Employee>
+                <per:EmployeeId>{person_id}</per:EmployeeId>
                 <per:FullName>{employee_names[name_idx]} {employee_names[(name_idx + 1) % len(employee_names)]}</per:FullName>
                 <per:FirstName>{employee_names[name_idx]}</per:FirstName>
                 <per:LastName>{employee_names[(name_idx + 1) % len(employee_names)]}</per:LastName>
@@ -178,10 +187,30 @@ class PersonDataHandler(http.server.BaseHTTPRequestHandler):
                 <per:Phone>+33 1 42 {id_num:02d} {id_num:02d} {id_num:02d}</per:Phone>
                 <per:Extension>{1000 + id_num}</per:Extension>
             </per:Employee>
-            <per:ResponseCode>SUCCESS</per:ResponseCode>
+'''
+    
+    def extract_person_ids_from_soap(self, soap_request):
+        """Extract every employee ID of a bulk SOAP request"""
+        import re
+        return re.findall(r'<(?:\w+:)?employeeId>([^<]*)</', soap_request) or ["1"]
+    
+    def generate_soap_response(self, person_ids, operation="GetEmployeeResponse"):
+        """Generate SOAP 1.2 response with the data of one (GetEmployee) or several (GetEmployees) employees"""
+        
+        employees = "".join(self.generate_employee_xml(person_id) for person_id in person_ids)
+        
+        soap_response = f'''<?xml version="1.0" encoding="UTF-8"?>
+<soap:Envelope 
+    xmlns:soap="http://www.w3.org/2003/05/soap-envelope"
+    xmlns:per="http://example.com/person"
+    xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+    <soap:Header/>
+    <soap:Body>
+        <per:{operation}>
+{employees}            <per:ResponseCode>SUCCESS</per:ResponseCode>
             <per:ResponseMessage>Employee data retrieved successfully</per:ResponseMessage>
             <per:Timestamp>{datetime.now().isoformat()}Z</per:Timestamp>
-        </per:GetEmployeeResponse>
+        </per:{operation}>
     </soap:Body>
 </soap:Envelope>'''
         
@@ -192,9 +221,17 @@ class PersonDataHandler(http.server.BaseHTTPRequestHandler):
         # Custom logging is handled in do_GET and do_POST
         pass
 
-def run_server(port=8001):
+class ThreadingServer(socketserver.ThreadingMixIn, socketserver.TCPServer):
+    """One thread per connection, so slow (delayed) responses do not serialize clients"""
+    daemon_threads = True
+    allow_reuse_address = True
+
+def run_server(port=8001, latency_ms=0):
     """Start the mock server"""
+    PersonDataHandler.latency = latency_ms / 1000.0
     print(f"🚀 Starting Mock Server on http://localhost:{port}")
+    if latency_ms:
+        print(f"🐢 Artificial latency: {latency_ms} ms per response")
     print(f"📋 Available endpoints:")
     print(f"   📊 REST API:")
     print(f"     GET /person_data/{{id}} - Returns JSON person data")
@@ -212,7 +249,7 @@ def run_server(port=8001):
     print(f"" + "="*70)
     
     try:
-        with socketserver.TCPServer(("", port), PersonDataHandler) as httpd:
+        with ThreadingServer(("", port), PersonDataHandler) as httpd:
             httpd.serve_forever()
     except KeyboardInterrupt:
         print(f"\n🛑 Server stopped by user")
@@ -233,4 +270,12 @@ if __name__ == "__main__":
         except ValueError:
             print("❌ Invalid port number. Using default port 8001.")
     
-    run_server(port)
+    # Optional artificial latency in milliseconds: python3 mock_server.py 8001 100
+    latency_ms = 0
+    if len(sys.argv) > 2:
+        try:
+            latency_ms = int(sys.argv[2])
+        except ValueError:
+            print("❌ Invalid latency. Using no artificial latency.")
+    
+    run_server(port, latency_ms)
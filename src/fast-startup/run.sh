@@ -0,0 +1,6 @@
+#!/bin/sh
+# Starts the fast-startup build: AOT bean definitions, the class-data-sharing archive recorded at build
+# time and the fast-startup Spring profile. Extra JVM options go in JAVA_OPTS, application arguments after.
+cd "$(dirname "$0")" || exit 1
+exec java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true $JAVA_OPTS \
+    -jar @fast-startup.jar@ --spring.profiles.active=fast-startup "$@"
@@ -0,0 +1,62 @@
+package com.example.camel.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The original DOM based SOAP response processor, kept as the baseline for
+ * {@link SoapResponseProcessorBenchmark}.
+ */
+public class DomSoapResponseProcessor implements Processor {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        String xmlResponse = exchange.getIn().getBody(String.class);
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document doc = builder.parse(new ByteArrayInputStream(xmlResponse.getBytes()));
+
+        Map<String, Object> employeeData = new HashMap<>();
+        employeeData.put("employee_id", getTextContent(doc, "EmployeeId"));
+        employeeData.put("full_name", getTextContent(doc, "FullName"));
+        employeeData.put("department", getTextContent(doc, "Department"));
+        employeeData.put("position", getTextContent(doc, "Position"));
+        employeeData.put("email", getTextContent(doc, "Email"));
+        employeeData.put("salary", getTextContent(doc, "Salary"));
+        employeeData.put("hire_date", getTextContent(doc, "HireDate"));
+        employeeData.put("office", getTextContent(doc, "Office"));
+        employeeData.put("phone", getTextContent(doc, "Phone"));
+        employeeData.put("extension", getTextContent(doc, "Extension"));
+        employeeData.put("is_active", getTextContent(doc, "IsActive"));
+        employeeData.put("data_source", "SOAP/XML");
+        employeeData.put("response_code", getTextContent(doc, "ResponseCode"));
+        employeeData.put("response_message", getTextContent(doc, "ResponseMessage"));
+
+        exchange.getIn().setBody(objectMapper.writeValueAsString(employeeData));
+        exchange.getIn().setHeader("Content-Type", "application/json");
+    }
+
+    private String getTextContent(Document doc, String tagName) {
+        NodeList nodeList = doc.getElementsByTagName("per:" + tagName);
+        if (nodeList.getLength() == 0) {
+            nodeList = doc.getElementsByTagName(tagName);
+        }
+        if (nodeList.getLength() > 0) {
+            return nodeList.item(0).getTextContent();
+        }
+        return null;
+    }
+}
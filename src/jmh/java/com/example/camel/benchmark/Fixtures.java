@@ -0,0 +1,45 @@
+package com.example.camel.benchmark;
+
+import com.example.camel.mapping.MappingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Application configuration for benchmarks that build components without a Spring context.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static Binder applicationBinder() {
+        try {
+            List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                .load("application", new ClassPathResource("application.yml"));
+            return new Binder(ConfigurationPropertySources.from(sources));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static MappingProperties mappingProperties() {
+        return applicationBinder().bind("person.mappings", MappingProperties.class).get();
+    }
+
+    /**
+     * Mapper set up like the application's one (see {@code JacksonConfig}).
+     */
+    public static ObjectMapper objectMapper() {
+        return JsonMapper.builder().addModule(new BlackbirdModule()).build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.camel.benchmark;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Upstream payloads shaped like the ones served by mock_server.py, padded with a nested
+ * history block so the benchmarks can be run against small, medium and large documents.
+ */
+public final class Payloads {
+
+    private Payloads() {
+    }
+
+    /**
+     * Number of padding entries for a payload size name: small (~1 KB), medium (~20 KB), large (~1 MB).
+     */
+    public static int paddingEntries(String size) {
+        return switch (size) {
+            case "small" -> 0;
+            case "medium" -> 200;
+            case "large" -> 10_000;
+            default -> throw new IllegalArgumentException("Unknown payload size: " + size);
+        };
+    }
+
+    /**
+     * A person document as served by the JSON API. The padding sits before {@code created_at}, so a
+     * projection has to get past it to find every mapped field.
+     */
+    public static byte[] personJson(int id, String size) {
+        StringBuilder json = new StringBuilder(512 + paddingEntries(size) * 60);
+        json.append("{\"Ok\":{\"id\":").append(id)
+            .append(",\"first_name\":\"Person").append(id)
+            .append("\",\"last_name\":\"Doe").append(id)
+            .append("\",\"email\":\"person").append(id).append("@example.com\",\"birth_date\":\"1990-05-15\"")
+            .append(",\"history\":[");
+        for (int i = 0; i < paddingEntries(size); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"date\":\"2021-01-01\",\"change\":\"Review #").append(i).append("\"}");
+        }
+        json.append("],\"created_at\":\"2025-08-19T09:25:30.135028Z\",\"is_active\":true}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static byte[] soapResponse(int id, String size) {
+        StringBuilder xml = new StringBuilder(1024 + paddingEntries(size) * 100);
+        xml.append("""
+            <?xml version="1.0" encoding="UTF-8"?>
+            <soap:Envelope
+                xmlns:soap="http://www.w3.org/2003/05/soap-envelope"
+                xmlns:per="http://example.com/person"
+                xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance">
+                <soap:Header/>
+                <soap:Body>
+                    <per:GetEmployeeResponse>
+                        <per:Employee>
+            """);
+        xml.append("            <per:EmployeeId>").append(id).append("</per:EmployeeId>\n");
+        xml.append("""
+                            <per:FullName>Pierre Marie</per:FullName>
+                            <per:FirstName>Pierre</per:FirstName>
+                            <per:LastName>Marie</per:LastName>
+                            <per:Department>Finance</per:Department>
+                            <per:Position>Analyst</per:Position>
+                            <per:Email>pierre.marie@company.com</per:Email>
+                            <per:Salary>52500</per:Salary>
+                            <per:HireDate>2020-04-15</per:HireDate>
+                            <per:IsActive>true</per:IsActive>
+                            <per:Office>Building 1, Floor 4</per:Office>
+                            <per:Phone>+33 1 42 03 03 03</per:Phone>
+                            <per:Extension>1003</per:Extension>
+                            <per:History>
+            """);
+        for (int i = 0; i < paddingEntries(size); i++) {
+            xml.append("                <per:Entry><per:Date>2021-01-01</per:Date><per:Change>Review #")
+                .append(i).append("</per:Change></per:Entry>\n");
+        }
+        xml.append("""
+                            </per:History>
+                        </per:Employee>
+                        <per:ResponseCode>SUCCESS</per:ResponseCode>
+                        <per:ResponseMessage>Employee data retrieved successfully</per:ResponseMessage>
+                        <per:Timestamp>2025-09-13T15:29:13Z</per:Timestamp>
+                    </per:GetEmployeeResponse>
+                </soap:Body>
+            </soap:Envelope>
+            """);
+        return xml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.camel.benchmark;
+
+import com.example.camel.processor.PersonDataProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming projection of person JSON documents, as done on every JSON route call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonDataProcessorBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String payloadSize;
+
+    private final Processor processor = new PersonDataProcessor(Fixtures.mappingProperties(), Fixtures.objectMapper());
+
+    private DefaultCamelContext context;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new DefaultCamelContext();
+        payload = Payloads.personJson(1, payloadSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public Object project() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(new ByteArrayInputStream(payload));
+        processor.process(exchange);
+        return exchange.getIn().getBody();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.camel.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.camel.logging.RequestEvent;
+import com.example.camel.logging.RequestLogPipeline;
+import com.example.camel.logging.RequestLogProperties;
+import com.example.camel.logging.RequestLoggingInterceptor;
+import com.example.camel.logging.ResponseLoggingInterceptor;
+import com.example.camel.metrics.RouteMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of the logging interceptors for one exchange: starting the event, recording the
+ * response and publishing it on completion. The writer thread drains the buffer meanwhile, with
+ * {@code REQUEST_LOGGER} switched off so the benchmark does not flood the console.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final String BODY = "{\"first_name\":\"Person1\",\"last_name\":\"Doe1\","
+        + "\"creation_date\":\"2025-08-19T09:25:30.135028Z\"}";
+
+    private DefaultCamelContext context;
+    private RequestLogPipeline pipeline;
+    private RequestLoggingInterceptor requestInterceptor;
+    private final ResponseLoggingInterceptor responseInterceptor = new ResponseLoggingInterceptor();
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("REQUEST_LOGGER")).setLevel(Level.OFF);
+        context = new DefaultCamelContext();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        pipeline = new RequestLogPipeline(new RequestLogProperties(), new RouteMetrics(meterRegistry), meterRegistry);
+        requestInterceptor = new RequestLoggingInterceptor(pipeline);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        pipeline.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Object interceptors() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setHeader("personId", "1");
+        exchange.getIn().setHeader("type", "json");
+        exchange.getIn().setBody("1");
+        requestInterceptor.process(exchange);
+        exchange.getMessage().setBody(BODY);
+        responseInterceptor.process(exchange);
+        // What the unit of work does when the exchange completes
+        RequestEvent event = exchange.getProperty(RequestEvent.PROPERTY, RequestEvent.class);
+        event.onComplete(exchange);
+        return event;
+    }
+}
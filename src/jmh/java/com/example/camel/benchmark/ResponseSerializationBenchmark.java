@@ -0,0 +1,57 @@
+package com.example.camel.benchmark;
+
+import com.example.camel.controller.PersonResponse;
+import com.example.camel.service.PersonApiType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the person lookup envelope: the former {@code HashMap} holding the route JSON as a
+ * string, written by a default mapper, against the {@link PersonResponse} record splicing it raw, written
+ * by the application's mapper through a writer bound once to its type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private static final String DATA = "{\"first_name\":\"Person1\",\"last_name\":\"Doe1\","
+        + "\"email\":\"person1@example.com\",\"birth_date\":\"1990-05-15\",\"is_active\":true}";
+
+    private final ObjectMapper defaultMapper = new ObjectMapper();
+    private final ObjectWriter personWriter = Fixtures.objectMapper().writerFor(PersonResponse.class);
+
+    @Benchmark
+    public byte[] mapEnvelope() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", "Person data retrieved successfully for ID: 1 using JSON/REST API");
+        response.put("data", DATA);
+        response.put("route", PersonApiType.JSON.getRouteName());
+        response.put("dataType", PersonApiType.JSON.getDataType());
+        response.put("timestamp", System.currentTimeMillis());
+        return defaultMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] recordEnvelope() throws Exception {
+        return personWriter.writeValueAsBytes(
+            PersonResponse.success("1", PersonApiType.JSON, DATA, System.currentTimeMillis()));
+    }
+}
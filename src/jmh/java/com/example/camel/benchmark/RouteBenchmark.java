@@ -0,0 +1,77 @@
+package com.example.camel.benchmark;
+
+import com.example.camel.CamelSpringBootApplication;
+import com.example.camel.support.StubPersonApi;
+import org.apache.camel.ProducerTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end route calls, from {@code direct:} to the projected JSON, against the in-JVM stub upstream.
+ * The application runs with its real configuration (pooled client, interceptors, metrics), without the
+ * web layer and with the request log and route logs quietened.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RouteBenchmark {
+
+    private StubPersonApi upstream;
+    private ConfigurableApplicationContext application;
+    private ProducerTemplate producerTemplate;
+
+    @Setup
+    public void setUp() throws Exception {
+        upstream = new StubPersonApi();
+        application = new SpringApplicationBuilder(CamelSpringBootApplication.class)
+            .web(WebApplicationType.NONE)
+            // Command-line arguments, so they take precedence over application.yml
+            .run(
+                "--person.api.base-url=" + upstream.baseUrl(),
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.camel=WARN",
+                "--logging.level.org.apache.camel=WARN",
+                "--logging.level.org.apache.camel.component.http=WARN",
+                "--logging.level.REQUEST_LOGGER=OFF",
+                "--logging.level.person-data-route=WARN",
+                "--logging.level.soap-person-data-route=WARN");
+        producerTemplate = application.getBean(ProducerTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+        upstream.close();
+    }
+
+    @Benchmark
+    public String personData() {
+        return producerTemplate.requestBodyAndHeaders("direct:personData", "1", Map.of("personId", "1"), String.class);
+    }
+
+    @Benchmark
+    public String soapPersonData() {
+        return producerTemplate.requestBodyAndHeaders("direct:soapPersonData", "1", Map.of("personId", "1"),
+            String.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.camel.benchmark;
+
+import com.example.camel.CamelSpringBootApplication;
+import com.example.camel.support.StubPersonApi;
+import org.apache.camel.ProducerTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Burst of concurrent SOAP lookups for distinct IDs against a stub upstream answering in 5 ms, with and
+ * without request coalescing. Upstream calls per lookup are logged at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class SoapCoalescingBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(SoapCoalescingBenchmark.class);
+
+    @Param({"true", "false"})
+    public boolean coalescing;
+
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+    private StubPersonApi upstream;
+    private ConfigurableApplicationContext application;
+    private ProducerTemplate producerTemplate;
+
+    @Setup
+    public void setUp() throws Exception {
+        upstream = new StubPersonApi(Duration.ofMillis(5));
+        application = new SpringApplicationBuilder(CamelSpringBootApplication.class)
+            .web(WebApplicationType.NONE)
+            // Command-line arguments, so they take precedence over application.yml
+            .run(
+                "--person.api.base-url=" + upstream.baseUrl(),
+                "--person.soap.coalescing.enabled=" + coalescing,
+                // 64 callers at once would be shed by the limiter while it grows from its initial value
+                "--person.resilience.limiter.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.camel=WARN",
+                "--logging.level.com.example.camel.benchmark=INFO",
+                "--logging.level.org.apache.camel=WARN",
+                "--logging.level.REQUEST_LOGGER=OFF",
+                "--logging.level.soap-person-data-route=WARN");
+        producerTemplate = application.getBean(ProducerTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        log.info("Upstream SOAP calls per lookup: {} ({} calls, {} lookups)",
+            String.format(Locale.ROOT, "%.3f", (double) upstream.soapRequests() / lookups.get()),
+            upstream.soapRequests(), lookups.get());
+        application.close();
+        upstream.close();
+    }
+
+    @Benchmark
+    public String soapPersonData() {
+        lookups.incrementAndGet();
+        String id = String.valueOf(nextId.incrementAndGet());
+        return producerTemplate.requestBodyAndHeaders("direct:soapPersonData", id, Map.of("personId", id),
+            String.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.camel.benchmark;
+
+import com.example.camel.processor.SoapRequestProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SOAP request envelope building for one employee ID.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SoapRequestProcessorBenchmark {
+
+    private final Processor processor = new SoapRequestProcessor();
+
+    private DefaultCamelContext context;
+    private int id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new DefaultCamelContext();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public Object envelope() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(String.valueOf(++id));
+        processor.process(exchange);
+        return exchange.getIn().getBody();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.camel.benchmark;
+
+import com.example.camel.processor.SoapResponseProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streaming StAX extraction against the original DOM parsing of SOAP employee responses.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SoapResponseProcessorBenchmark {
+
+    @Param({"small", "medium", "large"})
+    public String payloadSize;
+
+    private final Processor stax = new SoapResponseProcessor(Fixtures.mappingProperties(), Fixtures.objectMapper());
+    private final Processor dom = new DomSoapResponseProcessor();
+
+    private DefaultCamelContext context;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new DefaultCamelContext();
+        payload = Payloads.soapResponse(3, payloadSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Benchmark
+    public Object stax() throws Exception {
+        return run(stax);
+    }
+
+    @Benchmark
+    public Object dom() throws Exception {
+        return run(dom);
+    }
+
+    private Object run(Processor processor) throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(new ByteArrayInputStream(payload));
+        processor.process(exchange);
+        return exchange.getIn().getBody();
+    }
+}
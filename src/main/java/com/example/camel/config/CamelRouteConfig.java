@@ -1,10 +1,19 @@
 package com.example.camel.config;
 
+import org.apache.camel.Exchange;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.model.RouteDefinition;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import com.example.camel.logging.RequestLoggingInterceptor;
 import com.example.camel.logging.ResponseLoggingInterceptor;
+import com.example.camel.lookup.PathTemplate;
+import com.example.camel.processor.SoapCoalescingProperties;
+import com.example.camel.processor.SoapRequestCoalescer;
+import com.example.camel.replica.PersonReplica;
+import com.example.camel.resilience.UpstreamResilience;
+import com.example.camel.service.PersonApiType;
 
 /**
  * Configuration class for Camel routes
@@ -18,37 +27,90 @@ public class CamelRouteConfig extends RouteBuilder {
     @Autowired
     private ResponseLoggingInterceptor responseLoggingInterceptor;
 
+    @Autowired
+    private SoapCoalescingProperties soapCoalescingProperties;
+
+    @Autowired
+    private UpstreamResilience upstreamResilience;
+
+    @Autowired
+    private PersonReplica personReplica;
+
     @Override
     public void configure() throws Exception {
         
-        // Global interceptors for all routes
+        // Global interceptor for all routes: starts the request event, logged asynchronously on completion
         interceptFrom()
             .process(requestLoggingInterceptor);
-            
-        interceptSendToEndpoint("http*")
-            .process(responseLoggingInterceptor);
         
         // Route to retrieve and filter person data (JSON/REST)
-        from("direct:personData")
+        RouteDefinition personRoute = from("direct:personData")
             .routeId("person-data-route")
-            .log("Retrieving JSON person data with ID: ${body}")
+            .log("Retrieving JSON person data with ID: ${body}");
+        ProcessorDefinition<?> personLookup = replicated(personRoute, PersonApiType.JSON)
             .setHeader("CamelHttpMethod", constant("GET"))
-            .toD("{{person.api.base-url}}/person_data/${body}")
-            .process("personDataProcessor")
+            // The ID travels as a path header so every call shares one static, pooled endpoint; encoded like the
+            // declared lookups, so it cannot reach another path or add a query
+            .process(exchange -> exchange.getIn().setHeader(Exchange.HTTP_PATH,
+                PathTemplate.encodeSegment(exchange.getIn().getBody(String.class))));
+        upstreamResilience.callUpstream(personLookup, "person-data-route", "{{person.api.base-url}}/person_data")
+            .process("personDataProcessor");
+        endReplicated(personLookup, PersonApiType.JSON)
             .process(responseLoggingInterceptor)
             .log("Filtered JSON person data: ${body}");
         
         // Route to retrieve employee data via SOAP/XML
-        from("direct:soapPersonData")
+        RouteDefinition soapRoute = from("direct:soapPersonData")
             .routeId("soap-person-data-route")
-            .log("Retrieving SOAP employee data with ID: ${body}")
-            .setHeader("CamelHttpMethod", constant("POST"))
-            .setHeader("Content-Type", constant("application/soap+xml; charset=utf-8"))
-            .setHeader("SOAPAction", constant("getEmployee"))
-            .process("soapRequestProcessor")
-            .toD("{{person.api.base-url}}/soap/PersonService")
-            .process("soapResponseProcessor")
+            .log("Retrieving SOAP employee data with ID: ${body}");
+        ProcessorDefinition<?> soapLookup = replicated(soapRoute, PersonApiType.SOAP);
+        if (soapCoalescingProperties.isEnabled()) {
+            // Concurrent lookups wait a few milliseconds and share one bulk call on direct:soapEmployees
+            soapLookup.process("soapRequestCoalescer");
+        } else {
+            soapLookup
+                .setHeader("CamelHttpMethod", constant("POST"))
+                .setHeader("Content-Type", constant("application/soap+xml; charset=utf-8"))
+                .setHeader("SOAPAction", constant("getEmployee"))
+                .process("soapRequestProcessor");
+            upstreamResilience.callUpstream(soapLookup, "soap-person-data-route", "{{person.api.base-url}}/soap/PersonService")
+                .process("soapResponseProcessor");
+        }
+        endReplicated(soapLookup, PersonApiType.SOAP)
             .process(responseLoggingInterceptor)
             .log("Processed SOAP employee data: ${body}");
+
+        // Route performing one SOAP call for a batch of coalesced lookups; the body is the prepared envelope
+        RouteDefinition soapEmployeesRoute = from(SoapRequestCoalescer.BULK_ENDPOINT)
+            .routeId("soap-employees-route")
+            .setHeader("CamelHttpMethod", constant("POST"))
+            .setHeader("Content-Type", constant("application/soap+xml; charset=utf-8"));
+        upstreamResilience.callUpstream(soapEmployeesRoute, "soap-employees-route", "{{person.api.base-url}}/soap/PersonService")
+            .process("soapEmployeesResponseProcessor")
+            .process(responseLoggingInterceptor);
+    }
+
+    /**
+     * Start of the lookup part of a route: the route itself, or the branch taken on a replica miss.
+     */
+    private ProcessorDefinition<?> replicated(RouteDefinition route, PersonApiType type) {
+        if (!personReplica.isEnabled()) {
+            return route;
+        }
+        return route
+            .process(personReplica.reader(type))
+            .filter(exchangeProperty(PersonReplica.HIT).isNull());
+    }
+
+    /**
+     * Closes the lookup part opened by {@link #replicated}, storing what the upstream answered.
+     */
+    private ProcessorDefinition<?> endReplicated(ProcessorDefinition<?> lookup, PersonApiType type) {
+        if (!personReplica.isEnabled()) {
+            return lookup;
+        }
+        return lookup
+            .process(personReplica.writer(type))
+            .end();
     }
 }
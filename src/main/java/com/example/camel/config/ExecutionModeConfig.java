@@ -0,0 +1,29 @@
+package com.example.camel.config;
+
+import org.apache.camel.spi.ThreadPoolFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Virtual-thread execution mode, switched on with {@code spring.threads.virtual.enabled=true} on Java 21+.
+ * Spring Boot then runs Tomcat request handling and its task executors on virtual threads; this
+ * configuration extends the mode to the Camel thread pools (ProducerTemplate async calls, route and
+ * application pools) through a {@link ThreadPoolFactory} picked up when the CamelContext is configured.
+ * Synchronous ProducerTemplate calls simply run on the virtual request thread.
+ */
+@Configuration
+public class ExecutionModeConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeConfig.class);
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ThreadPoolFactory virtualThreadPoolFactory() {
+        log.info("Virtual-thread execution mode enabled for Tomcat and Camel thread pools");
+        return new VirtualThreadPoolFactory();
+    }
+}
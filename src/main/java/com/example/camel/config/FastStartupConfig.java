@@ -0,0 +1,20 @@
+package com.example.camel.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Lazy initialization for the {@code fast-startup} profile ({@code spring.main.lazy-initialization}):
+ * framework beans such as actuator endpoints are created on first use, while the application's own beans,
+ * which serve the lookups (routes, processors, controllers, upstream client), stay eager so the first
+ * request does not pay for them.
+ */
+@Configuration
+public class FastStartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerApplicationBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType.getName().startsWith("com.example.camel.");
+    }
+}
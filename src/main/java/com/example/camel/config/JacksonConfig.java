@@ -0,0 +1,28 @@
+package com.example.camel.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+
+/**
+ * Jackson setup shared by the whole application. Spring Boot's {@code ObjectMapper} serializes the
+ * controller responses, is picked up by the Camel Jackson data format ({@code auto-discover-object-mapper})
+ * and lends its {@code JsonFactory} to the streaming processors, so there is a single mapper whose
+ * serializers are built once per type and cached.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces reflective getter and constructor calls with generated lambdas; Spring Boot registers every
+     * {@code Module} bean on its mapper. A native image cannot define classes at runtime, so there the
+     * mapper keeps its reflective accessors, covered by {@link NativeHints}.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule("blackbird-disabled") : new BlackbirdModule();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.camel.config;
+
+import com.example.camel.controller.AliveResponse;
+import com.example.camel.controller.EchoResponse;
+import com.example.camel.controller.ErrorResponse;
+import com.example.camel.controller.HealthResponse;
+import com.example.camel.controller.InfoResponse;
+import com.example.camel.controller.PersonBatchRequest;
+import com.example.camel.controller.PersonResponse;
+import com.example.camel.controller.RoutesResponse;
+import com.example.camel.controller.StatusResponse;
+import com.example.camel.controller.WelcomeResponse;
+import com.example.camel.logging.RequestLogReport;
+import com.example.camel.processor.PersonDataProcessor;
+import com.example.camel.processor.SoapEmployeesResponseProcessor;
+import com.example.camel.processor.SoapRequestCoalescer;
+import com.example.camel.processor.SoapRequestProcessor;
+import com.example.camel.processor.SoapResponseProcessor;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Reachability hints for the {@code native} Maven profile, applied by Spring AOT when it generates the
+ * native-image configuration. Spring covers its own beans and configuration properties; what is resolved
+ * by name or through the class path at runtime is registered here:
+ * <ul>
+ *   <li>Camel's factory finder: components, languages, reifiers, configurers and type converter loaders
+ *   are looked up as {@code META-INF/services/org/apache/camel} files naming the class to instantiate</li>
+ *   <li>the processors the routes resolve by bean name, which Camel's bean post processor introspects</li>
+ *   <li>the controller records and batch request, bound by Jackson through reflection (the
+ *   {@code ResponseEntity<?>} return types hide them from Spring's own controller hints)</li>
+ *   <li>the JDK StAX parser of {@link com.example.camel.mapping.XmlFieldExtractor}, located by
+ *   {@code XMLInputFactory.newFactory()}, and the virtual thread API looked up by
+ *   {@link VirtualThreadPoolFactory}</li>
+ * </ul>
+ */
+@Configuration
+@ImportRuntimeHints(NativeHints.Registrar.class)
+public class NativeHints {
+
+    static final String CAMEL_SERVICES = "META-INF/services/org/apache/camel/";
+
+    static final List<Class<?>> NAMED_PROCESSORS = List.of(PersonDataProcessor.class, SoapRequestProcessor.class,
+        SoapResponseProcessor.class, SoapEmployeesResponseProcessor.class, SoapRequestCoalescer.class);
+
+    static final List<Class<?>> JSON_TYPES = List.of(PersonResponse.class, ErrorResponse.class,
+        StatusResponse.class, RoutesResponse.class, RoutesResponse.RouteInfo.class, AliveResponse.class,
+        HealthResponse.class, WelcomeResponse.class, InfoResponse.class, EchoResponse.class,
+        PersonBatchRequest.class, RequestLogReport.class);
+
+    private static final Pattern CLASS_NAME = Pattern.compile("[\\w$]+(\\.[\\w$]+)+");
+
+    static class Registrar implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources().registerPattern(CAMEL_SERVICES + "**");
+            camelServices(classLoader).forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+
+            NAMED_PROCESSORS.forEach(type -> hints.reflection().registerType(type,
+                MemberCategory.DECLARED_FIELDS, MemberCategory.INTROSPECT_DECLARED_METHODS));
+
+            BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+            JSON_TYPES.forEach(type -> bindings.registerReflectionHints(hints.reflection(), type));
+
+            // XMLInputFactory.newFactory() falls back to the JDK implementation, instantiated reflectively
+            hints.reflection().registerType(TypeReference.of("com.sun.xml.internal.stream.XMLInputFactoryImpl"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.resources().registerPattern("META-INF/services/javax.xml.stream.XMLInputFactory");
+            hints.resources().registerResourceBundle("com.sun.org.apache.xerces.internal.impl.msg.XMLMessages");
+
+            // Only present when the image is built on Java 21
+            hints.reflection().registerType(TypeReference.of("java.lang.Thread$Builder"),
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(TypeReference.of("java.lang.Thread$Builder$OfVirtual"),
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+
+    /**
+     * Classes named by Camel's service files on the build class path: {@code class=...} entries of the
+     * factory files and the class-per-line lists such as {@code TypeConverterLoader}.
+     */
+    static Set<String> camelServices(ClassLoader classLoader) {
+        Set<String> types = new TreeSet<>();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver(classLoader)
+                .getResources("classpath*:" + CAMEL_SERVICES + "**/*");
+            for (Resource resource : resources) {
+                if (resource.isReadable()) {
+                    types.addAll(serviceEntries(resource));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot scan the Camel service files", e);
+        }
+        return types;
+    }
+
+    private static List<String> serviceEntries(Resource resource) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.startsWith("class=")) {
+                    line = line.substring("class=".length()).trim();
+                } else if (line.startsWith("#") || line.indexOf('=') >= 0) {
+                    continue;
+                }
+                if (CLASS_NAME.matcher(line).matches()) {
+                    entries.add(line);
+                }
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.camel.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.component.http.HttpComponent;
+import org.apache.camel.spi.ComponentCustomizer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Shared, pooled HTTP client used by the Camel {@code http} component to reach the person API.
+ * Every route endpoint leases keep-alive connections from the same pool, whose occupancy is
+ * published as {@code person.api.pool.connections} gauges.
+ */
+@Configuration
+public class PersonApiClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager personApiConnectionManager(PersonApiProperties properties,
+                                                                         MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(properties.getMaxConnections())
+            .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+            .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(timeout(properties.getConnectTimeout()))
+                .setSocketTimeout(timeout(properties.getSocketTimeout()))
+                .setTimeToLive(TimeValue.ofMilliseconds(properties.getConnectionTimeToLive().toMillis()))
+                .build())
+            .setDefaultSocketConfig(SocketConfig.custom()
+                .setSoKeepAlive(true)
+                .setTcpNoDelay(true)
+                .setSoTimeout(timeout(properties.getSocketTimeout()))
+                .build())
+            .build();
+        gauge(meterRegistry, connectionManager, "leased", PoolStats::getLeased);
+        gauge(meterRegistry, connectionManager, "pending", PoolStats::getPending);
+        gauge(meterRegistry, connectionManager, "available", PoolStats::getAvailable);
+        gauge(meterRegistry, connectionManager, "max", PoolStats::getMax);
+        return connectionManager;
+    }
+
+    @Bean
+    public ComponentCustomizer personApiHttpComponentCustomizer(PoolingHttpClientConnectionManager connectionManager,
+                                                                PersonApiProperties properties) {
+        return ComponentCustomizer.forType(HttpComponent.class, component -> {
+            component.setClientConnectionManager(connectionManager);
+            component.setConnectionRequestTimeout(timeout(properties.getConnectionRequestTimeout()));
+            component.setResponseTimeout(timeout(properties.getResponseTimeout()));
+            // The pool belongs to this context, not to the per-endpoint clients; idle keep-alive
+            // connections are reaped in the background instead of failing on reuse
+            component.setHttpClientConfigurer(builder -> builder
+                .setConnectionManagerShared(true)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(properties.getIdleTimeout().toMillis())));
+        });
+    }
+
+    private static void gauge(MeterRegistry registry, PoolingHttpClientConnectionManager connectionManager,
+                              String state, ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("person.api.pool.connections", connectionManager, m -> value.applyAsDouble(m.getTotalStats()))
+            .description("Upstream person API connections by pool state; pending counts callers waiting for one")
+            .tag("state", state)
+            .register(registry);
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.ofMilliseconds(duration.toMillis());
+    }
+}
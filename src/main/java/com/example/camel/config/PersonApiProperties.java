@@ -0,0 +1,111 @@
+package com.example.camel.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Upstream person API client settings, bound from {@code person.api}.
+ */
+@Component
+@ConfigurationProperties(prefix = "person.api")
+public class PersonApiProperties {
+
+    private String baseUrl = "http://localhost:8001";
+
+    /** Connections kept open to all upstream hosts together. */
+    private int maxConnections = 200;
+
+    /** Connections kept open to a single upstream host. */
+    private int maxConnectionsPerRoute = 100;
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    /** Maximum inactivity between two packets of a response. */
+    private Duration socketTimeout = Duration.ofSeconds(10);
+
+    /** Maximum wait for the response to start once the request has been sent. */
+    private Duration responseTimeout = Duration.ofSeconds(10);
+
+    /** Maximum wait for a free pooled connection; exceeding it fails the call instead of queueing forever. */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+    /** Idle keep-alive connections are closed after this long. */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+
+    /** Connections are retired after this long, idle or not, so DNS and load balancer changes are picked up. */
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getMaxConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+        this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public void setSocketTimeout(Duration socketTimeout) {
+        this.socketTimeout = socketTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public void setResponseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    public Duration getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public void setConnectionRequestTimeout(Duration connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Duration getConnectionTimeToLive() {
+        return connectionTimeToLive;
+    }
+
+    public void setConnectionTimeToLive(Duration connectionTimeToLive) {
+        this.connectionTimeToLive = connectionTimeToLive;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.camel.config;
+
+import com.example.camel.tracing.TailSampling;
+import com.example.camel.tracing.TracingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.tracing.ConditionalOnEnabledTracing;
+import org.springframework.boot.actuate.autoconfigure.tracing.SpanExporters;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Sampling and export of the traces set up by Spring Boot's OpenTelemetry support: MVC requests, Camel routes
+ * and endpoint calls (camel-observation), with W3C {@code traceparent} propagated to the person API.
+ * Spans of sampled traces go to every {@link SpanExporter} bean: OTLP when {@code management.otlp.tracing.endpoint}
+ * is set, and OTLP JSON lines in {@code logs/traces.jsonl} with {@code person.tracing.file.enabled}.
+ */
+@Configuration
+@ConditionalOnEnabledTracing
+public class TracingConfig {
+
+    @Bean
+    public Sampler personTracingSampler(@Value("${management.tracing.sampling.probability:0.1}") double probability,
+                                        TracingProperties properties) {
+        return TailSampling.headSampler(probability, properties.getTail().isEnabled());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "person.tracing.tail", name = "enabled", havingValue = "true")
+    public TailSampling personTailSampling(SpanExporters spanExporters, TracingProperties properties,
+                                           MeterRegistry meterRegistry) {
+        return new TailSampling(SpanExporter.composite(spanExporters.list()), properties.getTail(), meterRegistry);
+    }
+
+    /**
+     * Logs through {@code java.util.logging}, routed by logback to the {@code TRACE_FILE} appender.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "person.tracing.file", name = "enabled", havingValue = "true")
+    public SpanExporter traceFileExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.camel.config;
+
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.DefaultThreadPoolFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Camel thread pool factory handing out thread-per-task executors on virtual threads, so async
+ * producers, splitters and the application's own Camel-managed pools never block a platform thread.
+ * Scheduled pools stay on platform threads: they only fire timers. Pool sizes in thread pool profiles
+ * no longer apply; concurrency has to be bounded by the callers.
+ * <p>
+ * The project compiles for Java 17, so the Java 21 virtual thread API is resolved reflectively once.
+ */
+public class VirtualThreadPoolFactory extends DefaultThreadPoolFactory {
+
+    private final MethodHandle newThreadPerTaskExecutor;
+    private final ThreadFactory virtualThreadFactory;
+
+    public VirtualThreadPoolFactory() {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = lookup.findStatic(Thread.class, "ofVirtual",
+                MethodType.methodType(Class.forName("java.lang.Thread$Builder$OfVirtual"))).invoke();
+            builder = lookup.findVirtual(builderType, "name",
+                MethodType.methodType(builderType, String.class, long.class)).invoke(builder, "Camel-virtual-", 0L);
+            this.virtualThreadFactory = (ThreadFactory) lookup.findVirtual(builderType, "factory",
+                MethodType.methodType(ThreadFactory.class)).invoke(builder);
+            this.newThreadPerTaskExecutor = lookup.findStatic(Executors.class,
+                "newThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+        } catch (Throwable e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+        }
+    }
+
+    @Override
+    public ExecutorService newCachedThreadPool(ThreadFactory threadFactory) {
+        return newVirtualThreadExecutor();
+    }
+
+    @Override
+    public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
+        return newVirtualThreadExecutor();
+    }
+
+    @Override
+    public ScheduledExecutorService newScheduledThreadPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
+        return super.newScheduledThreadPool(profile, threadFactory);
+    }
+
+    private ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(virtualThreadFactory);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot create virtual thread executor", e);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.camel.controller;
+
+/**
+ * Body of {@code GET /api/alive}.
+ *
+ * @param timestamp ISO local date-time of the response
+ */
+public record AliveResponse(String status, String timestamp, String application, String version) {
+}
@@ -1,129 +1,203 @@
 package com.example.camel.controller;
 
+import com.example.camel.lookup.LookupRegistry;
+import com.example.camel.resilience.UpstreamResilience;
+import com.example.camel.resilience.UpstreamUnavailableException;
+import com.example.camel.service.PersonApiType;
+import com.example.camel.service.PersonBatchService;
+import com.example.camel.service.PersonLookupService;
 import org.apache.camel.CamelContext;
-import org.apache.camel.ProducerTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/api/camel")
 public class CamelController {
 
     @Autowired
-    private ProducerTemplate producerTemplate;
+    private CamelContext camelContext;
 
     @Autowired
-    private CamelContext camelContext;
+    private PersonLookupService personLookupService;
+
+    @Autowired
+    private PersonBatchService personBatchService;
+
+    @Autowired
+    private UpstreamResilience upstreamResilience;
+
+    @Autowired
+    private LookupRegistry lookupRegistry;
 
+    /**
+     * Looks a person up. The route's JSON is spliced as is into the {@code data} field of the envelope, or,
+     * with {@code format=raw}, returned unchanged as the body with the envelope fields as headers.
+     * <p>
+     * Responses carry an {@link PersonETag ETag} of the data; a request whose {@code If-None-Match} holds it
+     * gets a 304 without a body, so a poll of a cached record neither calls the upstream nor serializes.
+     */
     @GetMapping("/person/{id}")
-    public ResponseEntity<Map<String, Object>> getPersonData(
+    public ResponseEntity<?> getPersonData(
             @PathVariable String id,
-            @RequestParam(value = "type", defaultValue = "json") String type) {
+            @RequestParam(value = "type", defaultValue = "json") String type,
+            @RequestParam(value = "format", defaultValue = "envelope") String format) {
         try {
-            String result;
-            String routeName;
-            String dataType;
-            
-            // Create a map to store request context for logging
-            Map<String, Object> requestContext = new HashMap<>();
-            requestContext.put("personId", id);
-            requestContext.put("type", type);
-            requestContext.put("endpoint", "/api/camel/person/" + id);
-            requestContext.put("method", "GET");
-            
-            // Select route based on type parameter
-            if ("xml".equalsIgnoreCase(type) || "soap".equalsIgnoreCase(type)) {
-                // Trigger SOAP/XML route
-                Map<String, Object> headers = new HashMap<>();
-                headers.put("personId", id);
-                headers.put("type", type);
-                result = producerTemplate.requestBodyAndHeaders("direct:soapPersonData", id, headers, String.class);
-                routeName = "soapPersonData";
-                dataType = "XML/SOAP";
+            // Select route based on type parameter; repeated lookups are served from the cache
+            PersonApiType apiType = lookupRegistry.resolve(type);
+            String result = personLookupService.lookup(apiType, id);
+            return personResponse(id, apiType, result, isRaw(format));
+        } catch (Exception e) {
+            return failureResponse(id, e);
+        }
+    }
+
+    /**
+     * Same as {@link #getPersonData}, but the servlet thread is released while the lookup runs. The lookup
+     * is cancelled when it exceeds its timeout or the client goes away.
+     */
+    @GetMapping("/person/{id}/async")
+    public DeferredResult<ResponseEntity<?>> getPersonDataAsync(
+            @PathVariable String id,
+            @RequestParam(value = "type", defaultValue = "json") String type,
+            @RequestParam(value = "format", defaultValue = "envelope") String format,
+            @RequestParam(value = "timeoutMs", required = false) Long timeoutMs) {
+        DeferredResult<ResponseEntity<?>> response = new DeferredResult<>();
+        PersonApiType apiType = lookupRegistry.resolve(type);
+        Duration timeout;
+        try {
+            timeout = personLookupService.resolveTimeout(
+                timeoutMs != null ? Duration.ofMillis(timeoutMs) : apiType.getTimeout());
+        } catch (IllegalArgumentException e) {
+            response.setResult(ResponseEntity.badRequest().body(ErrorResponse.of("Invalid request: " + e.getMessage())));
+            return response;
+        }
+
+        CompletableFuture<String> result = personLookupService.lookupAsync(apiType, id, timeout);
+        response.onTimeout(() -> result.cancel(false));
+        response.onError(error -> result.cancel(false));
+        result.whenComplete((data, error) -> {
+            if (error == null) {
+                response.setResult(personResponse(id, apiType, data, isRaw(format)));
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                response.setResult(ResponseEntity.status(504).body(ErrorResponse.of(
+                    "Timed out after " + timeout.toMillis() + "ms retrieving data for ID " + id)));
             } else {
-                // Default to JSON route
-                Map<String, Object> headers = new HashMap<>();
-                headers.put("personId", id);
-                headers.put("type", type);
-                result = producerTemplate.requestBodyAndHeaders("direct:personData", id, headers, String.class);
-                routeName = "personData";
-                dataType = "JSON/REST";
+                response.setResult(failureResponse(id, cause));
             }
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Person data retrieved successfully for ID: " + id + " using " + dataType + " API");
-            response.put("data", result);
-            response.put("route", routeName);
-            response.put("dataType", dataType);
-            response.put("timestamp", System.currentTimeMillis());
-            
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("status", "error");
-            errorResponse.put("message", "Error retrieving data for ID " + id + ": " + e.getMessage());
-            errorResponse.put("timestamp", System.currentTimeMillis());
-            
-            return ResponseEntity.status(500).body(errorResponse);
+        });
+        return response;
+    }
+
+    @PostMapping("/person/batch")
+    public ResponseEntity<?> getPersonDataBatch(@RequestBody PersonBatchRequest request) {
+        Duration deadline;
+        try {
+            deadline = personBatchService.validate(request.ids(),
+                request.deadlineMs() != null ? Duration.ofMillis(request.deadlineMs()) : null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of("Invalid batch request: " + e.getMessage()));
         }
+
+        // Results are streamed in input order, each item with its own status
+        PersonApiType apiType = lookupRegistry.resolve(request.type());
+        StreamingResponseBody body = output -> personBatchService.execute(apiType, request.ids(), deadline, output);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
     }
 
     @GetMapping("/routes")
-    public ResponseEntity<Map<String, Object>> getRoutes() {
-        Map<String, Object> response = new HashMap<>();
-        response.put("status", "success");
-        response.put("totalRoutes", camelContext.getRoutes().size());
-        response.put("routes", camelContext.getRoutes().stream()
+    public ResponseEntity<RoutesResponse> getRoutes() {
+        List<RoutesResponse.RouteInfo> routes = camelContext.getRoutes().stream()
             .map(route -> {
-                Map<String, Object> routeInfo = new HashMap<>();
-                routeInfo.put("id", route.getId());
-                routeInfo.put("endpoint", route.getEndpoint().getEndpointUri());
+                String status;
                 try {
-                    routeInfo.put("status", camelContext.getRouteController().getRouteStatus(route.getId()).name());
+                    status = camelContext.getRouteController().getRouteStatus(route.getId()).name();
                 } catch (Exception e) {
-                    routeInfo.put("status", "UNKNOWN");
+                    status = "UNKNOWN";
                 }
-                return routeInfo;
+                return new RoutesResponse.RouteInfo(route.getId(), route.getEndpoint().getEndpointUri(), status,
+                    upstreamResilience.state(route.getId()));
             })
-            .toList());
-        
-        return ResponseEntity.ok(response);
+            .toList();
+
+        return ResponseEntity.ok(new RoutesResponse("success", routes.size(), routes));
     }
 
     @PostMapping("/routes/{routeId}/start")
-    public ResponseEntity<Map<String, String>> startRoute(@PathVariable String routeId) {
+    public ResponseEntity<StatusResponse> startRoute(@PathVariable String routeId) {
         try {
             camelContext.getRouteController().startRoute(routeId);
-            Map<String, String> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Route " + routeId + " started successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new StatusResponse("success", "Route " + routeId + " started successfully"));
         } catch (Exception e) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("status", "error");
-            errorResponse.put("message", "Error starting route: " + e.getMessage());
-            return ResponseEntity.status(500).body(errorResponse);
+            return ResponseEntity.status(500).body(new StatusResponse("error", "Error starting route: " + e.getMessage()));
         }
     }
 
     @PostMapping("/routes/{routeId}/stop")
-    public ResponseEntity<Map<String, String>> stopRoute(@PathVariable String routeId) {
+    public ResponseEntity<StatusResponse> stopRoute(@PathVariable String routeId) {
         try {
             camelContext.getRouteController().stopRoute(routeId);
-            Map<String, String> response = new HashMap<>();
-            response.put("status", "success");
-            response.put("message", "Route " + routeId + " stopped successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(new StatusResponse("success", "Route " + routeId + " stopped successfully"));
         } catch (Exception e) {
-            Map<String, String> errorResponse = new HashMap<>();
-            errorResponse.put("status", "error");
-            errorResponse.put("message", "Error stopping route: " + e.getMessage());
-            return ResponseEntity.status(500).body(errorResponse);
+            return ResponseEntity.status(500).body(new StatusResponse("error", "Error stopping route: " + e.getMessage()));
+        }
+    }
+
+    private static boolean isRaw(String format) {
+        return "raw".equalsIgnoreCase(format);
+    }
+
+    /**
+     * Spring MVC answers a GET whose {@code If-None-Match} matches the ETag with a 304, before writing the body.
+     */
+    private static ResponseEntity<?> personResponse(String id, PersonApiType apiType, String data, boolean raw) {
+        long timestamp = System.currentTimeMillis();
+        // Clients may keep the response, but must revalidate it before each use
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(PersonETag.of(apiType, data, raw))
+            .cacheControl(CacheControl.noCache());
+        if (raw) {
+            // The route output goes out untouched; an empty lookup has no body
+            return response
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Person-Id", id)
+                .header("X-Route", apiType.getRouteName())
+                .header("X-Data-Type", apiType.getDataType())
+                .header("X-Timestamp", String.valueOf(timestamp))
+                .body(data);
+        }
+        return response.body(PersonResponse.success(id, apiType, data, timestamp));
+    }
+
+    /**
+     * A lookup refused to protect the upstream is a 503 the client may retry; any other failure is a 500.
+     */
+    private static ResponseEntity<ErrorResponse> failureResponse(String id, Throwable error) {
+        UpstreamUnavailableException unavailable = UpstreamUnavailableException.find(error);
+        if (unavailable != null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(unavailable.getRetryAfterSeconds()))
+                .body(ErrorResponse.of("Service unavailable for ID " + id + ": " + unavailable.getMessage()));
         }
+        return ResponseEntity.status(500).body(
+            ErrorResponse.of("Error retrieving data for ID " + id + ": " + error.getMessage()));
     }
 }
@@ -0,0 +1,11 @@
+package com.example.camel.controller;
+
+import java.util.Map;
+
+/**
+ * Body of {@code POST /api/echo}.
+ *
+ * @param received the JSON object that was posted, unchanged
+ */
+public record EchoResponse(Map<String, Object> received, String message) {
+}
@@ -0,0 +1,13 @@
+package com.example.camel.controller;
+
+/**
+ * Body of a failed request to the person API.
+ *
+ * @param timestamp epoch milliseconds of the response
+ */
+public record ErrorResponse(String status, String message, long timestamp) {
+
+    public static ErrorResponse of(String message) {
+        return new ErrorResponse("error", message, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.camel.controller;
+
+import java.util.Map;
+
+/**
+ * Body of {@code GET /api/health}.
+ *
+ * @param timestamp  ISO local date-time of the response
+ * @param components status of each checked component, by name
+ */
+public record HealthResponse(String status, String timestamp, Map<String, String> components) {
+}
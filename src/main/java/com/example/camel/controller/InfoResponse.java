@@ -0,0 +1,7 @@
+package com.example.camel.controller;
+
+/**
+ * Body of {@code GET /api/info}.
+ */
+public record InfoResponse(String application, String version, String framework, String java) {
+}
@@ -0,0 +1,13 @@
+package com.example.camel.controller;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/camel/person/batch}.
+ *
+ * @param ids        person IDs to look up, results come back in the same order
+ * @param type       "json" (default) or "xml"/"soap", as for the single lookup
+ * @param deadlineMs optional time budget for the whole batch in milliseconds
+ */
+public record PersonBatchRequest(List<String> ids, String type, Long deadlineMs) {
+}
@@ -0,0 +1,39 @@
+package com.example.camel.controller;
+
+import com.example.camel.service.PersonApiType;
+
+/**
+ * Entity tags of person lookups, a 64-bit FNV-1a hash of the projected data, of the API type and of the format.
+ * The volatile timestamp is left out, so a record that has not changed keeps its tag across polls.
+ * <p>
+ * A raw response is exactly the route output, so its tag is strong. The envelope carries a new timestamp in
+ * each response and is only equivalent from one poll to the next, so its tag is weak; Tomcat also compresses
+ * weakly tagged responses only, a strong tag being tied to the uncompressed bytes.
+ */
+final class PersonETag {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private PersonETag() {
+    }
+
+    static String of(PersonApiType apiType, String data, boolean raw) {
+        long hash = FNV_OFFSET;
+        hash = hash(hash, apiType.getParameter());
+        hash = (hash ^ (raw ? 'r' : 'e')) * FNV_PRIME;
+        if (data != null) {
+            hash = hash(hash, data);
+        }
+        String tag = '"' + Long.toHexString(hash) + '"';
+        return raw ? tag : "W/" + tag;
+    }
+
+    private static long hash(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * FNV_PRIME;
+        }
+        // Separator, so that ("ab", "c") and ("a", "bc") differ
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+}
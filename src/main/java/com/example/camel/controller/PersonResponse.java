@@ -0,0 +1,20 @@
+package com.example.camel.controller;
+
+import com.example.camel.service.PersonApiType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Body of a successful {@code GET /api/camel/person/{id}}.
+ *
+ * @param data      route output, already JSON, spliced in as a nested value without being re-encoded
+ * @param route     name of the route that served the lookup
+ * @param timestamp epoch milliseconds of the response
+ */
+public record PersonResponse(String status, String message, @JsonRawValue String data, String route,
+                             String dataType, long timestamp) {
+
+    public static PersonResponse success(String id, PersonApiType apiType, String data, long timestamp) {
+        return new PersonResponse("success", "Person data retrieved successfully for ID: " + id + " using "
+            + apiType.getDataType() + " API", data, apiType.getRouteName(), apiType.getDataType(), timestamp);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.camel.controller;
+
+import com.example.camel.logging.RequestLogAnalyzer;
+import com.example.camel.logging.RequestLogReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/camel/requests")
+public class RequestLogController {
+
+    private static final Duration DEFAULT_WINDOW = Duration.ofHours(1);
+
+    @Autowired
+    private RequestLogAnalyzer requestLogAnalyzer;
+
+    /**
+     * Counts, error rate, latency percentiles and slowest requests of the request log over a time window,
+     * by default the last hour.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> getStats(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "top", defaultValue = "10") int top) {
+        RequestLogReport report;
+        try {
+            Instant end = to != null ? requestLogAnalyzer.parseTime(to) : Instant.now();
+            Instant start = from != null ? requestLogAnalyzer.parseTime(from) : end.minus(DEFAULT_WINDOW);
+            report = requestLogAnalyzer.analyze(start, end, type, top);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ErrorResponse.of("Invalid request: " + e.getMessage()));
+        }
+        return ResponseEntity.ok(report);
+    }
+}
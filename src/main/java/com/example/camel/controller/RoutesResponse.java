@@ -0,0 +1,20 @@
+package com.example.camel.controller;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Body of {@code GET /api/camel/routes}.
+ */
+public record RoutesResponse(String status, int totalRoutes, List<RouteInfo> routes) {
+
+    /**
+     * @param status     route status name, or "UNKNOWN" when it cannot be read
+     * @param resilience guards of a route calling the upstream, absent for other routes
+     */
+    public record RouteInfo(String id, String endpoint, String status,
+                            @JsonInclude(JsonInclude.Include.NON_NULL) Map<String, Object> resilience) {
+    }
+}
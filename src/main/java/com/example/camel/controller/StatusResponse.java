@@ -0,0 +1,9 @@
+package com.example.camel.controller;
+
+/**
+ * Outcome of a route start or stop.
+ *
+ * @param status "success" or "error"
+ */
+public record StatusResponse(String status, String message) {
+}
@@ -0,0 +1,7 @@
+package com.example.camel.controller;
+
+/**
+ * Body of {@code GET /api/welcome}.
+ */
+public record WelcomeResponse(String message, String description) {
+}
@@ -0,0 +1,76 @@
+package com.example.camel.logging;
+
+/**
+ * Histogram of request durations in milliseconds: exact up to {@value #EXACT} ms, then 64 buckets per power of
+ * two, so a percentile is off by less than 2%. Its size does not depend on the number of requests recorded.
+ * Not thread-safe; each scan task fills its own and the results are merged.
+ */
+final class LatencyHistogram {
+
+    private static final int EXACT = 2048;
+    private static final int SUB_BITS = 6;
+    private static final int EXACT_BITS = 11;
+
+    private final long[] counts = new long[EXACT + (63 - EXACT_BITS) * (1 << SUB_BITS)];
+    private long total;
+    private long max;
+
+    void record(long millis) {
+        long value = Math.max(0, millis);
+        counts[bucket(value)]++;
+        total++;
+        max = Math.max(max, value);
+    }
+
+    void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    long count() {
+        return total;
+    }
+
+    long max() {
+        return max;
+    }
+
+    /**
+     * Duration below which {@code quantile} of the recorded requests fall, or 0 when none was recorded.
+     */
+    long percentile(double quantile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, upperBound(i));
+            }
+        }
+        return max;
+    }
+
+    private static int bucket(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & ((1 << SUB_BITS) - 1);
+        return EXACT + (exponent - EXACT_BITS) * (1 << SUB_BITS) + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < EXACT) {
+            return bucket;
+        }
+        int exponent = (bucket - EXACT) / (1 << SUB_BITS) + EXACT_BITS;
+        int sub = (bucket - EXACT) % (1 << SUB_BITS);
+        return (1L << exponent) + ((long) (sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+}
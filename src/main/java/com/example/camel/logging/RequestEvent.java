@@ -0,0 +1,151 @@
+package com.example.camel.logging;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.StreamCache;
+import org.apache.camel.spi.Synchronization;
+import org.apache.camel.support.ExchangeHelper;
+
+/**
+ * Everything logged about one exchange, captured as raw values on the request path and formatted later
+ * by the {@link RequestLogPipeline} writer. One instance is created per exchange; it also serves as the
+ * exchange's on-completion hook, so the event is published once whether the exchange succeeds or fails.
+ */
+public final class RequestEvent implements Synchronization {
+
+    /** Exchange property holding the event of the exchange. */
+    public static final String PROPERTY = "REQUEST_EVENT";
+
+    private final RequestLogPipeline pipeline;
+
+    // Request side, captured when the exchange enters a route
+    final String requestId;
+    final String routeId;
+    final long startMillis;
+    final long startNanos;
+    final String method;
+    final String uri;
+    final String path;
+    final String query;
+    final String personId;
+    final String apiType;
+
+    // Response side, captured at the end of the route or on completion
+    long endNanos;
+    int httpCode;
+    long size;
+    boolean failed;
+    private boolean responseRecorded;
+    private boolean published;
+
+    RequestEvent(RequestLogPipeline pipeline, Exchange exchange) {
+        this.pipeline = pipeline;
+        this.requestId = exchange.getExchangeId();
+        this.routeId = ExchangeHelper.getAtRouteId(exchange);
+        this.startMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+        Message in = exchange.getIn();
+        this.method = in.getHeader(Exchange.HTTP_METHOD, String.class);
+        this.uri = in.getHeader(Exchange.HTTP_URI, String.class);
+        this.path = in.getHeader(Exchange.HTTP_PATH, String.class);
+        this.query = in.getHeader(Exchange.HTTP_QUERY, String.class);
+        this.personId = in.getHeader("personId", String.class);
+        this.apiType = in.getHeader("type", String.class);
+    }
+
+    /**
+     * Records the response as it stands on the exchange. Later calls overwrite earlier ones, so the last
+     * step of the route wins.
+     */
+    public void recordResponse(Exchange exchange) {
+        endNanos = System.nanoTime();
+        Message message = exchange.getMessage();
+        Integer code = message.getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        failed = exchange.getException() != null;
+        // For internal routes, assume 200 if no error
+        httpCode = code != null ? code : failed ? 500 : 200;
+        size = sizeOf(message);
+        responseRecorded = true;
+    }
+
+    public String getRouteId() {
+        return routeId;
+    }
+
+    public RequestStatus status() {
+        return RequestStatus.of(httpCode, failed);
+    }
+
+    public long durationNanos() {
+        return Math.max(0, endNanos - startNanos);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public void onComplete(Exchange exchange) {
+        publish(exchange);
+    }
+
+    @Override
+    public void onFailure(Exchange exchange) {
+        publish(exchange);
+    }
+
+    private void publish(Exchange exchange) {
+        if (published) {
+            return;
+        }
+        published = true;
+        if (!responseRecorded || exchange.getException() != null) {
+            // The route did not reach its end, e.g. the upstream call failed
+            recordResponse(exchange);
+        }
+        pipeline.publish(this);
+    }
+
+    /**
+     * Body size in bytes without converting the body: known lengths first, then the Content-Length header.
+     *
+     * @return the size, or 0 when it cannot be known without reading the body
+     */
+    static long sizeOf(Message message) {
+        Object body = message.getBody();
+        if (body == null) {
+            return 0;
+        }
+        if (body instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (body instanceof String text) {
+            return utf8Length(text);
+        }
+        if (body instanceof StreamCache cache && cache.length() >= 0) {
+            return cache.length();
+        }
+        Long contentLength = message.getHeader(Exchange.CONTENT_LENGTH, Long.class);
+        return contentLength != null && contentLength >= 0 ? contentLength : 0;
+    }
+
+    private static long utf8Length(String text) {
+        long length = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    length++;
+                } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    // A surrogate pair is 4 bytes for 2 chars
+                    length += 2;
+                    i++;
+                } else {
+                    length += 2;
+                }
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.camel.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, lock-free ring buffer of request events for many producers and a single consumer. Producers
+ * claim a slot with a CAS on the tail and never wait: when the ring is full the event is dropped and
+ * counted instead.
+ */
+final class RequestEventRing {
+
+    private final AtomicReferenceArray<RequestEvent> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    // Only written by the consumer
+    private volatile long head;
+
+    /**
+     * @param capacity rounded up to the next power of two
+     */
+    RequestEventRing(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring capacity out of range: " + capacity);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Adds an event unless the ring is full.
+     *
+     * @return {@code false} if the event was dropped
+     */
+    boolean offer(RequestEvent event) {
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head > mask) {
+                dropped.increment();
+                return false;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+        slots.lazySet((int) claimed & mask, event);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} events to {@code consumer}, oldest first. Must only be called from the
+     * consumer thread.
+     *
+     * @return the number of events drained
+     */
+    int drain(Consumer<RequestEvent> consumer, int max) {
+        long next = head;
+        int count = 0;
+        try {
+            while (count < max) {
+                int index = (int) next & mask;
+                RequestEvent event = slots.get(index);
+                if (event == null) {
+                    // Empty, or a producer has claimed the slot but not filled it yet
+                    break;
+                }
+                slots.lazySet(index, null);
+                next++;
+                count++;
+                consumer.accept(event);
+            }
+        } finally {
+            // One volatile write per batch hands the freed slots back to the producers
+            head = next;
+        }
+        return count;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
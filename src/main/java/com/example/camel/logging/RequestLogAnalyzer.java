@@ -0,0 +1,279 @@
+package com.example.camel.logging;
+
+import org.apache.camel.CamelContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Answers questions such as "p99 of the SOAP lookups between 14:00 and 14:10" from the {@code REQUEST_SUMMARY}
+ * lines of {@code camel-requests.log} and its rolled files, in {@code request-log.directory}.
+ * <p>
+ * Each file is mapped and split on line boundaries into up to {@code request-log.analysis-parallelism} chunks,
+ * parsed at once by a {@link RequestLogScanner} each; chunks of all the files read by a query run on the same
+ * pool. Reading a file also records its index: the start times and {@code type} parameters of its lines. While
+ * the file keeps its size and modification time, later queries skip it when the index shows it holds nothing
+ * in their window or type, so rolled files are only read again for the windows they cover.
+ */
+@Component
+public class RequestLogAnalyzer {
+
+    static final String FILE_PREFIX = "camel-requests";
+    static final int MAX_TOP = 100;
+
+    private static final long MIN_CHUNK = 1 << 20;
+    private static final long MAX_CHUNK = 1 << 30;
+    private static final int SEARCH_BUFFER = 8192;
+
+    private final RequestLogProperties properties;
+    private final ExecutorService executor;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<Path, FileIndex> indexes = new ConcurrentHashMap<>();
+
+    public RequestLogAnalyzer(RequestLogProperties properties, CamelContext camelContext) {
+        this.properties = properties;
+        this.executor = camelContext.getExecutorServiceManager()
+            .newFixedThreadPool(this, "RequestLogAnalysis", Math.max(1, properties.getAnalysisParallelism()));
+    }
+
+    /**
+     * Parses a time of a query: an ISO-8601 instant or date-time with offset, or a local date-time (a space may
+     * separate date and time) in the zone of the log.
+     *
+     * @throws IllegalArgumentException if the text is none of these
+     */
+    public Instant parseTime(String text) {
+        String value = text.trim().replace(' ', 'T');
+        try {
+            return OffsetDateTime.parse(value).toInstant();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(value).atZone(zone).toInstant();
+            } catch (DateTimeParseException notLocal) {
+                throw new IllegalArgumentException("Invalid time '" + text + "', expected e.g. 2024-05-02T14:00");
+            }
+        }
+    }
+
+    /**
+     * Aggregates the requests started in {@code [from, to)}.
+     *
+     * @param type only requests with this {@code type} parameter, all of them when {@code null}
+     * @param top  number of slowest requests to report, at most {@value #MAX_TOP}
+     * @throws IllegalArgumentException if the window is empty or {@code top} is out of range
+     */
+    public RequestLogReport analyze(Instant from, Instant to, String type, int top) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("The window must end after it starts");
+        }
+        if (top < 0 || top > MAX_TOP) {
+            throw new IllegalArgumentException("top must be between 0 and " + MAX_TOP);
+        }
+        long started = System.nanoTime();
+        RequestLogQuery query = new RequestLogQuery(from.toEpochMilli(), to.toEpochMilli(), type, top);
+        List<Path> files = logFiles();
+        indexes.keySet().retainAll(files);
+
+        List<FileScan> scans = new ArrayList<>();
+        int skipped = 0;
+        for (Path file : files) {
+            try {
+                long size = Files.size(file);
+                long lastModified = Files.getLastModifiedTime(file).toMillis();
+                FileIndex index = indexes.get(file);
+                if (index != null && index.size() == size && index.lastModified() == lastModified
+                        && index.excludes(query)) {
+                    skipped++;
+                } else {
+                    scans.add(scan(file, size, lastModified, query));
+                }
+            } catch (NoSuchFileException e) {
+                // Rolled away or deleted since it was listed
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        Map<String, RequestLogScanner.Group> groups = new TreeMap<>();
+        PriorityQueue<RequestLogReport.SlowRequest> slowest = new PriorityQueue<>(RequestLogReport.SlowRequest.BY_DURATION);
+        long lines = 0;
+        for (FileScan scan : scans) {
+            long minStart = Long.MAX_VALUE;
+            long maxStart = Long.MIN_VALUE;
+            Set<String> types = new HashSet<>();
+            for (Future<RequestLogScanner> chunk : scan.chunks()) {
+                RequestLogScanner scanner = result(chunk);
+                scanner.groups.forEach((name, group) ->
+                    groups.computeIfAbsent(name, key -> new RequestLogScanner.Group()).merge(group));
+                for (RequestLogReport.SlowRequest request : scanner.slowest) {
+                    slowest.add(request);
+                    if (slowest.size() > top) {
+                        slowest.poll();
+                    }
+                }
+                types.addAll(scanner.types);
+                minStart = Math.min(minStart, scanner.minStart);
+                maxStart = Math.max(maxStart, scanner.maxStart);
+                lines += scanner.lines;
+            }
+            indexes.put(scan.file(), new FileIndex(scan.size(), scan.lastModified(), minStart, maxStart, Set.copyOf(types)));
+        }
+
+        RequestLogScanner.Group total = new RequestLogScanner.Group();
+        Map<String, RequestLogReport.Summary> summaries = new TreeMap<>();
+        groups.forEach((name, group) -> {
+            total.merge(group);
+            summaries.put(name, RequestLogReport.Summary.of(group));
+        });
+        List<RequestLogReport.SlowRequest> ranked = new ArrayList<>(slowest);
+        ranked.sort(RequestLogReport.SlowRequest.BY_DURATION.reversed());
+        return new RequestLogReport(from.atZone(zone).toOffsetDateTime().toString(),
+            to.atZone(zone).toOffsetDateTime().toString(), scans.size(), skipped, lines,
+            (System.nanoTime() - started) / 1_000_000, RequestLogReport.Summary.of(total), summaries, ranked);
+    }
+
+    /**
+     * The request log and its rolled files, oldest name first.
+     */
+    private List<Path> logFiles() {
+        Path directory = Path.of(properties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries
+                .filter(file -> {
+                    String name = file.getFileName().toString();
+                    return name.startsWith(FILE_PREFIX + ".") && name.endsWith(".log") && Files.isRegularFile(file);
+                })
+                .sorted(Comparator.comparing(Path::toString))
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the complete lines of a file in chunks and starts parsing them.
+     */
+    private FileScan scan(Path file, long size, long lastModified, RequestLogQuery query) throws IOException {
+        List<Future<RequestLogScanner>> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // A line still being written is left for the next query
+            long end = lastLineEnd(channel, Math.min(size, channel.size()));
+            int count = (int) Math.max(1, Math.min(properties.getAnalysisParallelism(), end / MIN_CHUNK));
+            count = (int) Math.max(count, (end + MAX_CHUNK - 1) / MAX_CHUNK);
+            long start = 0;
+            for (int i = 1; i <= count && start < end; i++) {
+                long chunkEnd = i == count ? end : Math.max(start, nextLineStart(channel, end * i / count, end));
+                if (chunkEnd > start) {
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, chunkEnd - start);
+                    chunks.add(executor.submit(() -> {
+                        RequestLogScanner scanner = new RequestLogScanner(query, zone);
+                        scanner.scan(buffer);
+                        return scanner;
+                    }));
+                }
+                start = chunkEnd;
+            }
+        }
+        return new FileScan(file, size, lastModified, chunks);
+    }
+
+    /**
+     * Position following the last line break before {@code size}, or 0.
+     */
+    private static long lastLineEnd(FileChannel channel, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SEARCH_BUFFER);
+        long position = size;
+        while (position > 0) {
+            long from = Math.max(0, position - SEARCH_BUFFER);
+            buffer.clear().limit((int) (position - from));
+            channel.read(buffer, from);
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return from + i + 1;
+                }
+            }
+            position = from;
+        }
+        return 0;
+    }
+
+    /**
+     * Start of the first line beginning at or after {@code position}, or {@code end}.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SEARCH_BUFFER);
+        long from = Math.max(0, position - 1);
+        while (from < end) {
+            buffer.clear().limit((int) Math.min(SEARCH_BUFFER, end - from));
+            int read = channel.read(buffer, from);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return from + i + 1;
+                }
+            }
+            from += read;
+        }
+        return end;
+    }
+
+    private static RequestLogScanner result(Future<RequestLogScanner> chunk) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Request log analysis interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Request log analysis failed", e.getCause());
+        }
+    }
+
+    private record FileScan(Path file, long size, long lastModified, List<Future<RequestLogScanner>> chunks) {
+    }
+
+    /**
+     * What a file held when it was last read: its size and modification time, then the start times and types
+     * of its requests.
+     */
+    private record FileIndex(long size, long lastModified, long minStart, long maxStart, Set<String> types) {
+
+        boolean excludes(RequestLogQuery query) {
+            return types.isEmpty() || maxStart < query.fromMillis() || minStart >= query.toMillis()
+                || (query.type() != null && !types.contains(query.type()));
+        }
+    }
+}
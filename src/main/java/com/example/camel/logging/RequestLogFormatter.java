@@ -0,0 +1,88 @@
+package com.example.camel.logging;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formats request events as the {@code REQUEST_SUMMARY} line of the request log. Only the writer thread
+ * uses an instance, so the output buffer and the formatted date-time of the last second seen are reused.
+ */
+final class RequestLogFormatter {
+
+    private static final DateTimeFormatter SECOND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ZoneId zone;
+    private final StringBuilder line = new StringBuilder(256);
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedSecondText;
+
+    RequestLogFormatter(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Returns the summary line of {@code event}; the result is only valid until the next call.
+     */
+    CharSequence format(RequestEvent event) {
+        long durationMillis = event.durationNanos() / 1_000_000;
+
+        line.setLength(0);
+        line.append("REQUEST_SUMMARY | StartTime: ");
+        appendTimestamp(event.startMillis);
+        line.append(" | EndTime: ");
+        appendTimestamp(event.startMillis + durationMillis);
+        line.append(" | URL: ");
+        appendUrl(event);
+        line.append(" | Params: ");
+        appendParams(event);
+        line.append(" | HTTPCode: ").append(event.httpCode)
+            .append(" | Duration: ").append(durationMillis).append("ms")
+            .append(" | Size: ").append(event.size).append('B')
+            .append(" | Status: ").append(event.status().name())
+            .append(" | RequestId: ").append(event.requestId);
+        return line;
+    }
+
+    private void appendTimestamp(long epochMillis) {
+        long second = Math.floorDiv(epochMillis, 1000);
+        if (second != cachedSecond) {
+            cachedSecondText = SECOND_FORMAT.format(Instant.ofEpochSecond(second).atZone(zone));
+            cachedSecond = second;
+        }
+        int millis = (int) Math.floorMod(epochMillis, 1000);
+        line.append(cachedSecondText).append('.');
+        if (millis < 100) {
+            line.append('0');
+        }
+        if (millis < 10) {
+            line.append('0');
+        }
+        line.append(millis);
+    }
+
+    private void appendUrl(RequestEvent event) {
+        if (event.uri != null) {
+            line.append(event.uri);
+        }
+        if (event.path != null) {
+            line.append(event.path);
+        }
+        if (event.query != null && !event.query.isEmpty()) {
+            line.append('?').append(event.query);
+        }
+    }
+
+    private void appendParams(RequestEvent event) {
+        int start = line.length();
+        if (event.personId != null) {
+            line.append("personId=").append(event.personId);
+        }
+        if (event.apiType != null) {
+            if (line.length() > start) {
+                line.append(", ");
+            }
+            line.append("type=").append(event.apiType);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.camel.logging;
+
+import com.example.camel.metrics.RouteMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.camel.Exchange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Moves request logging off the request path: routes publish one {@link RequestEvent} per exchange into a
+ * bounded ring buffer, and a background writer drains it in batches, writing one {@code REQUEST_SUMMARY}
+ * line per request to {@code REQUEST_LOGGER}. When the writer falls behind, events are dropped and
+ * counted rather than slowing requests down. Route metrics are recorded from the same events, on the
+ * request thread, so they are never dropped.
+ */
+@Component
+public class RequestLogPipeline {
+
+    private static final Logger requestLogger = LoggerFactory.getLogger("REQUEST_LOGGER");
+    private static final Logger log = LoggerFactory.getLogger(RequestLogPipeline.class);
+
+    private final RouteMetrics routeMetrics;
+    private final RequestEventRing ring;
+    private final int batchSize;
+    private final long idleWaitNanos;
+    private final RequestLogFormatter formatter = new RequestLogFormatter(ZoneId.systemDefault());
+    private final Consumer<RequestEvent> writeEvent = this::write;
+    private final LongAdder written = new LongAdder();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public RequestLogPipeline(RequestLogProperties properties, RouteMetrics routeMetrics, MeterRegistry meterRegistry) {
+        this.routeMetrics = routeMetrics;
+        this.ring = new RequestEventRing(properties.getCapacity());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.idleWaitNanos = properties.getIdleWait().toNanos();
+
+        FunctionCounter.builder("request.log.events", written, LongAdder::sum)
+            .description("Request events written to the request log")
+            .tag("outcome", "written")
+            .register(meterRegistry);
+        FunctionCounter.builder("request.log.events", ring, RequestEventRing::dropped)
+            .description("Request events dropped because the request log buffer was full")
+            .tag("outcome", "dropped")
+            .register(meterRegistry);
+        Gauge.builder("request.log.buffer.size", ring, RequestEventRing::size)
+            .description("Request events waiting for the request log writer")
+            .register(meterRegistry);
+
+        this.writer = new Thread(this::drainLoop, "RequestLogWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Starts the event of an exchange entering a route, and registers it to be published on completion.
+     */
+    public RequestEvent begin(Exchange exchange) {
+        RequestEvent event = new RequestEvent(this, exchange);
+        exchange.setProperty(RequestEvent.PROPERTY, event);
+        exchange.getExchangeExtension().addOnCompletion(event);
+        routeMetrics.started(event);
+        return event;
+    }
+
+    void publish(RequestEvent event) {
+        routeMetrics.completed(event);
+        ring.offer(event);
+    }
+
+    long dropped() {
+        return ring.dropped();
+    }
+
+    long written() {
+        return written.sum();
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                if (ring.drain(writeEvent, batchSize) == 0) {
+                    TimeUnit.NANOSECONDS.sleep(idleWaitNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to write request log events", e);
+            }
+        }
+    }
+
+    private void write(RequestEvent event) {
+        if (requestLogger.isInfoEnabled()) {
+            requestLogger.info(formatter.format(event).toString());
+        }
+        written.increment();
+    }
+
+    /**
+     * Stops the writer and flushes the events still buffered.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.NANOSECONDS.toMillis(idleWaitNanos) + 1000);
+        // The ring has a single consumer: only take over once the writer is gone
+        while (!writer.isAlive() && ring.drain(writeEvent, batchSize) > 0) {
+            // keep flushing until the buffer is empty
+        }
+    }
+}
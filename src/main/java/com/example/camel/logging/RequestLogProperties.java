@@ -0,0 +1,69 @@
+package com.example.camel.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the request log pipeline, bound from {@code request-log}.
+ */
+@Component
+@ConfigurationProperties(prefix = "request-log")
+public class RequestLogProperties {
+
+    /** Events buffered between the routes and the writer, rounded up to a power of two; beyond it events are dropped. */
+    private int capacity = 8192;
+
+    /** Maximum number of events the writer takes from the buffer at once. */
+    private int batchSize = 256;
+
+    /** How long the writer sleeps when the buffer is empty. */
+    private Duration idleWait = Duration.ofMillis(5);
+
+    /** Directory of {@code camel-requests.log} and its rolled files, as configured in {@code logback-spring.xml}. */
+    private String directory = "logs";
+
+    /** Chunks of a log file parsed at once by the analytics endpoint, one per core by default. */
+    private int analysisParallelism = Runtime.getRuntime().availableProcessors();
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getIdleWait() {
+        return idleWait;
+    }
+
+    public void setIdleWait(Duration idleWait) {
+        this.idleWait = idleWait;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getAnalysisParallelism() {
+        return analysisParallelism;
+    }
+
+    public void setAnalysisParallelism(int analysisParallelism) {
+        this.analysisParallelism = analysisParallelism;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.camel.logging;
+
+/**
+ * Window and filter of a request log analysis.
+ *
+ * @param fromMillis first request start time included, epoch milliseconds
+ * @param toMillis   first request start time excluded
+ * @param type       only requests with this {@code type} parameter, or all when {@code null}
+ * @param top        number of slowest requests to report
+ */
+record RequestLogQuery(long fromMillis, long toMillis, String type, int top) {
+}
@@ -0,0 +1,47 @@
+package com.example.camel.logging;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates of the request log over a time window, as computed by {@link RequestLogAnalyzer}.
+ *
+ * @param from          start of the window, inclusive
+ * @param to            end of the window, exclusive
+ * @param filesScanned  log files read
+ * @param filesSkipped  log files their index shows to hold no request of the window or type
+ * @param linesScanned  request lines read, in or out of the window
+ * @param elapsedMillis time the analysis took
+ * @param total         requests of the window
+ * @param types         requests of the window by {@code type} parameter, {@code other} for those without
+ * @param slowest       slowest requests of the window, slowest first
+ */
+public record RequestLogReport(String from, String to, int filesScanned, int filesSkipped, long linesScanned,
+                               long elapsedMillis, Summary total, Map<String, Summary> types,
+                               List<SlowRequest> slowest) {
+
+    /**
+     * Requests counted, those not successful, and percentiles of their durations in milliseconds.
+     */
+    public record Summary(long count, long errors, double errorRate, long p50, long p90, long p99, long p999,
+                          long max) {
+
+        static Summary of(RequestLogScanner.Group group) {
+            LatencyHistogram latency = group.latency;
+            long count = latency.count();
+            return new Summary(count, group.errors, count == 0 ? 0 : (double) group.errors / count,
+                latency.percentile(0.5), latency.percentile(0.9), latency.percentile(0.99),
+                latency.percentile(0.999), latency.max());
+        }
+    }
+
+    /**
+     * One request of the window, as logged.
+     */
+    public record SlowRequest(String startTime, String url, String params, String type, long durationMillis,
+                              int httpCode, String status, String requestId) {
+
+        static final Comparator<SlowRequest> BY_DURATION = Comparator.comparingLong(SlowRequest::durationMillis);
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.camel.logging;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Parses the {@code REQUEST_SUMMARY} lines of one chunk of a request log file, straight from its mapped bytes.
+ * Fields are located by their labels and only the numbers are decoded; the text fields of a line are only
+ * turned into strings when it ranks among the slowest requests. Lines of any other kind are skipped.
+ * <p>
+ * Besides the aggregates of the lines in the query window, the scan reports the time range and types of every
+ * line of the chunk, which the analyzer keeps as the index of the file.
+ */
+final class RequestLogScanner {
+
+    static final String NO_TYPE = "other";
+
+    private static final byte[] SUMMARY = ascii("REQUEST_SUMMARY | StartTime: ");
+    private static final byte[] URL = ascii(" | URL: ");
+    private static final byte[] PARAMS = ascii(" | Params: ");
+    private static final byte[] HTTP_CODE = ascii(" | HTTPCode: ");
+    private static final byte[] DURATION = ascii(" | Duration: ");
+    private static final byte[] STATUS = ascii(" | Status: ");
+    private static final byte[] REQUEST_ID = ascii(" | RequestId: ");
+    private static final byte[] TYPE = ascii("type=");
+    private static final byte[] SUCCESS = ascii("SUCCESS");
+    // yyyy-MM-dd HH:mm:ss.SSS
+    private static final int TIMESTAMP_LENGTH = 23;
+
+    private final RequestLogQuery query;
+    private final ZoneId zone;
+    private final byte[] typeFilter;
+
+    // Epoch millis of the minute last parsed, keyed by its yyyyMMddHHmm digits
+    private long cachedMinute = -1;
+    private long cachedMinuteMillis;
+    private final List<byte[]> typeBytes = new ArrayList<>();
+    private final List<String> typeNames = new ArrayList<>();
+
+    // Results
+    final Map<String, Group> groups = new HashMap<>();
+    final PriorityQueue<RequestLogReport.SlowRequest> slowest = new PriorityQueue<>(RequestLogReport.SlowRequest.BY_DURATION);
+    final Set<String> types = new HashSet<>();
+    long minStart = Long.MAX_VALUE;
+    long maxStart = Long.MIN_VALUE;
+    long lines;
+
+    RequestLogScanner(RequestLogQuery query, ZoneId zone) {
+        this.query = query;
+        this.zone = zone;
+        this.typeFilter = query.type() != null ? ascii(query.type()) : null;
+    }
+
+    /**
+     * Scans the lines of {@code buffer}, from its position to its limit; the buffer starts on a line.
+     */
+    void scan(ByteBuffer buffer) {
+        int end = buffer.limit();
+        int lineStart = buffer.position();
+        while (lineStart < end) {
+            int lineEnd = indexOf(buffer, (byte) '\n', lineStart, end);
+            int next = lineEnd < 0 ? end : lineEnd + 1;
+            if (lineEnd < 0) {
+                lineEnd = end;
+            }
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            parseLine(buffer, lineStart, lineEnd);
+            lineStart = next;
+        }
+    }
+
+    private void parseLine(ByteBuffer line, int start, int end) {
+        int summary = indexOf(line, SUMMARY, start, end);
+        if (summary < 0 || summary + SUMMARY.length + TIMESTAMP_LENGTH > end) {
+            return;
+        }
+        long startMillis = timestamp(line, summary + SUMMARY.length);
+        int url = indexOf(line, URL, summary, end);
+        int params = url < 0 ? -1 : indexOf(line, PARAMS, url, end);
+        int httpCode = params < 0 ? -1 : indexOf(line, HTTP_CODE, params, end);
+        int duration = httpCode < 0 ? -1 : indexOf(line, DURATION, httpCode, end);
+        int status = duration < 0 ? -1 : indexOf(line, STATUS, duration, end);
+        if (startMillis < 0 || status < 0) {
+            return;
+        }
+        lines++;
+        int typeStart = typeStart(line, params + PARAMS.length, httpCode);
+        int typeEnd = typeStart < 0 ? -1 : indexOf(line, (byte) ',', typeStart, httpCode);
+        if (typeStart >= 0 && typeEnd < 0) {
+            typeEnd = httpCode;
+        }
+        String type = typeStart < 0 ? NO_TYPE : typeName(line, typeStart, typeEnd);
+        types.add(type);
+        minStart = Math.min(minStart, startMillis);
+        maxStart = Math.max(maxStart, startMillis);
+
+        if (startMillis < query.fromMillis() || startMillis >= query.toMillis()) {
+            return;
+        }
+        if (typeFilter != null && (typeStart < 0 || !equals(line, typeStart, typeEnd, typeFilter))) {
+            return;
+        }
+        long durationMillis = number(line, duration + DURATION.length, end);
+        int statusStart = status + STATUS.length;
+        int successEnd = statusStart + SUCCESS.length;
+        boolean success = successEnd <= end && equals(line, statusStart, successEnd, SUCCESS)
+            && (successEnd == end || line.get(successEnd) == ' ');
+        groups.computeIfAbsent(type, name -> new Group()).record(durationMillis, success);
+
+        if (query.top() > 0 && (slowest.size() < query.top() || durationMillis > slowest.peek().durationMillis())) {
+            if (slowest.size() == query.top()) {
+                slowest.poll();
+            }
+            int requestId = indexOf(line, REQUEST_ID, status, end);
+            int statusEnd = requestId < 0 ? end : requestId;
+            String startTime = Instant.ofEpochMilli(startMillis).atZone(zone).toOffsetDateTime().toString();
+            slowest.add(new RequestLogReport.SlowRequest(startTime, text(line, url + URL.length, params),
+                text(line, params + PARAMS.length, httpCode), type, durationMillis,
+                (int) number(line, httpCode + HTTP_CODE.length, end), text(line, statusStart, statusEnd),
+                requestId < 0 ? null : text(line, requestId + REQUEST_ID.length, end)));
+        }
+    }
+
+    /**
+     * Start of the value of the {@code type} parameter, or {@code -1}.
+     */
+    private static int typeStart(ByteBuffer line, int start, int end) {
+        int at = start;
+        while ((at = indexOf(line, TYPE, at, end)) >= 0) {
+            if (at == start || (at >= 2 && line.get(at - 1) == ' ' && line.get(at - 2) == ',')) {
+                return at + TYPE.length;
+            }
+            at++;
+        }
+        return -1;
+    }
+
+    private String typeName(ByteBuffer line, int start, int end) {
+        for (int i = 0; i < typeBytes.size(); i++) {
+            if (equals(line, start, end, typeBytes.get(i))) {
+                return typeNames.get(i);
+            }
+        }
+        String name = text(line, start, end);
+        typeBytes.add(ascii(name));
+        typeNames.add(name);
+        return name;
+    }
+
+    /**
+     * Epoch millis of a {@code yyyy-MM-dd HH:mm:ss.SSS} local time, or {@code -1} when malformed.
+     */
+    private long timestamp(ByteBuffer line, int at) {
+        int year = digits(line, at, 4);
+        int month = digits(line, at + 5, 2);
+        int day = digits(line, at + 8, 2);
+        int hour = digits(line, at + 11, 2);
+        int minute = digits(line, at + 14, 2);
+        int second = digits(line, at + 17, 2);
+        int millis = digits(line, at + 20, 3);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23 || minute < 0
+                || minute > 59 || second < 0 || second > 59 || millis < 0) {
+            return -1;
+        }
+        long key = (((year * 100L + month) * 100 + day) * 100 + hour) * 100 + minute;
+        if (key != cachedMinute) {
+            try {
+                cachedMinuteMillis = LocalDateTime.of(year, month, day, hour, minute).atZone(zone).toInstant().toEpochMilli();
+            } catch (RuntimeException e) {
+                return -1;
+            }
+            cachedMinute = key;
+        }
+        return cachedMinuteMillis + second * 1000L + millis;
+    }
+
+    private static int digits(ByteBuffer line, int at, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            int digit = line.get(at + i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static long number(ByteBuffer line, int at, int end) {
+        long value = 0;
+        for (int i = at; i < end; i++) {
+            int digit = line.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                break;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static String text(ByteBuffer line, int start, int end) {
+        byte[] bytes = new byte[Math.max(0, end - start)];
+        line.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean equals(ByteBuffer line, int start, int end, byte[] expected) {
+        if (end - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (line.get(start + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte value, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte[] pattern, int start, int end) {
+        byte first = pattern[0];
+        int last = end - pattern.length;
+        for (int i = start; i <= last; i++) {
+            if (buffer.get(i) != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < pattern.length && buffer.get(i + j) == pattern[j]) {
+                j++;
+            }
+            if (j == pattern.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Requests of one type in the window: count, non-successful ones and their durations.
+     */
+    static final class Group {
+
+        final LatencyHistogram latency = new LatencyHistogram();
+        long errors;
+
+        void record(long durationMillis, boolean success) {
+            latency.record(durationMillis);
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void merge(Group other) {
+            latency.merge(other.latency);
+            errors += other.errors;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.camel.logging;
+
+/**
+ * Outcome of a request or upstream call, as reported in the request log and request metrics.
+ */
+public enum RequestStatus {
+
+    /** Completed with a 2xx status. */
+    SUCCESS,
+    /** Completed with any other status. */
+    ERROR,
+    /** Failed with an exception. */
+    EXCEPTION;
+
+    public static RequestStatus of(int httpCode, boolean failed) {
+        if (failed) {
+            return EXCEPTION;
+        }
+        return httpCode >= 200 && httpCode < 300 ? SUCCESS : ERROR;
+    }
+}
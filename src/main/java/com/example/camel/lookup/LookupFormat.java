@@ -0,0 +1,41 @@
+package com.example.camel.lookup;
+
+import com.example.camel.mapping.MappingProperties;
+import com.example.camel.processor.PersonDataProcessor;
+import com.example.camel.processor.SoapResponseProcessor;
+import com.fasterxml.jackson.core.JsonFactory;
+import org.apache.camel.Processor;
+
+/**
+ * Format of the response of a declared lookup, and the streaming projector extracting its mapped fields.
+ */
+public enum LookupFormat {
+
+    /** Field sources are JSON pointers relative to the projection root. */
+    JSON("JSON/REST") {
+        @Override
+        Processor projector(JsonFactory jsonFactory, MappingProperties.Projection projection) {
+            return new PersonDataProcessor(jsonFactory, projection);
+        }
+    },
+
+    /** Field sources are element paths, in local names, below the response document's elements. */
+    XML("XML") {
+        @Override
+        Processor projector(JsonFactory jsonFactory, MappingProperties.Projection projection) {
+            return new SoapResponseProcessor(jsonFactory, projection);
+        }
+    };
+
+    private final String dataType;
+
+    LookupFormat(String dataType) {
+        this.dataType = dataType;
+    }
+
+    public String getDataType() {
+        return dataType;
+    }
+
+    abstract Processor projector(JsonFactory jsonFactory, MappingProperties.Projection projection);
+}
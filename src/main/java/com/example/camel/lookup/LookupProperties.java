@@ -0,0 +1,163 @@
+package com.example.camel.lookup;
+
+import com.example.camel.mapping.MappingProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Upstream lookups declared in configuration, bound from {@code person.lookups}. Each entry of
+ * {@code routes} is compiled into a Camel route by {@link LookupRoutes} and served for the {@code type}
+ * request parameter equal to its name.
+ */
+@Component
+@ConfigurationProperties(prefix = "person.lookups")
+public class LookupProperties {
+
+    /** YAML file with more {@code person.lookups.routes}, re-read when it changes; none when empty. */
+    private String file = "";
+
+    /** How often the file is checked for changes. */
+    private Duration reloadInterval = Duration.ofSeconds(5);
+
+    /** Lookups by name; the names json, soap and xml belong to the built-in APIs. */
+    private Map<String, Lookup> routes = new LinkedHashMap<>();
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public Duration getReloadInterval() {
+        return reloadInterval;
+    }
+
+    public void setReloadInterval(Duration reloadInterval) {
+        this.reloadInterval = reloadInterval;
+    }
+
+    public Map<String, Lookup> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Lookup> routes) {
+        this.routes = routes;
+    }
+
+    public static class Lookup {
+
+        /** Upstream base URL; {@code person.api.base-url} when not set. */
+        private String baseUrl;
+
+        private String method = "GET";
+
+        /** Path and optional query, {@code {id}} standing for the looked up ID (e.g. {@code /people/{id}}). */
+        private String path;
+
+        /** Headers sent with every call. */
+        private Map<String, String> headers = new LinkedHashMap<>();
+
+        /** Body of the call. */
+        private LookupRequest request = LookupRequest.NONE;
+
+        /** Format of the upstream response, which the fields of {@code response} are extracted from. */
+        private LookupFormat format = LookupFormat.JSON;
+
+        private MappingProperties.Projection response = new MappingProperties.Projection();
+
+        /** Label of the API in responses; the format's when not set. */
+        private String dataType;
+
+        /** Whether lookups go through the lookup cache, when it is enabled. */
+        private boolean cache = true;
+
+        /** Default timeout of asynchronous lookups; {@code person.async.timeout} when not set. */
+        private Duration timeout;
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public void setHeaders(Map<String, String> headers) {
+            this.headers = headers;
+        }
+
+        public LookupRequest getRequest() {
+            return request;
+        }
+
+        public void setRequest(LookupRequest request) {
+            this.request = request;
+        }
+
+        public LookupFormat getFormat() {
+            return format;
+        }
+
+        public void setFormat(LookupFormat format) {
+            this.format = format;
+        }
+
+        public MappingProperties.Projection getResponse() {
+            return response;
+        }
+
+        public void setResponse(MappingProperties.Projection response) {
+            this.response = response;
+        }
+
+        public String getDataType() {
+            return dataType;
+        }
+
+        public void setDataType(String dataType) {
+            this.dataType = dataType;
+        }
+
+        public boolean isCache() {
+            return cache;
+        }
+
+        public void setCache(boolean cache) {
+            this.cache = cache;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
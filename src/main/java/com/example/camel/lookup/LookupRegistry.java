@@ -0,0 +1,40 @@
+package com.example.camel.lookup;
+
+import com.example.camel.service.PersonApiType;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The declared lookups currently routed, by name, as maintained by {@link LookupRoutes}. Read on every
+ * request and replaced as a whole on reload.
+ */
+@Component
+public class LookupRegistry {
+
+    private volatile Map<String, PersonApiType> lookups = Map.of();
+
+    /**
+     * The declared lookup answering the {@code type} request parameter, if any.
+     */
+    public Optional<PersonApiType> find(String type) {
+        return type == null ? Optional.empty() : Optional.ofNullable(lookups.get(type.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * The API serving the {@code type} request parameter: a declared lookup, otherwise a built-in API.
+     */
+    public PersonApiType resolve(String type) {
+        return find(type).orElseGet(() -> PersonApiType.fromParameter(type));
+    }
+
+    public Map<String, PersonApiType> getLookups() {
+        return lookups;
+    }
+
+    void replace(Map<String, PersonApiType> lookups) {
+        this.lookups = Map.copyOf(lookups);
+    }
+}
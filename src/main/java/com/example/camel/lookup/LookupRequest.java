@@ -0,0 +1,29 @@
+package com.example.camel.lookup;
+
+import com.example.camel.processor.SoapEnvelopeWriter;
+import org.apache.camel.Exchange;
+
+/**
+ * Body sent by a declared lookup, built from the looked up ID.
+ */
+public enum LookupRequest {
+
+    /** No body: the ID only travels in the path or query. */
+    NONE {
+        @Override
+        void build(Exchange exchange, String id) {
+            exchange.getIn().setBody(null);
+        }
+    },
+
+    /** GetEmployeeRequest envelope of the SOAP employee service. */
+    SOAP_EMPLOYEE {
+        @Override
+        void build(Exchange exchange, String id) {
+            exchange.getIn().setBody(SoapEnvelopeWriter.employeeRequest(id));
+            exchange.getIn().setHeader("Content-Type", "application/soap+xml; charset=utf-8");
+        }
+    };
+
+    abstract void build(Exchange exchange, String id);
+}
@@ -0,0 +1,264 @@
+package com.example.camel.lookup;
+
+import com.example.camel.logging.RequestLoggingInterceptor;
+import com.example.camel.logging.ResponseLoggingInterceptor;
+import com.example.camel.resilience.UpstreamResilience;
+import com.example.camel.service.PersonApiType;
+import com.example.camel.service.PersonLookupService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the lookups declared under {@code person.lookups.routes} into Camel routes, one per lookup, reached
+ * on {@code direct:lookup-<name>}. Each route gets what the built-in routes have: request events and metrics,
+ * the shared pooled HTTP client behind a static endpoint (see {@link PathTemplate}), the upstream limiter,
+ * circuit breaker, bulkhead and hedging, and a streaming projection of the response.
+ * <p>
+ * When {@code person.lookups.file} is set, its lookups are added to the configured ones, and the file is
+ * checked every {@code reload-interval}. A changed file is compiled as a whole; only if every lookup compiles
+ * are the lookup routes replaced and their cached results dropped, otherwise the running routes are kept. Should
+ * the new routes fail to start, the previous ones are put back.
+ * Lookups arriving while the routes are swapped wait on their {@code direct} endpoint.
+ */
+@Component
+public class LookupRoutes extends RouteBuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(LookupRoutes.class);
+
+    private static final Pattern NAME = Pattern.compile("[a-z0-9][a-z0-9-]*");
+    private static final Set<String> BUILT_IN = Set.of("json", "soap", "xml");
+
+    private final LookupProperties properties;
+    private final LookupRegistry registry;
+    private final PersonLookupService lookupService;
+    private final UpstreamResilience upstreamResilience;
+    private final RequestLoggingInterceptor requestLoggingInterceptor;
+    private final ResponseLoggingInterceptor responseLoggingInterceptor;
+    private final JsonFactory jsonFactory;
+
+    // Current lookups and the file state they were read from, guarded by this
+    private List<CompiledLookup> current = List.of();
+    private long fileStamp;
+
+    public LookupRoutes(LookupProperties properties, LookupRegistry registry, PersonLookupService lookupService,
+                        UpstreamResilience upstreamResilience, RequestLoggingInterceptor requestLoggingInterceptor,
+                        ResponseLoggingInterceptor responseLoggingInterceptor, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.registry = registry;
+        this.lookupService = lookupService;
+        this.upstreamResilience = upstreamResilience;
+        this.requestLoggingInterceptor = requestLoggingInterceptor;
+        this.responseLoggingInterceptor = responseLoggingInterceptor;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Route serving a declared lookup.
+     */
+    public static String routeId(String name) {
+        return "lookup-" + name + "-route";
+    }
+
+    @Override
+    public synchronized void configure() throws Exception {
+        fileStamp = fileStamp();
+        // Invalid declarations fail the startup, like invalid field mappings
+        List<CompiledLookup> lookups = compile(declared());
+        define(this, lookups);
+        publish(lookups);
+
+        if (!properties.getFile().isBlank()) {
+            ScheduledExecutorService watcher = getContext().getExecutorServiceManager()
+                .newSingleThreadScheduledExecutor(this, "LookupReload");
+            long interval = properties.getReloadInterval().toNanos();
+            watcher.scheduleWithFixedDelay(this::checkFile, interval, interval, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Re-reads the declared lookups and replaces their routes.
+     *
+     * @throws IllegalArgumentException if a lookup is invalid, in which case the running routes are kept
+     * @throws Exception if the new routes cannot be added, in which case the previous ones are restored
+     */
+    public synchronized void reload() throws Exception {
+        List<CompiledLookup> lookups = compile(declared());
+        List<CompiledLookup> previous = current;
+        // The new routes take over the direct endpoints of the old ones, which must go first
+        remove(previous);
+        try {
+            add(lookups);
+        } catch (Exception e) {
+            // Endpoints and properties are only resolved here: put the running lookups back
+            try {
+                remove(lookups);
+                add(previous);
+            } catch (Exception restore) {
+                e.addSuppressed(restore);
+            }
+            throw e;
+        }
+        previous.forEach(lookup -> lookupService.invalidate(lookup.type()));
+        lookups.forEach(lookup -> lookupService.invalidate(lookup.type()));
+        publish(lookups);
+        log.info("Reloaded {} declared lookup(s): {}", lookups.size(), registry.getLookups().keySet());
+    }
+
+    private void add(List<CompiledLookup> lookups) throws Exception {
+        getContext().addRoutes(new RouteBuilder(getContext()) {
+            @Override
+            public void configure() {
+                define(this, lookups);
+            }
+        });
+    }
+
+    private void remove(List<CompiledLookup> lookups) throws Exception {
+        for (CompiledLookup lookup : lookups) {
+            if (getContext().getRoute(lookup.routeId()) == null) {
+                // Never added, when restoring after a failed reload
+                continue;
+            }
+            getContext().getRouteController().stopRoute(lookup.routeId());
+            getContext().removeRoute(lookup.routeId());
+            upstreamResilience.routeReplaced(lookup.routeId());
+        }
+    }
+
+    private synchronized void checkFile() {
+        long stamp = fileStamp();
+        if (stamp == fileStamp || !getContext().isStarted()) {
+            return;
+        }
+        fileStamp = stamp;
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Lookups of {} not reloaded, the running routes are kept: {}", properties.getFile(), e.getMessage());
+        }
+    }
+
+    private long fileStamp() {
+        if (properties.getFile().isBlank()) {
+            return 0;
+        }
+        try {
+            Path file = Path.of(properties.getFile());
+            return Files.getLastModifiedTime(file).toMillis() * 31 + Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The configured lookups, overridden by those of {@code person.lookups.file} when it exists.
+     */
+    Map<String, LookupProperties.Lookup> declared() throws IOException {
+        Map<String, LookupProperties.Lookup> declared = new LinkedHashMap<>(properties.getRoutes());
+        if (!properties.getFile().isBlank() && Files.exists(Path.of(properties.getFile()))) {
+            FileSystemResource file = new FileSystemResource(properties.getFile());
+            Binder binder = new Binder(ConfigurationPropertySources.from(
+                new YamlPropertySourceLoader().load(file.getFilename(), file)));
+            declared.putAll(binder.bind("person.lookups.routes",
+                Bindable.mapOf(String.class, LookupProperties.Lookup.class)).orElse(Map.of()));
+        }
+        return declared;
+    }
+
+    private List<CompiledLookup> compile(Map<String, LookupProperties.Lookup> declared) {
+        List<CompiledLookup> lookups = new ArrayList<>(declared.size());
+        declared.forEach((name, lookup) -> {
+            try {
+                lookups.add(compile(name, lookup));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid lookup '" + name + "': " + e.getMessage(), e);
+            }
+        });
+        return lookups;
+    }
+
+    private CompiledLookup compile(String name, LookupProperties.Lookup lookup) {
+        if (!NAME.matcher(name).matches() || BUILT_IN.contains(name)) {
+            throw new IllegalArgumentException("lookup names are lower case letters, digits and dashes, other than "
+                + BUILT_IN);
+        }
+        PathTemplate template = PathTemplate.parse(lookup.getPath());
+        String baseUrl = lookup.getBaseUrl() != null ? lookup.getBaseUrl() : "{{person.api.base-url}}";
+        if (baseUrl.endsWith("/")) {
+            baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
+        }
+        String dataType = lookup.getDataType() != null ? lookup.getDataType() : lookup.getFormat().getDataType();
+        PersonApiType type = new PersonApiType("direct:lookup-" + name, "lookup-" + name, dataType, name,
+            lookup.isCache(), lookup.getTimeout());
+        LookupRequest request = lookup.getRequest();
+        Processor prepare = exchange -> {
+            String id = exchange.getIn().getBody(String.class);
+            String path = template.path(id);
+            if (path != null) {
+                exchange.getIn().setHeader(Exchange.HTTP_PATH, path);
+            }
+            String query = template.query(id);
+            if (query != null) {
+                exchange.getIn().setHeader(Exchange.HTTP_QUERY, query);
+            }
+            request.build(exchange, id);
+        };
+        return new CompiledLookup(type, routeId(name), baseUrl + template.getStaticPath(),
+            lookup.getMethod().toUpperCase(Locale.ROOT), Map.copyOf(lookup.getHeaders()), prepare,
+            lookup.getFormat().projector(jsonFactory, lookup.getResponse()));
+    }
+
+    private void define(RouteBuilder builder, List<CompiledLookup> lookups) {
+        if (lookups.isEmpty()) {
+            return;
+        }
+        builder.interceptFrom()
+            .process(requestLoggingInterceptor);
+        for (CompiledLookup lookup : lookups) {
+            RouteDefinition route = builder.from(lookup.type().getEndpointUri())
+                .routeId(lookup.routeId())
+                .setHeader(Exchange.HTTP_METHOD, builder.constant(lookup.method()));
+            lookup.headers().forEach((header, value) -> route.setHeader(header, builder.constant(value)));
+            route.process(lookup.prepare());
+            upstreamResilience.callUpstream(route, lookup.routeId(), lookup.uri())
+                .process(lookup.projector())
+                .process(responseLoggingInterceptor);
+        }
+    }
+
+    private void publish(List<CompiledLookup> lookups) {
+        Map<String, PersonApiType> types = new LinkedHashMap<>();
+        lookups.forEach(lookup -> types.put(lookup.type().getParameter(), lookup.type()));
+        registry.replace(types);
+        current = lookups;
+    }
+
+    private record CompiledLookup(PersonApiType type, String routeId, String uri, String method,
+                                  Map<String, String> headers, Processor prepare, Processor projector) {
+    }
+}
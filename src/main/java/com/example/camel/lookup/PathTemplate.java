@@ -0,0 +1,87 @@
+package com.example.camel.lookup;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Path template of a declared lookup, such as {@code /people/{id}} or {@code /people?id={id}}, split once into
+ * the part the endpoint URI can hold and the per-call rest. The path up to the segment holding the first
+ * {@code {id}} is static, so every call shares one pooled endpoint; the remaining path and the query travel as
+ * the {@code CamelHttpPath} and {@code CamelHttpQuery} headers instead of a per-ID {@code toD} URI.
+ */
+public final class PathTemplate {
+
+    static final String PLACEHOLDER = "{id}";
+
+    private final String staticPath;
+    private final String[] path;
+    private final String[] query;
+
+    private PathTemplate(String staticPath, String[] path, String[] query) {
+        this.staticPath = staticPath;
+        this.path = path;
+        this.query = query;
+    }
+
+    public static PathTemplate parse(String template) {
+        if (template == null || !template.startsWith("/")) {
+            throw new IllegalArgumentException("Lookup path must start with '/': " + template);
+        }
+        int queryStart = template.indexOf('?');
+        String pathPart = queryStart < 0 ? template : template.substring(0, queryStart);
+        String queryPart = queryStart < 0 ? null : template.substring(queryStart + 1);
+        String unknown = (pathPart + (queryPart != null ? queryPart : "")).replace(PLACEHOLDER, "");
+        if (unknown.indexOf('{') >= 0 || unknown.indexOf('}') >= 0) {
+            throw new IllegalArgumentException("Lookup path only supports the " + PLACEHOLDER + " placeholder: " + template);
+        }
+
+        int placeholder = pathPart.indexOf(PLACEHOLDER);
+        String staticPath = placeholder < 0 ? pathPart : pathPart.substring(0, pathPart.lastIndexOf('/', placeholder));
+        String dynamicPath = pathPart.substring(staticPath.length());
+        if (dynamicPath.startsWith("/")) {
+            dynamicPath = dynamicPath.substring(1);
+        }
+        return new PathTemplate(staticPath, dynamicPath.isEmpty() ? null : dynamicPath.split("\\{id}", -1),
+            queryPart == null || queryPart.isEmpty() ? null : queryPart.split("\\{id}", -1));
+    }
+
+    /**
+     * Path appended to the base URL in the endpoint URI.
+     */
+    public String getStaticPath() {
+        return staticPath;
+    }
+
+    /**
+     * Path below {@link #getStaticPath()} for the given ID, or {@code null} when the whole path is static.
+     */
+    public String path(String id) {
+        return path == null ? null : expand(path, encodeSegment(id));
+    }
+
+    /**
+     * Percent-encodes a value so that it stays a single path segment: {@code /}, {@code ?}, {@code #} and
+     * {@code %} included.
+     */
+    public static String encodeSegment(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    /**
+     * Query string for the given ID, or {@code null} when the template has none.
+     */
+    public String query(String id) {
+        return query == null ? null : expand(query, URLEncoder.encode(id, StandardCharsets.UTF_8));
+    }
+
+    private static String expand(String[] parts, String value) {
+        if (parts.length == 1) {
+            return parts[0];
+        }
+        StringBuilder expanded = new StringBuilder(parts[0]);
+        for (int i = 1; i < parts.length; i++) {
+            expanded.append(value).append(parts[i]);
+        }
+        return expanded.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.camel.mapping;
+
+/**
+ * One mapped output field, as declared under {@code person.mappings.*.fields}.
+ * Either {@code source} or a constant {@code value} must be set.
+ */
+public class FieldMapping {
+
+    /** JSON pointer relative to the projection root (e.g. {@code /created_at}) or XML element path (e.g. {@code Employee/Salary}). */
+    private String source;
+
+    /** Output field name. */
+    private String target;
+
+    private FieldType type = FieldType.AUTO;
+
+    /** Constant written instead of an extracted value. */
+    private String value;
+
+    public FieldMapping() {
+    }
+
+    public FieldMapping(String source, String target, FieldType type) {
+        this.source = source;
+        this.target = target;
+        this.type = type;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public FieldType getType() {
+        return type;
+    }
+
+    public void setType(FieldType type) {
+        this.type = type;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.camel.mapping;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Target type of a mapped field, applied when the extracted value is written out.
+ */
+public enum FieldType {
+
+    /** Keep the source type: JSON values are copied as they are, XML text is written as a string. */
+    AUTO {
+        @Override
+        void write(JsonGenerator generator, String text, JsonToken token) throws IOException {
+            if (token == null || token == JsonToken.VALUE_STRING) {
+                generator.writeString(text);
+            } else if (token.isNumeric()) {
+                generator.writeNumber(text);
+            } else if (token.isBoolean()) {
+                generator.writeBoolean(token == JsonToken.VALUE_TRUE);
+            } else if (token.isStructStart()) {
+                generator.writeRawValue(text);
+            } else {
+                generator.writeNull();
+            }
+        }
+    },
+
+    STRING {
+        @Override
+        void write(JsonGenerator generator, String text, JsonToken token) throws IOException {
+            if (token != null && token.isStructStart()) {
+                generator.writeRawValue(text);
+            } else {
+                generator.writeString(text);
+            }
+        }
+    },
+
+    /** Numeric text becomes a JSON number; anything else is written as null. */
+    NUMBER {
+        @Override
+        void write(JsonGenerator generator, String text, JsonToken token) throws IOException {
+            if (token != null && token.isNumeric()) {
+                generator.writeNumber(text);
+                return;
+            }
+            String value = text.trim();
+            try {
+                generator.writeNumber(Long.parseLong(value));
+            } catch (NumberFormatException notLong) {
+                try {
+                    generator.writeNumber(new BigDecimal(value));
+                } catch (NumberFormatException notNumber) {
+                    generator.writeNull();
+                }
+            }
+        }
+    },
+
+    /** "true"/"false" (any case) and "1"/"0" become a JSON boolean; anything else is written as null. */
+    BOOLEAN {
+        @Override
+        void write(JsonGenerator generator, String text, JsonToken token) throws IOException {
+            String value = text.trim();
+            if ("true".equalsIgnoreCase(value) || "1".equals(value)) {
+                generator.writeBoolean(true);
+            } else if ("false".equalsIgnoreCase(value) || "0".equals(value)) {
+                generator.writeBoolean(false);
+            } else {
+                generator.writeNull();
+            }
+        }
+    };
+
+    /**
+     * Writes a non-null extracted value.
+     *
+     * @param text  the value text, or the serialized JSON of a captured object/array
+     * @param token the JSON token the value was read from, {@code null} for XML text
+     */
+    abstract void write(JsonGenerator generator, String text, JsonToken token) throws IOException;
+}
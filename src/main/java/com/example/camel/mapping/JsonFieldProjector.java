@@ -0,0 +1,176 @@
+package com.example.camel.mapping;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming JSON projection: walks down to a root object with a {@link JsonParser}, captures the values
+ * addressed by the plan's JSON pointers (relative to that root) and skips everything else without
+ * materializing it. Reading stops as soon as every source has been found or the root object closes.
+ * The captured values are then written through the {@link MappingPlan}.
+ * Instances are immutable and thread-safe.
+ */
+public final class JsonFieldProjector {
+
+    private final JsonFactory jsonFactory;
+    private final String[] rootPath;
+    private final MappingPlan plan;
+    private final Node sourceTree = new Node();
+    private final int sourceCount;
+
+    /**
+     * @param root JSON pointer to the object to project, e.g. {@code /Ok}; empty for the document root
+     */
+    public JsonFieldProjector(JsonFactory jsonFactory, String root, MappingPlan plan) {
+        this.jsonFactory = jsonFactory;
+        this.rootPath = segments(root).toArray(new String[0]);
+        this.plan = plan;
+        int count = 0;
+        List<String> sources = plan.sources();
+        for (int slot = 0; slot < sources.size(); slot++) {
+            if (sources.get(slot) != null) {
+                sourceTree.add(segments(sources.get(slot)), 0, slot);
+                count++;
+            }
+        }
+        this.sourceCount = count;
+    }
+
+    /**
+     * Projects the document read from {@code input} into {@code output}.
+     *
+     * @throws IllegalArgumentException if the root pointer does not lead to an object
+     */
+    public void project(InputStream input, OutputStream output) throws IOException {
+        String[] values = new String[plan.size()];
+        JsonToken[] tokens = new JsonToken[plan.size()];
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Invalid response format: JSON object expected");
+            }
+            for (String segment : rootPath) {
+                seekObjectField(parser, segment);
+            }
+            capture(parser, sourceTree, values, tokens, new int[] {sourceCount});
+        }
+
+        try (JsonGenerator generator = jsonFactory.createGenerator(output)) {
+            generator.writeStartObject();
+            plan.write(generator, values, tokens);
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Captures the sources below {@code node} from the object the parser has just entered.
+     *
+     * @return {@code true} once all sources have been found and parsing can stop
+     */
+    private boolean capture(JsonParser parser, Node node, String[] values, JsonToken[] tokens, int[] remaining)
+            throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Node child = node.children.get(parser.currentName());
+            JsonToken token = parser.nextToken();
+            if (child == null) {
+                parser.skipChildren();
+            } else if (child.slot >= 0) {
+                if (tokens[child.slot] == null) {
+                    tokens[child.slot] = token;
+                    values[child.slot] = readValue(parser, token);
+                    if (--remaining[0] == 0) {
+                        return true;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            } else if (token == JsonToken.START_OBJECT) {
+                if (capture(parser, child, values, tokens, remaining)) {
+                    return true;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return false;
+    }
+
+    private String readValue(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isStructStart()) {
+            return parser.getText();
+        }
+        // Objects and arrays are only kept when a source points at them directly
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return json.toString();
+    }
+
+    /**
+     * Advances the parser, positioned inside an object, to the start of the object held by {@code name}.
+     */
+    private static void seekObjectField(JsonParser parser, String name) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean match = name.equals(parser.currentName());
+            if (parser.nextToken() == JsonToken.START_OBJECT && match) {
+                return;
+            }
+            parser.skipChildren();
+        }
+        throw new IllegalArgumentException("Invalid response format: '" + name + "' field not found");
+    }
+
+    private static List<String> segments(String pointer) {
+        if (pointer == null || pointer.isEmpty()) {
+            return List.of();
+        }
+        JsonPointer compiled = JsonPointer.compile(pointer.startsWith("/") ? pointer : "/" + pointer);
+        List<String> segments = new ArrayList<>();
+        for (JsonPointer p = compiled; !p.matches(); p = p.tail()) {
+            segments.add(p.getMatchingProperty());
+        }
+        return segments;
+    }
+
+    /**
+     * Source pointers folded into a tree of field names; leaves hold the slot to capture into.
+     */
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private int slot = -1;
+
+        void add(List<String> path, int index, int target) {
+            if (path.isEmpty()) {
+                throw new IllegalArgumentException("Empty JSON pointer in field mapping");
+            }
+            Node child = children.computeIfAbsent(path.get(index), name -> new Node());
+            if (index == path.size() - 1) {
+                if (child.slot >= 0 || !child.children.isEmpty()) {
+                    throw new IllegalArgumentException("Overlapping JSON pointer: /" + String.join("/", path));
+                }
+                child.slot = target;
+            } else {
+                if (child.slot >= 0) {
+                    throw new IllegalArgumentException("Overlapping JSON pointer: /" + String.join("/", path));
+                }
+                child.add(path, index + 1, target);
+            }
+        }
+    }
+}
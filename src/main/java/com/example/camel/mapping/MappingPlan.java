@@ -0,0 +1,89 @@
+package com.example.camel.mapping;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Field mappings compiled once into a flat accessor plan. Extractors capture values into slots indexed
+ * like {@link #sources()}; {@link #write} then runs a single loop over the plan with pre-encoded field
+ * names and no per-field lookups.
+ */
+public final class MappingPlan {
+
+    private final SerializedString[] targets;
+    private final FieldType[] types;
+    private final String[] constants;
+    private final List<String> sources;
+
+    private MappingPlan(List<FieldMapping> mappings) {
+        int size = mappings.size();
+        this.targets = new SerializedString[size];
+        this.types = new FieldType[size];
+        this.constants = new String[size];
+        List<String> sourceList = new ArrayList<>(size);
+        Set<String> seenTargets = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            FieldMapping mapping = mappings.get(i);
+            if (mapping.getTarget() == null || mapping.getTarget().isBlank()) {
+                throw new IllegalArgumentException("Field mapping #" + i + " has no target");
+            }
+            if (!seenTargets.add(mapping.getTarget())) {
+                throw new IllegalArgumentException("Duplicate mapping target: " + mapping.getTarget());
+            }
+            boolean hasSource = mapping.getSource() != null && !mapping.getSource().isBlank();
+            if (hasSource == (mapping.getValue() != null)) {
+                throw new IllegalArgumentException(
+                    "Field mapping '" + mapping.getTarget() + "' needs exactly one of 'source' or 'value'");
+            }
+            targets[i] = new SerializedString(mapping.getTarget());
+            types[i] = mapping.getType() != null ? mapping.getType() : FieldType.AUTO;
+            constants[i] = mapping.getValue();
+            sourceList.add(hasSource ? mapping.getSource() : null);
+        }
+        this.sources = Collections.unmodifiableList(sourceList);
+    }
+
+    public static MappingPlan compile(List<FieldMapping> mappings) {
+        if (mappings == null || mappings.isEmpty()) {
+            throw new IllegalArgumentException("At least one field mapping is required");
+        }
+        return new MappingPlan(mappings);
+    }
+
+    /**
+     * The source expression of each slot, {@code null} for constant fields.
+     */
+    public List<String> sources() {
+        return sources;
+    }
+
+    public int size() {
+        return targets.length;
+    }
+
+    /**
+     * Writes the mapped fields into the current object of {@code generator}.
+     *
+     * @param values captured values per slot, {@code null} when the source was absent
+     * @param tokens JSON token per slot, or {@code null} altogether when the values came from XML text
+     */
+    public void write(JsonGenerator generator, String[] values, JsonToken[] tokens) throws IOException {
+        for (int i = 0; i < targets.length; i++) {
+            generator.writeFieldName(targets[i]);
+            String value = constants[i] != null ? constants[i] : values[i];
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                types[i].write(generator, value, constants[i] != null || tokens == null ? null : tokens[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.camel.mapping;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Field mappings applied to upstream responses, bound from {@code person.mappings}.
+ */
+@Component
+@ConfigurationProperties(prefix = "person.mappings")
+public class MappingProperties {
+
+    /** Projection of the REST person payload. */
+    private Projection json = new Projection();
+
+    /** Projection of the SOAP employee payload. */
+    private Projection soap = new Projection();
+
+    public Projection getJson() {
+        return json;
+    }
+
+    public void setJson(Projection json) {
+        this.json = json;
+    }
+
+    public Projection getSoap() {
+        return soap;
+    }
+
+    public void setSoap(Projection soap) {
+        this.soap = soap;
+    }
+
+    public static class Projection {
+
+        /** JSON pointer to the object the field sources are relative to; unused for XML. */
+        private String root = "";
+
+        private List<FieldMapping> fields = new ArrayList<>();
+
+        public String getRoot() {
+            return root;
+        }
+
+        public void setRoot(String root) {
+            this.root = root;
+        }
+
+        public List<FieldMapping> getFields() {
+            return fields;
+        }
+
+        public void setFields(List<FieldMapping> fields) {
+            this.fields = fields;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.camel.mapping;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass StAX extractor pulling the text of a fixed set of elements out of an XML stream.
+ * Elements are addressed by local-name paths such as {@code Employee/Salary}, which match any
+ * {@code Salary} element whose parent is an {@code Employee}; namespace prefixes do not matter.
+ * Only the first match of each path is kept and reading stops as soon as every path has been found.
+ * Documents carrying several records, such as a bulk response, can be split by record element instead.
+ * Instances are immutable and thread-safe.
+ */
+public final class XmlFieldExtractor {
+
+    // XMLInputFactory is thread-safe once configured, so a single instance is shared
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final Map<String, Target[]> targetsByName = new HashMap<>();
+    private final int slotCount;
+    private final int pathCount;
+
+    /**
+     * @param paths element path per slot; {@code null} entries are skipped
+     */
+    public XmlFieldExtractor(List<String> paths) {
+        this.slotCount = paths.size();
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            String path = paths.get(slot);
+            if (path == null) {
+                continue;
+            }
+            String[] segments = path.replaceAll("^/+|/+$", "").split("/+");
+            String name = segments[segments.length - 1];
+            Target target = new Target(slot, Arrays.copyOf(segments, segments.length - 1));
+            Target[] existing = targetsByName.get(name);
+            if (existing == null) {
+                targetsByName.put(name, new Target[] {target});
+            } else {
+                for (Target other : existing) {
+                    if (Arrays.equals(other.ancestors, target.ancestors)) {
+                        throw new IllegalArgumentException("Duplicate element path: " + path);
+                    }
+                }
+                Target[] grown = Arrays.copyOf(existing, existing.length + 1);
+                grown[existing.length] = target;
+                targetsByName.put(name, grown);
+            }
+            count++;
+        }
+        this.pathCount = count;
+    }
+
+    /**
+     * Extracts the configured elements from the given stream.
+     *
+     * @return the element texts, indexed like the paths given at construction; {@code null} when absent
+     */
+    public String[] extract(InputStream input) throws XMLStreamException {
+        String[] values = new String[slotCount];
+        String[] open = new String[16];
+        int depth = 0;
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+        try {
+            int found = 0;
+            while (found < pathCount && reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                    continue;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String name = reader.getLocalName();
+                Target match = match(targetsByName.get(name), values, open, depth);
+                if (match != null) {
+                    // readText consumes the element up to its end tag, so it never enters the stack
+                    values[match.slot] = readText(reader);
+                    found++;
+                    continue;
+                }
+                if (depth == open.length) {
+                    open = Arrays.copyOf(open, depth * 2);
+                }
+                open[depth++] = name;
+            }
+        } finally {
+            reader.close();
+        }
+        return values;
+    }
+
+    /**
+     * Extracts the configured elements once per {@code record} element (matched by local name) of the
+     * stream. Paths matched inside a record fill that record only; paths matched outside any record, such
+     * as a response code next to the records, fill every record where they are still absent.
+     *
+     * @return one value array per record, in document order
+     */
+    public List<String[]> extractRecords(InputStream input, String record) throws XMLStreamException {
+        List<String[]> records = new ArrayList<>();
+        String[] shared = new String[slotCount];
+        String[] current = null;
+        int recordDepth = -1;
+        String[] open = new String[16];
+        int depth = 0;
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+        try {
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                    if (depth == recordDepth) {
+                        records.add(current);
+                        current = null;
+                        recordDepth = -1;
+                    }
+                    continue;
+                }
+                if (event != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String name = reader.getLocalName();
+                String[] values = current != null ? current : shared;
+                Target match = match(targetsByName.get(name), values, open, depth);
+                if (match != null) {
+                    values[match.slot] = readText(reader);
+                    continue;
+                }
+                if (current == null && name.equals(record)) {
+                    current = new String[slotCount];
+                    recordDepth = depth;
+                }
+                if (depth == open.length) {
+                    open = Arrays.copyOf(open, depth * 2);
+                }
+                open[depth++] = name;
+            }
+        } finally {
+            reader.close();
+        }
+        for (String[] values : records) {
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (values[slot] == null) {
+                    values[slot] = shared[slot];
+                }
+            }
+        }
+        return records;
+    }
+
+    private static Target match(Target[] candidates, String[] values, String[] open, int depth) {
+        if (candidates == null) {
+            return null;
+        }
+        for (Target candidate : candidates) {
+            if (values[candidate.slot] == null && candidate.matches(open, depth)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the concatenated text of the current element and its descendants, like DOM's
+     * {@code getTextContent}, leaving the reader on the matching end tag.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        String first = null;
+        StringBuilder more = null;
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA,
+                     XMLStreamConstants.SPACE, XMLStreamConstants.ENTITY_REFERENCE -> {
+                    if (first == null) {
+                        first = reader.getText();
+                    } else {
+                        if (more == null) {
+                            more = new StringBuilder(first);
+                        }
+                        more.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    }
+                }
+                default -> {
+                    // comments and processing instructions carry no text content
+                }
+            }
+        }
+        if (more != null) {
+            return more.toString();
+        }
+        return first != null ? first : "";
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        // Upstream payloads never need a DTD; refusing them also shuts out XXE
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * A slot to fill, with the local names its element's closest ancestors must have.
+     */
+    private record Target(int slot, String[] ancestors) {
+
+        boolean matches(String[] open, int depth) {
+            if (ancestors.length > depth) {
+                return false;
+            }
+            for (int i = 1; i <= ancestors.length; i++) {
+                if (!ancestors[ancestors.length - i].equals(open[depth - i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
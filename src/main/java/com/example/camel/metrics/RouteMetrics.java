@@ -0,0 +1,75 @@
+package com.example.camel.metrics;
+
+import com.example.camel.logging.RequestEvent;
+import com.example.camel.logging.RequestStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-route request metrics, fed from the request events of the logging interceptors:
+ * <ul>
+ *   <li>{@code person.route.requests}: timer tagged by {@code route} and {@code status}</li>
+ *   <li>{@code person.route.in.flight}: exchanges currently in the route</li>
+ *   <li>{@code person.route.response.size}: response sizes in bytes</li>
+ * </ul>
+ * Percentiles and histograms are configured under {@code management.metrics.distribution}.
+ */
+@Component
+public class RouteMetrics {
+
+    private final MeterRegistry meterRegistry;
+    // Routes are few and fixed: their meters are built once instead of being looked up per request
+    private final Map<String, RouteMeters> routes = new ConcurrentHashMap<>();
+
+    public RouteMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void started(RequestEvent event) {
+        meters(event.getRouteId()).inFlight.incrementAndGet();
+    }
+
+    public void completed(RequestEvent event) {
+        RouteMeters meters = meters(event.getRouteId());
+        meters.inFlight.decrementAndGet();
+        meters.requests[event.status().ordinal()].record(event.durationNanos(), TimeUnit.NANOSECONDS);
+        meters.responseSize.record(event.getSize());
+    }
+
+    private RouteMeters meters(String routeId) {
+        return routes.computeIfAbsent(routeId != null ? routeId : "unknown", this::newMeters);
+    }
+
+    private RouteMeters newMeters(String routeId) {
+        Timer[] requests = new Timer[RequestStatus.values().length];
+        for (RequestStatus status : RequestStatus.values()) {
+            requests[status.ordinal()] = Timer.builder("person.route.requests")
+                .description("Exchanges handled by the route")
+                .tag("route", routeId)
+                .tag("status", status.name())
+                .register(meterRegistry);
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("person.route.in.flight", inFlight, AtomicInteger::get)
+            .description("Exchanges currently in the route")
+            .tag("route", routeId)
+            .register(meterRegistry);
+        DistributionSummary responseSize = DistributionSummary.builder("person.route.response.size")
+            .description("Size of the responses built by the route")
+            .baseUnit("bytes")
+            .tag("route", routeId)
+            .register(meterRegistry);
+        return new RouteMeters(requests, inFlight, responseSize);
+    }
+
+    private record RouteMeters(Timer[] requests, AtomicInteger inFlight, DistributionSummary responseSize) {
+    }
+}
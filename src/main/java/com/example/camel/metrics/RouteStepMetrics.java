@@ -0,0 +1,147 @@
+package com.example.camel.metrics;
+
+import com.example.camel.logging.RequestStatus;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Processor;
+import org.apache.camel.model.ProcessDefinition;
+import org.apache.camel.model.ToDefinition;
+import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.support.AsyncProcessorConverterHelper;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times individual route steps, as an {@link InterceptStrategy} Camel applies to every route:
+ * <ul>
+ *   <li>HTTP calls: {@code person.upstream.requests} timer tagged by {@code upstream} and {@code status},
+ *   {@code person.upstream.in.flight} and {@code person.upstream.response.size} (from Content-Length)</li>
+ *   <li>processors referenced by bean name: {@code person.processor.duration} tagged by {@code processor}</li>
+ * </ul>
+ * Meters are bound once per step when the routes are built, so timing a call does not look anything up.
+ */
+@Component
+public class RouteStepMetrics implements InterceptStrategy {
+
+    private final MeterRegistry meterRegistry;
+
+    public RouteStepMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Processor wrapProcessorInInterceptors(CamelContext context, NamedNode definition, Processor target,
+                                                 Processor nextTarget) {
+        if (definition instanceof ToDefinition to) {
+            String uri = context.resolvePropertyPlaceholders(to.getEndpointUri());
+            if (uri.startsWith("http")) {
+                return new TimedStep(target, new UpstreamRecorder(stripQuery(uri)));
+            }
+        } else if (definition instanceof ProcessDefinition process && process.getRef() != null) {
+            Timer timer = Timer.builder("person.processor.duration")
+                .description("Time spent in the route processor")
+                .tag("processor", process.getRef())
+                .register(meterRegistry);
+            return new TimedStep(target, (exchange, startNanos) ->
+                timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS));
+        }
+        return target;
+    }
+
+    private static String stripQuery(String uri) {
+        int query = uri.indexOf('?');
+        return query < 0 ? uri : uri.substring(0, query);
+    }
+
+    @FunctionalInterface
+    private interface StepRecorder {
+
+        default void started() {
+        }
+
+        void completed(Exchange exchange, long startNanos);
+    }
+
+    private final class UpstreamRecorder implements StepRecorder {
+
+        private final Timer[] requests = new Timer[RequestStatus.values().length];
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final DistributionSummary responseSize;
+
+        UpstreamRecorder(String upstream) {
+            for (RequestStatus status : RequestStatus.values()) {
+                requests[status.ordinal()] = Timer.builder("person.upstream.requests")
+                    .description("Calls to the upstream endpoint")
+                    .tag("upstream", upstream)
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+            }
+            Gauge.builder("person.upstream.in.flight", inFlight, AtomicInteger::get)
+                .description("Calls to the upstream endpoint awaiting their response")
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+            this.responseSize = DistributionSummary.builder("person.upstream.response.size")
+                .description("Size of the upstream responses, when announced by Content-Length")
+                .baseUnit("bytes")
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+        }
+
+        @Override
+        public void started() {
+            inFlight.incrementAndGet();
+        }
+
+        @Override
+        public void completed(Exchange exchange, long startNanos) {
+            long elapsed = System.nanoTime() - startNanos;
+            inFlight.decrementAndGet();
+            Integer code = exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+            RequestStatus status = RequestStatus.of(code != null ? code : 0, exchange.getException() != null);
+            requests[status.ordinal()].record(elapsed, TimeUnit.NANOSECONDS);
+            Long contentLength = exchange.getMessage().getHeader(Exchange.CONTENT_LENGTH, Long.class);
+            if (contentLength != null && contentLength >= 0) {
+                responseSize.record(contentLength);
+            }
+        }
+    }
+
+    /**
+     * Runs a step and reports its duration, whether it completes synchronously or not.
+     */
+    private static final class TimedStep extends AsyncProcessorSupport {
+
+        private final AsyncProcessor delegate;
+        private final StepRecorder recorder;
+
+        TimedStep(Processor delegate, StepRecorder recorder) {
+            this.delegate = AsyncProcessorConverterHelper.convert(delegate);
+            this.recorder = recorder;
+        }
+
+        @Override
+        public boolean process(Exchange exchange, AsyncCallback callback) {
+            long startNanos = System.nanoTime();
+            recorder.started();
+            return delegate.process(exchange, doneSync -> {
+                recorder.completed(exchange, startNanos);
+                callback.done(doneSync);
+            });
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
@@ -1,44 +1,48 @@
 package com.example.camel.processor;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.example.camel.mapping.JsonFieldProjector;
+import com.example.camel.mapping.MappingPlan;
+import com.example.camel.mapping.MappingProperties;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 
 /**
- * Processor to filter person data - extracting only specific fields
+ * Processor to filter person data - extracting only the fields mapped under {@code person.mappings.json}
  */
 @Component("personDataProcessor")
 public class PersonDataProcessor implements Processor {
-    
-    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final JsonFieldProjector projector;
+
+    @Autowired
+    public PersonDataProcessor(MappingProperties mappingProperties, ObjectMapper objectMapper) {
+        this(objectMapper.getFactory(), mappingProperties.getJson());
+    }
+
+    /**
+     * Processor applying another projection, for the lookups declared under {@code person.lookups}.
+     */
+    public PersonDataProcessor(JsonFactory jsonFactory, MappingProperties.Projection projection) {
+        this.projector = new JsonFieldProjector(
+            jsonFactory, projection.getRoot(), MappingPlan.compile(projection.getFields()));
+    }
 
     @Override
     public void process(Exchange exchange) throws Exception {
-        String jsonInput = exchange.getIn().getBody(String.class);
-        
-        // Parse input JSON
-        JsonNode inputNode = objectMapper.readTree(jsonInput);
-        
-        // Extract "Ok" object from response
-        JsonNode okNode = inputNode.get("Ok");
-        if (okNode == null) {
-            throw new IllegalArgumentException("Invalid response format: 'Ok' field not found");
-        }
-        
-        // Create filtered object with only requested fields
-        Map<String, Object> filteredData = new HashMap<>();
-        filteredData.put("first_name", okNode.get("first_name").asText());
-        filteredData.put("last_name", okNode.get("last_name").asText());
-        filteredData.put("creation_date", okNode.get("created_at").asText());
-        
-        // Convert to JSON and update body
-        String filteredJson = objectMapper.writeValueAsString(filteredData);
-        exchange.getIn().setBody(filteredJson);
+        // Project the root object straight from the upstream stream, skipping unmapped subtrees
+        InputStream jsonInput = exchange.getIn().getBody(InputStream.class);
+        ByteArrayOutputStream filteredJson = new ByteArrayOutputStream(128);
+        projector.project(jsonInput, filteredJson);
+
+        exchange.getIn().setBody(filteredJson.toString(StandardCharsets.UTF_8));
         exchange.getIn().setHeader("Content-Type", "application/json");
     }
 }
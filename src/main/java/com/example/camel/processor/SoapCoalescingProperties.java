@@ -0,0 +1,58 @@
+package com.example.camel.processor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the SOAP request coalescer, bound from {@code person.soap.coalescing}.
+ */
+@Component
+@ConfigurationProperties(prefix = "person.soap.coalescing")
+public class SoapCoalescingProperties {
+
+    /** Whether concurrent SOAP lookups are merged into bulk calls; when off, every lookup is its own call. */
+    private boolean enabled = false;
+
+    /** How long the first lookup of a batch waits for others to join it. */
+    private Duration window = Duration.ofMillis(2);
+
+    /** Number of distinct IDs that sends a batch right away, without waiting for the window to close. */
+    private int maxBatchSize = 50;
+
+    /** Element path of the employee ID inside each record of a bulk response, used to route records back. */
+    private String idPath = "Employee/EmployeeId";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public String getIdPath() {
+        return idPath;
+    }
+
+    public void setIdPath(String idPath) {
+        this.idPath = idPath;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.camel.processor;
+
+import com.example.camel.mapping.MappingPlan;
+import com.example.camel.mapping.MappingProperties;
+import com.example.camel.mapping.XmlFieldExtractor;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Processor splitting a bulk SOAP response into one JSON document per employee, mapped like
+ * {@link SoapResponseProcessor} does for a single one. The body becomes a map from employee ID, trimmed, to
+ * JSON, in document order; {@link #match} then hands each requested ID its employee.
+ */
+@Component("soapEmployeesResponseProcessor")
+public class SoapEmployeesResponseProcessor implements Processor {
+
+    private final JsonFactory jsonFactory;
+    private final MappingPlan plan;
+    private final XmlFieldExtractor extractor;
+    private final String record;
+    private final int idSlot;
+
+    public SoapEmployeesResponseProcessor(MappingProperties mappingProperties,
+                                          SoapCoalescingProperties coalescingProperties, ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.plan = MappingPlan.compile(mappingProperties.getSoap().getFields());
+        String idPath = coalescingProperties.getIdPath().replaceAll("^/+|/+$", "");
+        int separator = idPath.lastIndexOf('/');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Employee ID path needs a record element: " + idPath);
+        }
+        this.record = idPath.substring(idPath.lastIndexOf('/', separator - 1) + 1, separator);
+        // Reuse the mapped slot when the ID is projected anyway, the extractor refuses duplicate paths
+        List<String> paths = new ArrayList<>(plan.sources());
+        int slot = paths.indexOf(idPath);
+        if (slot < 0) {
+            slot = paths.size();
+            paths.add(idPath);
+        }
+        this.idSlot = slot;
+        this.extractor = new XmlFieldExtractor(paths);
+    }
+
+    /**
+     * Normalized form of an employee ID: trimmed, lower-cased and without leading zeros, so that a requested ID
+     * still finds its employee when the upstream normalizes IDs.
+     */
+    public static String normalize(String employeeId) {
+        String id = employeeId.trim().toLowerCase(Locale.ROOT);
+        int start = 0;
+        while (start < id.length() - 1 && id.charAt(start) == '0') {
+            start++;
+        }
+        return id.substring(start);
+    }
+
+    /**
+     * Hands the requested IDs their employee of a bulk response. An ID takes the employee with the very same ID;
+     * failing that, the one whose {@link #normalize normalized} ID is the same, provided no other requested ID
+     * and no other employee of the response normalize to it. IDs left ambiguous get no employee rather than
+     * possibly another one's.
+     *
+     * @param employees body set by this processor
+     */
+    public static Match match(Collection<String> ids, Map<String, String> employees) {
+        Map<String, Integer> requested = new HashMap<>();
+        for (String id : ids) {
+            requested.merge(normalize(id), 1, Integer::sum);
+        }
+        Map<String, List<String>> answered = new HashMap<>();
+        for (Map.Entry<String, String> employee : employees.entrySet()) {
+            answered.computeIfAbsent(normalize(employee.getKey()), key -> new ArrayList<>(1)).add(employee.getValue());
+        }
+        Map<String, String> found = new LinkedHashMap<>();
+        Set<String> ambiguous = new LinkedHashSet<>();
+        for (String id : ids) {
+            String json = employees.get(id.trim());
+            if (json != null) {
+                found.put(id, json);
+                continue;
+            }
+            String key = normalize(id);
+            List<String> candidates = answered.get(key);
+            if (candidates == null) {
+                continue;
+            }
+            if (requested.get(key) == 1 && candidates.size() == 1) {
+                found.put(id, candidates.get(0));
+            } else {
+                ambiguous.add(id);
+            }
+        }
+        return new Match(found, ambiguous);
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        InputStream xmlResponse = exchange.getIn().getBody(InputStream.class);
+        List<String[]> records = extractor.extractRecords(xmlResponse, record);
+
+        Map<String, String> employees = new LinkedHashMap<>();
+        for (String[] values : records) {
+            StringWriter json = new StringWriter(256);
+            try (JsonGenerator generator = jsonFactory.createGenerator(json)) {
+                generator.writeStartObject();
+                plan.write(generator, values, null);
+                generator.writeEndObject();
+            }
+            if (values[idSlot] != null) {
+                employees.putIfAbsent(values[idSlot].trim(), json.toString());
+            }
+        }
+        exchange.getIn().setBody(employees);
+    }
+
+    /**
+     * Employees of a bulk response per requested ID.
+     *
+     * @param found     JSON per requested ID that has its employee
+     * @param ambiguous requested IDs only matching an employee that could be another requested ID's
+     */
+    public record Match(Map<String, String> found, Set<String> ambiguous) {
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.camel.processor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Builds the SOAP request envelopes of the employee service as UTF-8 bytes. The fixed parts of each
+ * envelope are encoded once; a request only escapes and encodes its employee IDs, straight into an
+ * array sized up front, so nothing is formatted or copied on the way.
+ */
+public final class SoapEnvelopeWriter {
+
+    private static final byte[] ENVELOPE_START = bytes("""
+        <?xml version="1.0" encoding="UTF-8"?>
+        <soap:Envelope xmlns:soap="http://www.w3.org/2003/05/soap-envelope" \
+        xmlns:per="http://example.com/person">
+            <soap:Header/>
+            <soap:Body>
+        """);
+    private static final byte[] ENVELOPE_END = bytes("""
+            </soap:Body>
+        </soap:Envelope>
+        """);
+    private static final byte[] SINGLE_START = bytes("        <per:GetEmployeeRequest>\n");
+    private static final byte[] SINGLE_END = bytes("        </per:GetEmployeeRequest>\n");
+    private static final byte[] BULK_START = bytes("        <per:GetEmployeesRequest>\n");
+    private static final byte[] BULK_END = bytes("        </per:GetEmployeesRequest>\n");
+    private static final byte[] ID_START = bytes("            <per:employeeId>");
+    private static final byte[] ID_END = bytes("</per:employeeId>\n");
+
+    private static final byte[] AMP = bytes("&amp;");
+    private static final byte[] LT = bytes("&lt;");
+    private static final byte[] GT = bytes("&gt;");
+    private static final byte[] QUOT = bytes("&quot;");
+    private static final byte[] APOS = bytes("&apos;");
+
+    private SoapEnvelopeWriter() {
+    }
+
+    /**
+     * Returns the {@code GetEmployeeRequest} envelope for one employee.
+     *
+     * @throws IllegalArgumentException if the ID holds characters XML cannot carry
+     */
+    public static byte[] employeeRequest(String employeeId) {
+        byte[] envelope = new byte[ENVELOPE_START.length + SINGLE_START.length + idLength(employeeId)
+            + SINGLE_END.length + ENVELOPE_END.length];
+        int position = put(envelope, 0, ENVELOPE_START);
+        position = put(envelope, position, SINGLE_START);
+        position = putId(envelope, position, employeeId);
+        position = put(envelope, position, SINGLE_END);
+        put(envelope, position, ENVELOPE_END);
+        return envelope;
+    }
+
+    /**
+     * Returns the {@code GetEmployeesRequest} envelope asking for several employees at once.
+     *
+     * @throws IllegalArgumentException if the list is empty or an ID holds characters XML cannot carry
+     */
+    public static byte[] employeesRequest(List<String> employeeIds) {
+        if (employeeIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one employee ID is required");
+        }
+        int length = ENVELOPE_START.length + BULK_START.length + BULK_END.length + ENVELOPE_END.length;
+        for (String employeeId : employeeIds) {
+            length += idLength(employeeId);
+        }
+        byte[] envelope = new byte[length];
+        int position = put(envelope, 0, ENVELOPE_START);
+        position = put(envelope, position, BULK_START);
+        for (String employeeId : employeeIds) {
+            position = putId(envelope, position, employeeId);
+        }
+        position = put(envelope, position, BULK_END);
+        put(envelope, position, ENVELOPE_END);
+        return envelope;
+    }
+
+    /**
+     * Checks that an employee ID can be written into an envelope.
+     *
+     * @throws IllegalArgumentException if the ID holds characters XML cannot carry
+     */
+    public static void checkEmployeeId(String employeeId) {
+        putId(new byte[idLength(employeeId)], 0, employeeId);
+    }
+
+    /**
+     * Encoded length of an {@code employeeId} element, escaping included.
+     */
+    private static int idLength(String id) {
+        int length = ID_START.length + ID_END.length;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            length += switch (c) {
+                case '&' -> AMP.length;
+                case '<' -> LT.length;
+                case '>' -> GT.length;
+                case '"' -> QUOT.length;
+                case '\'' -> APOS.length;
+                default -> {
+                    if (c < 0x80) {
+                        yield 1;
+                    }
+                    if (c < 0x800) {
+                        yield 2;
+                    }
+                    if (Character.isSurrogate(c)) {
+                        // Only well-formed pairs get here: putId rejects the rest before writing
+                        i++;
+                        yield 4;
+                    }
+                    yield 3;
+                }
+            };
+        }
+        return length;
+    }
+
+    private static int putId(byte[] target, int position, String id) {
+        position = put(target, position, ID_START);
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            switch (c) {
+                case '&' -> position = put(target, position, AMP);
+                case '<' -> position = put(target, position, LT);
+                case '>' -> position = put(target, position, GT);
+                case '"' -> position = put(target, position, QUOT);
+                case '\'' -> position = put(target, position, APOS);
+                default -> {
+                    if (c < 0x20 && c != '\t' && c != '\n' && c != '\r' || c == 0xFFFE || c == 0xFFFF) {
+                        throw new IllegalArgumentException("Employee ID holds a character XML cannot carry: U+"
+                            + String.format("%04X", (int) c));
+                    }
+                    if (c < 0x80) {
+                        target[position++] = (byte) c;
+                    } else if (c < 0x800) {
+                        target[position++] = (byte) (0xC0 | c >> 6);
+                        target[position++] = (byte) (0x80 | c & 0x3F);
+                    } else if (Character.isSurrogate(c)) {
+                        if (!Character.isHighSurrogate(c) || i + 1 == id.length()
+                                || !Character.isLowSurrogate(id.charAt(i + 1))) {
+                            throw new IllegalArgumentException("Employee ID holds an unpaired surrogate");
+                        }
+                        int codePoint = Character.toCodePoint(c, id.charAt(++i));
+                        target[position++] = (byte) (0xF0 | codePoint >> 18);
+                        target[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                        target[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                        target[position++] = (byte) (0x80 | codePoint & 0x3F);
+                    } else {
+                        target[position++] = (byte) (0xE0 | c >> 12);
+                        target[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                        target[position++] = (byte) (0x80 | c & 0x3F);
+                    }
+                }
+            }
+        }
+        return put(target, position, ID_END);
+    }
+
+    private static int put(byte[] target, int position, byte[] segment) {
+        System.arraycopy(segment, 0, target, position, segment.length);
+        return position + segment.length;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
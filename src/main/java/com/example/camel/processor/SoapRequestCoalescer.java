@@ -0,0 +1,195 @@
+package com.example.camel.processor;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous processor merging concurrent SOAP lookups into bulk calls. The first lookup opens a batch
+ * that others join until {@code person.soap.coalescing.window} has passed or the batch holds
+ * {@code max-batch-size} distinct IDs; the batch is then sent as one {@code GetEmployeesRequest} through
+ * {@value #BULK_ENDPOINT}, and each waiting exchange resumes with the JSON of its own employee.
+ * A batch holding a single ID is sent as a plain {@code GetEmployeeRequest}.
+ */
+@Component("soapRequestCoalescer")
+public class SoapRequestCoalescer extends AsyncProcessorSupport {
+
+    /**
+     * Route performing one (bulk) SOAP call; its body becomes a map from employee ID to JSON, read with
+     * {@link SoapEmployeesResponseProcessor#match}.
+     */
+    public static final String BULK_ENDPOINT = "direct:soapEmployees";
+
+    private static final Logger log = LoggerFactory.getLogger(SoapRequestCoalescer.class);
+
+    private final ProducerTemplate producerTemplate;
+    private final SoapCoalescingProperties properties;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService executor;
+    private final DistributionSummary batchSize;
+
+    private final Object lock = new Object();
+    // Batch still accepting lookups, guarded by lock
+    private Batch open;
+
+    public SoapRequestCoalescer(ProducerTemplate producerTemplate, CamelContext camelContext,
+                                SoapCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.producerTemplate = producerTemplate;
+        this.properties = properties;
+        this.timer = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "SoapCoalescerTimer");
+        // The bulk call blocks, and the waiting exchanges carry on with the rest of their route on this pool
+        this.executor = camelContext.getExecutorServiceManager().newCachedThreadPool(this, "SoapCoalescer");
+        this.batchSize = DistributionSummary.builder("person.soap.coalescing.batch.size")
+            .description("Distinct employee IDs per upstream SOAP call")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        String id = exchange.getIn().getBody(String.class);
+        try {
+            // Checked here, so one unusable ID cannot fail the lookups batched with it
+            SoapEnvelopeWriter.checkEmployeeId(id);
+        } catch (RuntimeException e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+        Batch full = null;
+        synchronized (lock) {
+            if (open == null) {
+                Batch batch = new Batch();
+                open = batch;
+                timer.schedule(() -> windowClosed(batch), properties.getWindow().toNanos(), TimeUnit.NANOSECONDS);
+            }
+            open.add(id, new Waiter(exchange, callback));
+            if (open.waiters.size() >= properties.getMaxBatchSize()) {
+                full = open;
+                open = null;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return false;
+    }
+
+    private void windowClosed(Batch batch) {
+        synchronized (lock) {
+            if (open != batch) {
+                // Already sent because it filled up
+                return;
+            }
+            open = null;
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        try {
+            executor.execute(() -> send(batch));
+        } catch (RuntimeException e) {
+            batch.failAll(e);
+        }
+    }
+
+    private void send(Batch batch) {
+        try {
+            List<String> ids = new ArrayList<>(batch.waiters.keySet());
+            batchSize.record(ids.size());
+            boolean bulk = ids.size() > 1;
+            byte[] envelope = bulk ? SoapEnvelopeWriter.employeesRequest(ids) : SoapEnvelopeWriter.employeeRequest(ids.get(0));
+            Exchange result = producerTemplate.send(BULK_ENDPOINT, request -> {
+                request.getIn().setBody(envelope);
+                request.getIn().setHeader("SOAPAction", bulk ? "getEmployees" : "getEmployee");
+            });
+            if (result.getException() != null) {
+                throw CamelExecutionException.wrapCamelExecutionException(result, result.getException());
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, String> employees = result.getMessage().getBody(Map.class);
+            SoapEmployeesResponseProcessor.Match match = bulk ? SoapEmployeesResponseProcessor.match(ids, employees) : null;
+            for (Map.Entry<String, List<Waiter>> entry : batch.waiters.entrySet()) {
+                // A single lookup keeps the former behaviour of taking whatever employee comes back
+                String json = bulk ? match.found().get(entry.getKey())
+                    : employees.isEmpty() ? null : employees.values().iterator().next();
+                RuntimeException missing = json != null ? null
+                    : bulk && match.ambiguous().contains(entry.getKey())
+                    ? new IllegalStateException("Employee " + entry.getKey()
+                        + " cannot be told apart from another requested ID in the SOAP response")
+                    : new IllegalStateException("No employee " + entry.getKey() + " in the SOAP response");
+                for (Waiter waiter : entry.getValue()) {
+                    waiter.complete(json, missing);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.debug("SOAP call for {} coalesced lookups failed", batch.waiters.size(), e);
+            batch.failAll(e);
+        }
+    }
+
+    /**
+     * Lookups waiting on the same upstream call, grouped by employee ID.
+     */
+    private static final class Batch {
+
+        private final Map<String, List<Waiter>> waiters = new LinkedHashMap<>();
+
+        void add(String id, Waiter waiter) {
+            waiters.computeIfAbsent(id, key -> new ArrayList<>(1)).add(waiter);
+        }
+
+        void failAll(RuntimeException error) {
+            for (List<Waiter> group : waiters.values()) {
+                for (Waiter waiter : group) {
+                    waiter.complete(null, error);
+                }
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+        private boolean done;
+
+        Waiter(Exchange exchange, AsyncCallback callback) {
+            this.exchange = exchange;
+            this.callback = callback;
+        }
+
+        /**
+         * Resumes the waiting exchange, once, with either the JSON or the error.
+         */
+        void complete(String json, RuntimeException error) {
+            if (done) {
+                return;
+            }
+            done = true;
+            if (error != null) {
+                exchange.setException(error);
+            } else {
+                exchange.getIn().setBody(json);
+                exchange.getIn().setHeader("Content-Type", "application/json");
+            }
+            callback.done(false);
+        }
+    }
+}
@@ -14,22 +14,8 @@ public class SoapRequestProcessor implements Processor {
     public void process(Exchange exchange) throws Exception {
         String personId = exchange.getIn().getBody(String.class);
         
-        // Create SOAP request XML
-        String soapRequest = String.format("""
-            <?xml version="1.0" encoding="UTF-8"?>
-            <soap:Envelope 
-                xmlns:soap="http://www.w3.org/2003/05/soap-envelope"
-                xmlns:per="http://example.com/person">
-                <soap:Header/>
-                <soap:Body>
-                    <per:GetEmployeeRequest>
-                        <per:employeeId>%s</per:employeeId>
-                    </per:GetEmployeeRequest>
-                </soap:Body>
-            </soap:Envelope>
-            """, personId);
-        
-        exchange.getIn().setBody(soapRequest);
+        // The envelope is handed to the HTTP producer as bytes, with the ID escaped
+        exchange.getIn().setBody(SoapEnvelopeWriter.employeeRequest(personId));
         exchange.getIn().setHeader("Content-Type", "application/soap+xml; charset=utf-8");
     }
 }
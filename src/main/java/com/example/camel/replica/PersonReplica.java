@@ -0,0 +1,386 @@
+package com.example.camel.replica;
+
+import com.example.camel.processor.SoapCoalescingProperties;
+import com.example.camel.processor.SoapEmployeesResponseProcessor;
+import com.example.camel.processor.SoapEnvelopeWriter;
+import com.example.camel.processor.SoapRequestCoalescer;
+import com.example.camel.service.PersonApiType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.StartupListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local replica of the projected JSON and SOAP lookups, kept in a {@link ReplicaStore} under
+ * {@code person.replica.directory}. When enabled, the built-in routes start with {@link #reader} and only call
+ * the upstream when it misses, storing the projected answer with {@link #writer}; the replica is therefore
+ * filled by the lookups themselves, and readable right after a restart. Those writes are queued to the sync
+ * thread, so a miss does not wait for the store.
+ * <p>
+ * A sync job, run every {@code sync-interval}, keeps it current: each run loads up to {@code batch-size} IDs of
+ * {@code person.replica.ids} not yet replicated, then refetches the records older than {@code refresh-after},
+ * oldest first. Seeded ranges are walked with a cursor each, so a run carries on where the previous one stopped.
+ * JSON records are fetched one by one through the JSON route; SOAP records likewise when coalescing is disabled,
+ * since the upstream may not answer bulk requests, and in bulk calls of {@code person.soap.coalescing.max-batch-size}
+ * IDs otherwise. A record that cannot be fetched keeps being served and is retried after {@code refresh-after};
+ * a seeded ID that cannot be fetched is likewise skipped until then. Failures are logged at WARN once per run.
+ * Published metrics:
+ * <ul>
+ *   <li>{@code person.replica.lookups}: lookups answered ({@code result=hit}) or not ({@code miss}), by {@code type}</li>
+ *   <li>{@code person.replica.sync}: records fetched by the sync job, by {@code type} and {@code outcome}</li>
+ *   <li>{@code person.replica.records} and {@code person.replica.bytes}: size of the replica</li>
+ * </ul>
+ */
+@Component
+public class PersonReplica {
+
+    private static final Logger log = LoggerFactory.getLogger(PersonReplica.class);
+
+    /** Exchange property set when the replica answered the lookup. */
+    public static final String HIT = "personReplicaHit";
+    /** Exchange property making the route skip the replica and call the upstream. */
+    public static final String BYPASS = "personReplicaBypass";
+    private static final String ID = "personReplicaId";
+    // Writes of lookups waiting for the sync thread; past this, a lookup is just not replicated
+    private static final int MAX_QUEUED_WRITES = 10_000;
+
+    private final ReplicaProperties properties;
+    private final SoapCoalescingProperties coalescingProperties;
+    private final ProducerTemplate producerTemplate;
+    private final MeterRegistry meterRegistry;
+    private final CamelContext camelContext;
+    private final ReplicaStore store;
+    private final ScheduledExecutorService syncer;
+    private final AtomicInteger queuedWrites = new AtomicInteger();
+    // Seeded ranges as {first, last}
+    private final List<long[]> seeds;
+    // Next ID to load of each seeded range, per API; guarded by this, like the retries
+    private final Map<String, long[]> cursors = new HashMap<>();
+    // Seeded keys never fetched, with the time they can be tried again
+    private final Map<String, Long> retries = new LinkedHashMap<>();
+
+    public PersonReplica(ReplicaProperties properties, SoapCoalescingProperties coalescingProperties,
+                         ProducerTemplate producerTemplate, CamelContext camelContext,
+                         MeterRegistry meterRegistry) throws Exception {
+        this.properties = properties;
+        this.coalescingProperties = coalescingProperties;
+        this.producerTemplate = producerTemplate;
+        this.meterRegistry = meterRegistry;
+        this.camelContext = camelContext;
+        this.seeds = parseSeeds(properties.getIds());
+        if (!properties.isEnabled()) {
+            this.store = null;
+            this.syncer = null;
+            return;
+        }
+        this.store = ReplicaStore.open(Path.of(properties.getDirectory()), properties.getMaxRecords(),
+            properties.getMaxBytes());
+        log.info("Person replica opened in {} with {} records", properties.getDirectory(), store.size());
+        Gauge.builder("person.replica.records", store, ReplicaStore::size)
+            .description("Records held by the local replica")
+            .register(meterRegistry);
+        Gauge.builder("person.replica.bytes", store, ReplicaStore::usedBytes)
+            .description("Bytes of the replica data file in use")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+
+        this.syncer = camelContext.getExecutorServiceManager()
+            .newSingleThreadScheduledExecutor(this, "PersonReplicaSync");
+        if (!properties.getSyncInterval().isZero()) {
+            // The job calls the routes, so it starts with them
+            camelContext.addStartupListener(new StartupListener() {
+                @Override
+                public void onCamelContextStarted(CamelContext context, boolean alreadyStarted) {
+                }
+
+                @Override
+                public void onCamelContextFullyStarted(CamelContext context, boolean alreadyStarted) {
+                    syncer.scheduleWithFixedDelay(PersonReplica.this::syncQuietly, 0,
+                        properties.getSyncInterval().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            });
+        }
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    /**
+     * First step of a replicated route, whose body is the looked up ID: answers from the replica when it holds
+     * the ID, setting {@link #HIT}, unless the exchange has {@link #BYPASS}.
+     */
+    public Processor reader(PersonApiType type) {
+        Counter hits = lookupCounter(type, "hit");
+        Counter misses = lookupCounter(type, "miss");
+        return exchange -> {
+            String id = exchange.getIn().getBody(String.class);
+            exchange.setProperty(ID, id);
+            if (id == null || exchange.getProperty(BYPASS) != null) {
+                return;
+            }
+            String value = store.get(key(type, id));
+            if (value != null) {
+                exchange.getIn().setBody(value);
+                exchange.setProperty(HIT, true);
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+        };
+    }
+
+    /**
+     * Last step of the upstream branch of a replicated route: stores the projected answer, on the sync thread
+     * for a lookup and right away for the sync job.
+     */
+    public Processor writer(PersonApiType type) {
+        return exchange -> {
+            String id = exchange.getProperty(ID, String.class);
+            String value = exchange.getIn().getBody(String.class);
+            if (id == null || value == null) {
+                return;
+            }
+            String key = key(type, id);
+            if (exchange.getProperty(BYPASS) != null) {
+                store(key, value);
+            } else if (queuedWrites.incrementAndGet() > MAX_QUEUED_WRITES) {
+                queuedWrites.decrementAndGet();
+                log.debug("Person replica write queue is full, {} not stored", key);
+            } else {
+                syncer.execute(() -> {
+                    queuedWrites.decrementAndGet();
+                    store(key, value);
+                });
+            }
+        };
+    }
+
+    /**
+     * Waits until the writes queued so far are stored.
+     */
+    public void flush() throws InterruptedException, ExecutionException {
+        if (syncer != null) {
+            syncer.submit(() -> { }).get();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (store != null) {
+            // Lets the queued writes land first
+            camelContext.getExecutorServiceManager().shutdownGraceful(syncer);
+            store.close();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("Person replica sync failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs one pass of the sync job.
+     */
+    public synchronized void sync() {
+        if (store == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long before = now - properties.getRefreshAfter().toMillis();
+        int failed = 0;
+        List<String> jsonIds = due(PersonApiType.JSON, now, before);
+        for (String id : jsonIds) {
+            failed += synced(PersonApiType.JSON, id, fetch(PersonApiType.JSON, id), now);
+        }
+        List<String> soapIds = due(PersonApiType.SOAP, now, before);
+        if (coalescingProperties.isEnabled()) {
+            int chunkSize = Math.max(1, coalescingProperties.getMaxBatchSize());
+            for (int from = 0; from < soapIds.size(); from += chunkSize) {
+                failed += syncSoap(soapIds.subList(from, Math.min(soapIds.size(), from + chunkSize)), now);
+            }
+        } else {
+            for (String id : soapIds) {
+                failed += synced(PersonApiType.SOAP, id, fetch(PersonApiType.SOAP, id), now);
+            }
+        }
+        store.force();
+        if (failed > 0) {
+            log.warn("Person replica sync could not fetch {} of {} records, retried after {}", failed,
+                jsonIds.size() + soapIds.size(), properties.getRefreshAfter());
+        } else if (!jsonIds.isEmpty() || !soapIds.isEmpty()) {
+            log.debug("Person replica synced {} JSON and {} SOAP records", jsonIds.size(), soapIds.size());
+        }
+    }
+
+    /**
+     * Fetches one record through its route, whose writer stores it.
+     */
+    private boolean fetch(PersonApiType type, String id) {
+        Exchange result = producerTemplate.send(type.getEndpointUri(), exchange -> {
+            exchange.getIn().setBody(id);
+            exchange.getIn().setHeader("personId", id);
+            exchange.getIn().setHeader("type", type.getParameter());
+            exchange.setProperty(BYPASS, true);
+        });
+        return result.getException() == null;
+    }
+
+    private int syncSoap(List<String> ids, long now) {
+        boolean bulk = ids.size() > 1;
+        byte[] envelope = bulk ? SoapEnvelopeWriter.employeesRequest(ids) : SoapEnvelopeWriter.employeeRequest(ids.get(0));
+        Exchange result = producerTemplate.send(SoapRequestCoalescer.BULK_ENDPOINT, request -> {
+            request.getIn().setBody(envelope);
+            request.getIn().setHeader("SOAPAction", bulk ? "getEmployees" : "getEmployee");
+        });
+        @SuppressWarnings("unchecked")
+        Map<String, String> employees = result.getException() == null ? result.getMessage().getBody(Map.class) : Map.of();
+        Map<String, String> found = bulk ? SoapEmployeesResponseProcessor.match(ids, employees).found() : Map.of();
+        int failed = 0;
+        for (String id : ids) {
+            // Like the coalescer, a single lookup takes whatever employee comes back
+            String json = bulk ? found.get(id) : employees.isEmpty() ? null : employees.values().iterator().next();
+            if (json != null) {
+                store(key(PersonApiType.SOAP, id), json);
+            }
+            failed += synced(PersonApiType.SOAP, id, json != null, now);
+        }
+        return failed;
+    }
+
+    /**
+     * IDs the sync job fetches for an API: seeded IDs not replicated yet, those that failed first once their
+     * retry time has come, then the records synced before {@code before}.
+     */
+    private List<String> due(PersonApiType type, long now, long before) {
+        int limit = properties.getBatchSize();
+        List<String> due = new ArrayList<>();
+        String prefix = key(type, "");
+        for (Iterator<Map.Entry<String, Long>> it = retries.entrySet().iterator(); it.hasNext() && due.size() < limit; ) {
+            Map.Entry<String, Long> retry = it.next();
+            if (!retry.getKey().startsWith(prefix)) {
+                continue;
+            }
+            if (store.syncedAt(retry.getKey()) >= 0) {
+                // Stored by a lookup meanwhile
+                it.remove();
+            } else if (retry.getValue() <= now) {
+                it.remove();
+                due.add(retry.getKey().substring(prefix.length()));
+            }
+        }
+        long[] next = cursors.computeIfAbsent(type.getParameter(), parameter -> {
+            long[] firsts = new long[seeds.size()];
+            for (int i = 0; i < firsts.length; i++) {
+                firsts[i] = seeds.get(i)[0];
+            }
+            return firsts;
+        });
+        for (int i = 0; i < seeds.size() && due.size() < limit; i++) {
+            long last = seeds.get(i)[1];
+            while (next[i] <= last && due.size() < limit) {
+                String id = Long.toString(next[i]++);
+                String key = prefix + id;
+                if (store.syncedAt(key) < 0 && !retries.containsKey(key)) {
+                    due.add(id);
+                }
+            }
+        }
+        for (String key : store.staleKeys(prefix, before, limit - due.size())) {
+            due.add(key.substring(prefix.length()));
+        }
+        return due;
+    }
+
+    /**
+     * Records the outcome of fetching a record.
+     *
+     * @return 1 when it failed, 0 otherwise
+     */
+    private int synced(PersonApiType type, String id, boolean updated, long now) {
+        Counter.builder("person.replica.sync")
+            .description("Records fetched by the replica sync job")
+            .tag("type", type.getParameter())
+            .tag("outcome", updated ? "updated" : "failed")
+            .register(meterRegistry)
+            .increment();
+        if (updated) {
+            return 0;
+        }
+        String key = key(type, id);
+        // A stored record is served as is until retried after refresh-after; a seeded one waits as long
+        if (!store.touch(key, now)) {
+            retries.put(key, now + properties.getRefreshAfter().toMillis());
+        }
+        log.debug("Person replica could not fetch {}", key);
+        return 1;
+    }
+
+    private void store(String key, String value) {
+        try {
+            if (!store.put(key, value, System.currentTimeMillis())) {
+                log.debug("Person replica is full, {} not stored", key);
+            }
+        } catch (IOException e) {
+            // The lookup itself succeeded, it is just not replicated
+            log.warn("Person replica could not store {}: {}", key, e.getMessage());
+        }
+    }
+
+    private Counter lookupCounter(PersonApiType type, String result) {
+        return Counter.builder("person.replica.lookups")
+            .description("Lookups of the replicated routes, answered by the replica or not")
+            .tag("type", type.getParameter())
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reads {@code person.replica.ids}, failing on entries that are neither an ID nor a range of IDs.
+     */
+    private static List<long[]> parseSeeds(List<String> ids) {
+        List<long[]> seeds = new ArrayList<>(ids.size());
+        for (String entry : ids) {
+            int dash = entry.indexOf('-', 1);
+            try {
+                long first = Long.parseLong(entry.substring(0, dash < 0 ? entry.length() : dash).trim());
+                long last = dash < 0 ? first : Long.parseLong(entry.substring(dash + 1).trim());
+                if (first > last || last == Long.MAX_VALUE) {
+                    throw new IllegalArgumentException("Invalid person.replica.ids range: " + entry);
+                }
+                seeds.add(new long[] {first, last});
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid person.replica.ids entry: " + entry, e);
+            }
+        }
+        return seeds;
+    }
+
+    private static String key(PersonApiType type, String id) {
+        return type.getParameter() + ":" + id;
+    }
+}
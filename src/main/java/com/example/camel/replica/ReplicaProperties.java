@@ -0,0 +1,104 @@
+package com.example.camel.replica;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the local replica of projected lookups, bound from {@code person.replica}.
+ */
+@Component
+@ConfigurationProperties(prefix = "person.replica")
+public class ReplicaProperties {
+
+    /** Whether the JSON and SOAP routes answer from the replica, calling the upstream only on a miss. */
+    private boolean enabled = false;
+
+    /** Directory of the replica files, kept across restarts. */
+    private String directory = "data/replica";
+
+    /** Number of records the replica can hold, across both APIs. */
+    private int maxRecords = 100_000;
+
+    /** Size of the data file; superseded records are dropped when it fills up. */
+    private long maxBytes = 256L * 1024 * 1024;
+
+    /** How often the sync job runs; no sync when zero. */
+    private Duration syncInterval = Duration.ofMinutes(1);
+
+    /** Age after which a record is fetched again by the sync job, still being served meanwhile. */
+    private Duration refreshAfter = Duration.ofMinutes(10);
+
+    /** Records fetched per API and per sync run. */
+    private int batchSize = 500;
+
+    /** IDs the sync job loads ahead of any lookup, as single IDs or ranges (e.g. {@code 1-1000}). */
+    private List<String> ids = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getMaxRecords() {
+        return maxRecords;
+    }
+
+    public void setMaxRecords(int maxRecords) {
+        this.maxRecords = maxRecords;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public Duration getSyncInterval() {
+        return syncInterval;
+    }
+
+    public void setSyncInterval(Duration syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    public Duration getRefreshAfter() {
+        return refreshAfter;
+    }
+
+    public void setRefreshAfter(Duration refreshAfter) {
+        this.refreshAfter = refreshAfter;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,432 @@
+package com.example.camel.replica;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Key to JSON store held in two memory-mapped files, so its size does not weigh on the heap and it is
+ * readable as soon as it is opened after a restart:
+ * <ul>
+ *   <li>{@code replica.dat}: append-only records {@code [key length][value length][synced at][key][value]};
+ *   apart from its synced at time, a record is never changed once written, an update appends a new one</li>
+ *   <li>{@code replica.idx}: open-addressing hash table of {@code [key hash][record offset]} slots</li>
+ * </ul>
+ * Reads take no lock: a writer fills a record before publishing its offset, and the offset of a new slot
+ * before its hash, with release stores read back with acquire loads. Writes are serialized. When the data
+ * file is full and superseded records take up at least an eighth of it, the live records are copied into new
+ * files that replace the old ones; both carry a generation number, so a pair left inconsistent by a crash is
+ * detected and the store starts empty. Otherwise, as when all keys are taken, writes are rejected.
+ */
+public final class ReplicaStore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaStore.class);
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final int MAGIC = 0x52504c31;
+    private static final int HEADER = 64;
+    // Header fields: magic (int) at 0, generation at 8, then write position (data) or slot count (index) at 16
+    private static final int GENERATION = 8;
+    private static final int POSITION = 16;
+    private static final int COUNT = 16;
+    private static final int CAPACITY = 24;
+    private static final int SLOT = 16;
+    private static final int RECORD_HEADER = 16;
+    // Compaction must free at least this fraction of the data file, so a file of live records is not copied on every write
+    private static final int MIN_RECLAIMED_FRACTION = 8;
+
+    private final Path directory;
+    private final int maxRecords;
+    private final long maxBytes;
+    private volatile Segment segment;
+    // Bytes of the records the index points to, guarded by this
+    private long liveBytes;
+
+    private ReplicaStore(Path directory, int maxRecords, long maxBytes, Segment segment) {
+        this.directory = directory;
+        this.maxRecords = maxRecords;
+        this.maxBytes = maxBytes;
+        this.segment = segment;
+        this.liveBytes = segment.liveBytes();
+    }
+
+    /**
+     * Opens the store in {@code directory}, creating it, or starting it empty when its files are missing, from
+     * another layout or inconsistent.
+     *
+     * @param maxRecords keys the index can hold
+     * @param maxBytes   size of the data file, records included; at most 2 GB
+     */
+    public static ReplicaStore open(Path directory, int maxRecords, long maxBytes) throws IOException {
+        if (maxRecords < 1 || maxBytes <= HEADER || maxBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid replica size: " + maxRecords + " records, " + maxBytes + " bytes");
+        }
+        Files.createDirectories(directory);
+        int slots = Integer.highestOneBit(Math.max(2, maxRecords * 2 - 1)) << 1;
+        Segment segment = Segment.map(directory.resolve("replica.dat"), directory.resolve("replica.idx"), maxBytes, slots);
+        if (!segment.isValid()) {
+            if (segment.data.getInt(0) == MAGIC) {
+                log.warn("Replica in {} does not match its settings or was left inconsistent, starting empty", directory);
+            }
+            segment.format(1);
+        }
+        return new ReplicaStore(directory, maxRecords, maxBytes, segment);
+    }
+
+    /**
+     * @return the value stored for {@code key}, or {@code null}
+     */
+    public String get(String key) {
+        Segment current = segment;
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int slot = current.find(keyBytes, hash(keyBytes));
+        if (slot < 0 || (long) LONGS.getAcquire(current.index, slot) == 0) {
+            return null;
+        }
+        int offset = (int) (long) LONGS.getAcquire(current.index, slot + 8);
+        int keyLength = current.data.getInt(offset);
+        byte[] value = new byte[current.data.getInt(offset + 4)];
+        current.data.get(offset + RECORD_HEADER + keyLength, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Time the value of {@code key} was stored, or {@code -1} when it is absent.
+     */
+    public long syncedAt(String key) {
+        Segment current = segment;
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int slot = current.find(keyBytes, hash(keyBytes));
+        if (slot < 0 || (long) LONGS.getAcquire(current.index, slot) == 0) {
+            return -1;
+        }
+        return current.data.getLong((int) (long) LONGS.getAcquire(current.index, slot + 8) + 8);
+    }
+
+    /**
+     * Stores {@code value} for {@code key}, replacing the previous one.
+     *
+     * @return {@code false} when the store is full and compaction would not free enough of it, and the value
+     * was not stored
+     */
+    public synchronized boolean put(String key, String value, long syncedAt) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(keyBytes);
+        int length = RECORD_HEADER + keyBytes.length + valueBytes.length;
+        if (length > maxBytes - HEADER) {
+            return false;
+        }
+        Segment current = segment;
+        int slot = current.find(keyBytes, hash);
+        boolean added = slot < 0 || (long) LONGS.getAcquire(current.index, slot) == 0;
+        if (added && current.count() >= maxRecords) {
+            // Records are never removed: compaction cannot make room for a new key
+            return false;
+        }
+        int superseded = added ? 0 : current.recordLength((int) (long) LONGS.getAcquire(current.index, slot + 8));
+        if (current.position() + length > current.data.capacity()) {
+            long reclaimable = current.position() - HEADER - liveBytes;
+            if (HEADER + liveBytes + length > current.data.capacity()
+                    || reclaimable < (maxBytes - HEADER) / MIN_RECLAIMED_FRACTION) {
+                return false;
+            }
+            current = compact();
+            slot = current.find(keyBytes, hash);
+        }
+        current.append(keyBytes, valueBytes, hash, syncedAt, slot);
+        liveBytes += length - superseded;
+        return true;
+    }
+
+    /**
+     * Sets the synced at time of the value stored for {@code key}, without writing it again.
+     *
+     * @return {@code false} when {@code key} is absent
+     */
+    public synchronized boolean touch(String key, long syncedAt) {
+        Segment current = segment;
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int slot = current.find(keyBytes, hash(keyBytes));
+        if (slot < 0 || (long) LONGS.getAcquire(current.index, slot) == 0) {
+            return false;
+        }
+        current.data.putLong((int) (long) LONGS.getAcquire(current.index, slot + 8) + 8, syncedAt);
+        return true;
+    }
+
+    /**
+     * Keys starting with {@code prefix} stored before {@code before}, oldest first, at most {@code limit} of them.
+     */
+    public List<String> staleKeys(String prefix, long before, int limit) {
+        Segment current = segment;
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        // The newest of the oldest found so far on top, so the scan holds no more than limit entries
+        PriorityQueue<long[]> oldest = new PriorityQueue<>(Math.max(1, limit), (a, b) -> Long.compare(b[0], a[0]));
+        for (int slot = HEADER; slot < current.index.capacity() && limit > 0; slot += SLOT) {
+            if ((long) LONGS.getAcquire(current.index, slot) == 0) {
+                continue;
+            }
+            int offset = (int) (long) LONGS.getAcquire(current.index, slot + 8);
+            long syncedAt = current.data.getLong(offset + 8);
+            if (syncedAt < before && current.startsWith(offset, prefixBytes)
+                    && (oldest.size() < limit || syncedAt < oldest.peek()[0])) {
+                if (oldest.size() == limit) {
+                    oldest.poll();
+                }
+                oldest.add(new long[] {syncedAt, offset});
+            }
+        }
+        String[] keys = new String[oldest.size()];
+        for (int i = keys.length - 1; i >= 0; i--) {
+            keys[i] = current.key((int) oldest.poll()[1]);
+        }
+        return List.of(keys);
+    }
+
+    public int size() {
+        return (int) segment.count();
+    }
+
+    /**
+     * Bytes of the data file in use, superseded records included until the next compaction.
+     */
+    public long usedBytes() {
+        return segment.position();
+    }
+
+    /**
+     * Bytes of the data file held by the current records, which compaction keeps.
+     */
+    synchronized long liveBytes() {
+        return HEADER + liveBytes;
+    }
+
+    /**
+     * Number of the current data and index files, increased by each compaction.
+     */
+    long generation() {
+        return segment.generation();
+    }
+
+    /**
+     * Writes the changes to disk.
+     */
+    public void force() {
+        Segment current = segment;
+        current.data.force();
+        current.index.force();
+    }
+
+    @Override
+    public void close() {
+        force();
+    }
+
+    /**
+     * Copies the live records into new files and switches to them. Readers still on the old mapping keep
+     * reading it until they are done.
+     */
+    private Segment compact() throws IOException {
+        Segment old = segment;
+        Path data = directory.resolve("replica.dat");
+        Path index = directory.resolve("replica.idx");
+        Path dataCopy = directory.resolve("replica.dat.compact");
+        Path indexCopy = directory.resolve("replica.idx.compact");
+        Files.deleteIfExists(dataCopy);
+        Files.deleteIfExists(indexCopy);
+        Segment compacted = Segment.map(dataCopy, indexCopy, maxBytes, old.index.capacity() / SLOT - HEADER / SLOT);
+        compacted.format(old.generation() + 1);
+        for (int slot = HEADER; slot < old.index.capacity(); slot += SLOT) {
+            long hash = (long) LONGS.getAcquire(old.index, slot);
+            if (hash != 0) {
+                int offset = (int) (long) LONGS.getAcquire(old.index, slot + 8);
+                byte[] key = new byte[old.data.getInt(offset)];
+                byte[] value = new byte[old.data.getInt(offset + 4)];
+                old.data.get(offset + RECORD_HEADER, key);
+                old.data.get(offset + RECORD_HEADER + key.length, value);
+                compacted.append(key, value, hash, old.data.getLong(offset + 8), compacted.find(key, hash));
+            }
+        }
+        compacted.data.force();
+        compacted.index.force();
+        Files.move(dataCopy, data, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(indexCopy, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        segment = compacted;
+        log.info("Replica compacted: {} records, {} of {} bytes in use", compacted.count(), compacted.position(), maxBytes);
+        return compacted;
+    }
+
+    /**
+     * 64-bit FNV-1a of the key, never 0, which marks an empty slot.
+     */
+    static long hash(byte[] key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * A data file and its index, mapped.
+     */
+    private static final class Segment {
+
+        final MappedByteBuffer data;
+        final MappedByteBuffer index;
+        final int mask;
+
+        private Segment(MappedByteBuffer data, MappedByteBuffer index, int slots) {
+            this.data = data;
+            this.index = index;
+            this.mask = slots - 1;
+        }
+
+        static Segment map(Path dataFile, Path indexFile, long dataBytes, int slots) throws IOException {
+            return new Segment(map(dataFile, dataBytes), map(indexFile, HEADER + (long) slots * SLOT), slots);
+        }
+
+        private static MappedByteBuffer map(Path file, long size) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.order(ByteOrder.nativeOrder());
+                return buffer;
+            }
+        }
+
+        boolean isValid() {
+            long position = position();
+            return data.getInt(0) == MAGIC && index.getInt(0) == MAGIC
+                && data.getLong(GENERATION) == index.getLong(GENERATION)
+                && index.getLong(CAPACITY) == mask + 1
+                && position >= HEADER && position <= data.capacity();
+        }
+
+        void format(long generation) {
+            for (int offset = HEADER; offset < index.capacity(); offset += 8) {
+                index.putLong(offset, 0);
+            }
+            data.putLong(GENERATION, generation);
+            LONGS.setRelease(data, POSITION, (long) HEADER);
+            index.putLong(GENERATION, generation);
+            index.putLong(CAPACITY, mask + 1);
+            LONGS.setRelease(index, COUNT, 0L);
+            data.putInt(0, MAGIC);
+            index.putInt(0, MAGIC);
+        }
+
+        long generation() {
+            return data.getLong(GENERATION);
+        }
+
+        long position() {
+            return (long) LONGS.getAcquire(data, POSITION);
+        }
+
+        long count() {
+            return (long) LONGS.getAcquire(index, COUNT);
+        }
+
+        int recordLength(int offset) {
+            return RECORD_HEADER + data.getInt(offset) + data.getInt(offset + 4);
+        }
+
+        /**
+         * Bytes of the records the index points to.
+         */
+        long liveBytes() {
+            long bytes = 0;
+            for (int slot = HEADER; slot < index.capacity(); slot += SLOT) {
+                if ((long) LONGS.getAcquire(index, slot) != 0) {
+                    bytes += recordLength((int) (long) LONGS.getAcquire(index, slot + 8));
+                }
+            }
+            return bytes;
+        }
+
+        /**
+         * Slot holding {@code key}, or the empty slot where it belongs; {@code -1} when the table is full.
+         */
+        int find(byte[] key, long hash) {
+            int start = (int) (hash ^ (hash >>> 32)) & mask;
+            for (int probe = 0; probe <= mask; probe++) {
+                int slot = HEADER + ((start + probe) & mask) * SLOT;
+                long slotHash = (long) LONGS.getAcquire(index, slot);
+                if (slotHash == 0) {
+                    return slot;
+                }
+                if (slotHash == hash && keyEquals((int) (long) LONGS.getAcquire(index, slot + 8), key)) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Writes a record, then points the slot at it; the caller checked there is room.
+         */
+        void append(byte[] key, byte[] value, long hash, long syncedAt, int slot) {
+            int offset = (int) position();
+            data.putInt(offset, key.length);
+            data.putInt(offset + 4, value.length);
+            data.putLong(offset + 8, syncedAt);
+            data.put(offset + RECORD_HEADER, key);
+            data.put(offset + RECORD_HEADER + key.length, value);
+            LONGS.setRelease(data, POSITION, (long) offset + RECORD_HEADER + key.length + value.length);
+            if ((long) LONGS.getAcquire(index, slot) != 0) {
+                LONGS.setRelease(index, slot + 8, (long) offset);
+            } else {
+                LONGS.setRelease(index, slot + 8, (long) offset);
+                LONGS.setRelease(index, slot, hash);
+                LONGS.setRelease(index, COUNT, count() + 1);
+            }
+        }
+
+        private boolean keyEquals(int offset, byte[] key) {
+            if (data.getInt(offset) != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (data.get(offset + RECORD_HEADER + i) != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean startsWith(int offset, byte[] prefix) {
+            if (data.getInt(offset) < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if (data.get(offset + RECORD_HEADER + i) != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String key(int offset) {
+            byte[] key = new byte[data.getInt(offset)];
+            data.get(offset + RECORD_HEADER, key);
+            return new String(key, StandardCharsets.UTF_8);
+        }
+    }
+}
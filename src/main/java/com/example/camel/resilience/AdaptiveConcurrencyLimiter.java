@@ -0,0 +1,91 @@
+package com.example.camel.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit adjusted from the measured latency (AIMD): every call completing in time while the
+ * limit is at least half used raises it by one, and every call failing or slower than the latency
+ * threshold multiplies it by the backoff ratio. Calls beyond the limit are refused at once, so a slowing
+ * upstream sheds load before threads and connections pile up behind it.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    // Written under the monitor, read without it
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos,
+                                      double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid limit bounds: " + minLimit + ".." + maxLimit);
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1: " + backoffRatio);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot for one call.
+     *
+     * @return {@code false} when the limit is reached and the call must be refused
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Frees the slot of a call that reached the upstream, adjusting the limit from its outcome.
+     *
+     * @param latencyNanos time the call took
+     * @param dropped whether the call failed in a way that points at an overloaded upstream
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int used = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (dropped || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(minLimit, (int) (limit * backoffRatio));
+            } else if (used * 2 >= limit) {
+                // Only grow while the limit is actually in use, or an idle period would inflate it
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a call that tells nothing about the upstream, such as one refused by the breaker.
+     */
+    public void abandon() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
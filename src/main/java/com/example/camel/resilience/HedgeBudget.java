@@ -0,0 +1,64 @@
+package com.example.camel.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket bounding hedged calls to a share of all calls: every call deposits {@code ratio} of a
+ * token and every hedge spends a whole one. The balance is capped, so a quiet period only saves up a
+ * short burst of hedges instead of allowing a storm of them when the upstream slows down.
+ */
+public final class HedgeBudget {
+
+    // Tokens are counted in thousandths so the balance can stay a single atomic long
+    private static final long TOKEN = 1000;
+    private static final long MAX_BALANCE = 10 * TOKEN;
+
+    private final long deposit;
+    private final AtomicLong balance = new AtomicLong();
+
+    public HedgeBudget(double ratio) {
+        if (ratio < 0 || ratio > 1) {
+            throw new IllegalArgumentException("Hedging budget must be between 0 and 1: " + ratio);
+        }
+        this.deposit = Math.round(ratio * TOKEN);
+    }
+
+    /**
+     * Credits the budget for one call.
+     */
+    public void deposit() {
+        if (deposit == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = balance.get();
+            if (current >= MAX_BALANCE) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(MAX_BALANCE, current + deposit)));
+    }
+
+    /**
+     * Spends one hedge.
+     *
+     * @return {@code false} when the budget is exhausted and the call must not be hedged
+     */
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    /**
+     * Gives back a hedge withdrawn but not sent, even past the cap it was taken under.
+     */
+    public void refund() {
+        balance.addAndGet(TOKEN);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.camel.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Most recent latencies of an upstream, in a ring buffer, and a percentile of them. Recording is a single
+ * array write; the percentile is recomputed by sorting a copy at most once a second, by whichever caller
+ * finds it stale, and read from a volatile field in between.
+ */
+public final class LatencyWindow {
+
+    private static final long REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicBoolean computing = new AtomicBoolean();
+    private volatile long percentileNanos = -1;
+    private volatile long computedAt;
+
+    public LatencyWindow(int size, double percentile, int minSamples) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Latency window needs at least one sample: " + size);
+        }
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("Percentile must be in (0, 1]: " + percentile);
+        }
+        this.samples = new long[size];
+        this.percentile = percentile;
+        this.minSamples = Math.max(1, Math.min(size, minSamples));
+    }
+
+    public void record(long latencyNanos) {
+        long index = recorded.getAndIncrement();
+        samples[(int) (index % samples.length)] = latencyNanos;
+    }
+
+    /**
+     * @return the percentile of the recent latencies, or {@code -1} until enough of them were recorded
+     */
+    public long percentileNanos() {
+        long cached = percentileNanos;
+        long now = System.nanoTime();
+        if (cached >= 0 && now - computedAt < REFRESH_NANOS) {
+            return cached;
+        }
+        long count = recorded.get();
+        if (count < minSamples || !computing.compareAndSet(false, true)) {
+            return cached;
+        }
+        try {
+            int filled = (int) Math.min(count, samples.length);
+            long[] sorted = Arrays.copyOf(samples, filled);
+            Arrays.sort(sorted);
+            cached = sorted[Math.min(filled - 1, (int) Math.ceil(percentile * filled) - 1)];
+            percentileNanos = cached;
+            computedAt = now;
+            return cached;
+        } finally {
+            computing.set(false);
+        }
+    }
+
+    public long getRecorded() {
+        return recorded.get();
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.camel.resilience;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator health contribution {@code upstreams}: breaker, bulkhead and limiter state of each guarded route.
+ * An open breaker is reported in the details but keeps the application UP, since lookups keep being
+ * answered (with 503) and restarting the application would not bring the upstream back.
+ */
+@Component("upstreams")
+public class UpstreamHealthIndicator implements HealthIndicator {
+
+    private final UpstreamResilience upstreamResilience;
+
+    public UpstreamHealthIndicator(UpstreamResilience upstreamResilience) {
+        this.upstreamResilience = upstreamResilience;
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Map<String, Object>> states = upstreamResilience.states();
+        return Health.up().withDetails(states).build();
+    }
+}
@@ -0,0 +1,316 @@
+package com.example.camel.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Processor;
+import org.apache.camel.model.ToDefinition;
+import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.ExchangeHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request hedging of the upstream calls, as an {@link InterceptStrategy} wrapping the {@code to} steps
+ * whose id is {@link #callId}. When {@code person.resilience.hedging} is enabled, the call runs on a pool
+ * thread and, if it has not answered once the configured percentile of the recent latencies has passed,
+ * an identical call is raced against it. The first successful answer is used and the other call is
+ * cancelled; its response, should it still arrive, is discarded. A {@link HedgeBudget} bounds the share of
+ * hedged calls. Per route, the hedging state is reported by {@link #state} and published as:
+ * <ul>
+ *   <li>{@code person.upstream.hedge.calls}: calls eligible for hedging, tagged by {@code route}</li>
+ *   <li>{@code person.upstream.hedge.delay}: current hedging delay, tagged by {@code route}</li>
+ *   <li>{@code person.upstream.hedged}: hedged calls, tagged by {@code route}</li>
+ *   <li>{@code person.upstream.hedge.wins}: hedged calls answered first by the hedge, tagged by {@code route}</li>
+ *   <li>{@code person.upstream.hedge.win.rate}: share of the hedged calls won by the hedge</li>
+ *   <li>{@code person.upstream.hedge.denied}: hedges not sent because the budget was spent</li>
+ * </ul>
+ * Only idempotent, read-only calls may be marked for hedging.
+ */
+@Component
+public class UpstreamHedging implements InterceptStrategy {
+
+    private static final String CALL_SUFFIX = "-upstream-call";
+
+    private final UpstreamResilienceProperties.Hedging properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Hedger> hedgers = new ConcurrentHashMap<>();
+    // Created with the first hedged step, from the context building the routes
+    private volatile ScheduledExecutorService timer;
+    private volatile ExecutorService executor;
+
+    // The CamelContext is not injected: Camel collects intercept strategies while it is being created
+    public UpstreamHedging(UpstreamResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getHedging();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Id to give the {@code to} step calling the upstream of a route, so it gets hedged when enabled.
+     */
+    public static String callId(String routeId) {
+        return routeId + CALL_SUFFIX;
+    }
+
+    @Override
+    public Processor wrapProcessorInInterceptors(CamelContext context, NamedNode definition, Processor target,
+                                                 Processor nextTarget) {
+        if (!properties.isEnabled() || !(definition instanceof ToDefinition) || definition.getId() == null
+                || !definition.getId().endsWith(CALL_SUFFIX)) {
+            return target;
+        }
+        String routeId = definition.getId().substring(0, definition.getId().length() - CALL_SUFFIX.length());
+        createPools(context);
+        return new HedgedCall(target, hedgers.computeIfAbsent(routeId, Hedger::new));
+    }
+
+    private synchronized void createPools(CamelContext context) {
+        if (executor == null) {
+            timer = context.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "UpstreamHedgingTimer");
+            // Every attempt blocks on its HTTP call, so both of them need a thread of their own
+            executor = context.getExecutorServiceManager().newCachedThreadPool(this, "UpstreamHedging");
+        }
+    }
+
+    /**
+     * Hedging state of a route, or {@code null} when its calls are not hedged.
+     */
+    public Map<String, Object> state(String routeId) {
+        Hedger hedger = hedgers.get(routeId);
+        return hedger != null ? hedger.state() : null;
+    }
+
+    private final class Hedger {
+
+        private final LatencyWindow latencies;
+        private final HedgeBudget budget;
+        private final Counter calls;
+        private final Counter hedged;
+        private final Counter wins;
+        private final Counter denied;
+
+        Hedger(String routeId) {
+            this.latencies = new LatencyWindow(properties.getSampleSize(), properties.getPercentile(),
+                properties.getMinSamples());
+            this.budget = new HedgeBudget(properties.getBudget());
+            this.calls = Counter.builder("person.upstream.hedge.calls")
+                .description("Upstream calls eligible for hedging")
+                .tag("route", routeId)
+                .register(meterRegistry);
+            this.hedged = Counter.builder("person.upstream.hedged")
+                .description("Upstream calls raced by a second identical call")
+                .tag("route", routeId)
+                .register(meterRegistry);
+            this.wins = Counter.builder("person.upstream.hedge.wins")
+                .description("Hedged calls answered first by the second call")
+                .tag("route", routeId)
+                .register(meterRegistry);
+            this.denied = Counter.builder("person.upstream.hedge.denied")
+                .description("Hedges not sent because the hedging budget was spent")
+                .tag("route", routeId)
+                .register(meterRegistry);
+            TimeGauge.builder("person.upstream.hedge.delay", this, TimeUnit.NANOSECONDS,
+                    hedger -> Math.max(0, hedger.delayNanos()))
+                .description("Time after which a pending upstream call is hedged, 0 until enough calls were timed")
+                .tag("route", routeId)
+                .register(meterRegistry);
+            Gauge.builder("person.upstream.hedge.win.rate", this, Hedger::winRate)
+                .description("Share of the hedged calls answered first by the second call")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        }
+
+        /**
+         * Delay before hedging a call, or {@code -1} while too few latencies are known.
+         */
+        long delayNanos() {
+            long percentile = latencies.percentileNanos();
+            return percentile < 0 ? -1 : Math.max(percentile, properties.getMinDelay().toNanos());
+        }
+
+        double winRate() {
+            double count = hedged.count();
+            return count == 0 ? 0 : wins.count() / count;
+        }
+
+        Map<String, Object> state() {
+            Map<String, Object> state = new LinkedHashMap<>();
+            long delay = delayNanos();
+            state.put("delayMillis", delay < 0 ? null : TimeUnit.NANOSECONDS.toMillis(delay));
+            state.put("calls", (long) calls.count());
+            state.put("hedged", (long) hedged.count());
+            state.put("wins", (long) wins.count());
+            state.put("winRate", winRate());
+            state.put("denied", (long) denied.count());
+            return state;
+        }
+    }
+
+    /**
+     * Runs the wrapped upstream call on a pool thread, and races it with a second one once the delay passes.
+     */
+    private final class HedgedCall extends AsyncProcessorSupport {
+
+        private final Processor delegate;
+        private final Hedger hedger;
+
+        HedgedCall(Processor delegate, Hedger hedger) {
+            this.delegate = delegate;
+            this.hedger = hedger;
+        }
+
+        @Override
+        public boolean process(Exchange exchange, AsyncCallback callback) {
+            hedger.calls.increment();
+            hedger.budget.deposit();
+            Race race = new Race(exchange, callback);
+            if (!race.launch(0)) {
+                return true;
+            }
+            long delay = hedger.delayNanos();
+            if (delay >= 0) {
+                race.schedule(delay);
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+
+        /**
+         * One upstream call and its possible hedge, settled by the first successful answer or, when both
+         * fail, by the first failure.
+         */
+        private final class Race {
+
+            private final Exchange exchange;
+            private final AsyncCallback callback;
+            // Attempts and their state, guarded by this race
+            private final Future<?>[] attempts = new Future<?>[2];
+            private int pending;
+            private boolean settled;
+            private Exchange failed;
+            private ScheduledFuture<?> hedge;
+
+            Race(Exchange exchange, AsyncCallback callback) {
+                this.exchange = exchange;
+                this.callback = callback;
+            }
+
+            /**
+             * Starts an attempt on a copy of the exchange; the original is only written by the winner.
+             *
+             * @return {@code false} when the first attempt could not start and the exchange is already done
+             */
+            boolean launch(int attempt) {
+                synchronized (this) {
+                    if (settled) {
+                        return false;
+                    }
+                    Exchange copy = exchange.copy();
+                    try {
+                        attempts[attempt] = executor.submit(() -> run(copy, attempt));
+                        pending++;
+                        return true;
+                    } catch (RuntimeException e) {
+                        if (attempt > 0) {
+                            return false;
+                        }
+                        settled = true;
+                        exchange.setException(e);
+                    }
+                }
+                callback.done(true);
+                return false;
+            }
+
+            synchronized void schedule(long delayNanos) {
+                if (!settled) {
+                    hedge = timer.schedule(this::hedge, delayNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            private synchronized void hedge() {
+                if (settled) {
+                    return;
+                }
+                if (!hedger.budget.tryWithdraw()) {
+                    hedger.denied.increment();
+                    return;
+                }
+                // Still under the lock, so the primary cannot settle between the withdrawal and the launch
+                if (launch(1)) {
+                    hedger.hedged.increment();
+                } else {
+                    hedger.budget.refund();
+                }
+            }
+
+            private void run(Exchange copy, int attempt) {
+                long startNanos = System.nanoTime();
+                try {
+                    delegate.process(copy);
+                } catch (Exception e) {
+                    copy.setException(e);
+                }
+                if (copy.getException() == null) {
+                    // Late answers of cancelled calls still tell how slow the upstream is
+                    hedger.latencies.record(System.nanoTime() - startNanos);
+                }
+                finished(copy, attempt);
+            }
+
+            private void finished(Exchange copy, int attempt) {
+                Exchange winner;
+                synchronized (this) {
+                    pending--;
+                    if (settled) {
+                        return;
+                    }
+                    if (copy.getException() != null) {
+                        if (failed == null) {
+                            failed = copy;
+                        }
+                        if (pending > 0) {
+                            // The other attempt may still succeed
+                            return;
+                        }
+                        winner = failed;
+                    } else {
+                        winner = copy;
+                        if (attempt > 0) {
+                            hedger.wins.increment();
+                        }
+                    }
+                    settled = true;
+                    if (hedge != null) {
+                        hedge.cancel(false);
+                    }
+                    Future<?> other = attempts[1 - attempt];
+                    if (other != null) {
+                        // Interrupting the blocked call aborts its socket where the platform allows it
+                        other.cancel(true);
+                    }
+                }
+                ExchangeHelper.copyResults(exchange, winner);
+                callback.done(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.example.camel.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.component.resilience4j.ResilienceProcessor;
+import org.apache.camel.http.base.HttpOperationFailedException;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.spi.Synchronization;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Guards of the routes calling the person API. Each guarded route gets an adaptive concurrency limiter
+ * step ({@link #limiter}), placed before a Resilience4j {@code circuitBreaker} block (with bulkhead) whose
+ * fallback ({@link #fallback}) turns refused calls into {@link UpstreamUnavailableException}. The limiter slot
+ * is given back right after the block ({@link #limiterRelease}), so the limit follows the upstream latency
+ * rather than the projection and logging that come after it. Their state
+ * is reported per route by {@link #state} and published as:
+ * <ul>
+ *   <li>{@code person.upstream.limit}: current concurrency limit, tagged by {@code route}</li>
+ *   <li>{@code person.upstream.rejected}: refused calls, tagged by {@code route} and {@code reason}</li>
+ *   <li>{@code person.upstream.circuit.open}: 1 while the breaker refuses calls, tagged by {@code route}</li>
+ * </ul>
+ */
+@Component
+public class UpstreamResilience {
+
+    private final UpstreamResilienceProperties properties;
+    private final CamelContext camelContext;
+    private final MeterRegistry meterRegistry;
+    private final UpstreamHedging hedging;
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    public UpstreamResilience(UpstreamResilienceProperties properties, CamelContext camelContext,
+                              MeterRegistry meterRegistry, UpstreamHedging hedging) {
+        this.properties = properties;
+        this.camelContext = camelContext;
+        this.meterRegistry = meterRegistry;
+        this.hedging = hedging;
+    }
+
+    /**
+     * Id given to the {@code circuitBreaker} block of a guarded route.
+     */
+    public static String circuitBreakerId(String routeId) {
+        return routeId + "-circuit-breaker";
+    }
+
+    /**
+     * Appends the call to {@code uri} to a route, behind the route's concurrency limiter, then a circuit
+     * breaker with bulkhead. Refused calls fail with UpstreamUnavailableException, which the controller
+     * answers with a 503. The call itself is hedged when {@code person.resilience.hedging} is enabled: every
+     * upstream call is a read-only lookup. The call may also be appended inside a block of the route.
+     */
+    public <T extends ProcessorDefinition<?>> T callUpstream(T route, String routeId, String uri) {
+        String breakerId = circuitBreakerId(routeId);
+        // Built here rather than from the route's resilience4jConfiguration, which only takes whole seconds
+        camelContext.getRegistry().bind(breakerId, CircuitBreaker.class,
+            CircuitBreaker.of(breakerId, circuitBreakerConfig()));
+        route
+            .process(limiter(routeId))
+            .circuitBreaker().id(breakerId)
+                .resilience4jConfiguration()
+                    .circuitBreaker(breakerId)
+                    .bulkheadEnabled(true)
+                    .bulkheadMaxConcurrentCalls(properties.getBulkhead().getMaxConcurrentCalls())
+                    .bulkheadMaxWaitDuration(0)
+                .end()
+                .to(uri).id(UpstreamHedging.callId(routeId))
+            .onFallback()
+                .process(fallback(routeId))
+            .end()
+            .process(limiterRelease(routeId));
+        return route;
+    }
+
+    private CircuitBreakerConfig circuitBreakerConfig() {
+        UpstreamResilienceProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        return CircuitBreakerConfig.custom()
+            .failureRateThreshold(breaker.getFailureRateThreshold())
+            .slowCallRateThreshold(breaker.getSlowCallRateThreshold())
+            .slowCallDurationThreshold(breaker.getSlowCallDuration())
+            .slidingWindowSize(breaker.getSlidingWindowSize())
+            .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+            .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+            .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedNumberOfCallsInHalfOpenState())
+            .build();
+    }
+
+    /**
+     * Forgets the circuit breaker of a route that was removed or replaced; its limiter is kept, together
+     * with the calls still holding a slot of it.
+     */
+    public void routeReplaced(String routeId) {
+        Guard guard = guards.get(routeId);
+        if (guard != null) {
+            guard.breaker = null;
+        }
+    }
+
+    /**
+     * Step taking a slot of the route's concurrency limiter for the rest of the exchange, or failing it with
+     * {@link UpstreamUnavailableException} when the limit is reached. Does nothing when the limiter is disabled.
+     */
+    public Processor limiter(String routeId) {
+        Guard guard = guard(routeId);
+        return guard::acquire;
+    }
+
+    /**
+     * Step giving back the slot taken by {@link #limiter} once the upstream has answered, feeding the limiter
+     * with the latency of the call. A failed call gives its slot back when the exchange completes.
+     */
+    public Processor limiterRelease(String routeId) {
+        Guard guard = guard(routeId);
+        return guard::release;
+    }
+
+    /**
+     * Fallback of the route's circuit breaker: calls refused by the open breaker or the full bulkhead fail
+     * with {@link UpstreamUnavailableException}, other failures keep their own exception.
+     */
+    public Processor fallback(String routeId) {
+        Guard guard = guard(routeId);
+        return guard::fallback;
+    }
+
+    /**
+     * Breaker, bulkhead, limiter and hedging state of a guarded route, or {@code null} for other routes.
+     */
+    public Map<String, Object> state(String routeId) {
+        Guard guard = guards.get(routeId);
+        return guard != null ? guard.state() : null;
+    }
+
+    /**
+     * State of every guarded route, by route id.
+     */
+    public Map<String, Map<String, Object>> states() {
+        Map<String, Map<String, Object>> states = new TreeMap<>();
+        guards.forEach((routeId, guard) -> states.put(routeId, guard.state()));
+        return states;
+    }
+
+    private Guard guard(String routeId) {
+        return guards.computeIfAbsent(routeId, Guard::new);
+    }
+
+    private final class Guard {
+
+        private final String routeId;
+        // Exchange property holding the slot taken on this route
+        private final String slotProperty;
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final Counter limiterRejected;
+        private final Counter bulkheadRejected;
+        private final Counter circuitRejected;
+        // Resolved once the routes are started
+        private volatile ResilienceProcessor breaker;
+
+        Guard(String routeId) {
+            this.routeId = routeId;
+            this.slotProperty = "personUpstreamSlot-" + routeId;
+            UpstreamResilienceProperties.Limiter settings = properties.getLimiter();
+            this.limiter = settings.isEnabled()
+                ? new AdaptiveConcurrencyLimiter(settings.getInitialLimit(), settings.getMinLimit(),
+                    settings.getMaxLimit(), settings.getLatencyThreshold().toNanos(), settings.getBackoffRatio())
+                : null;
+            this.limiterRejected = rejectedCounter("limiter");
+            this.bulkheadRejected = rejectedCounter("bulkhead");
+            this.circuitRejected = rejectedCounter("circuit-open");
+            if (limiter != null) {
+                Gauge.builder("person.upstream.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Concurrency limit of the calls to the upstream")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            }
+            Gauge.builder("person.upstream.circuit.open", this, guard -> guard.isOpen() ? 1 : 0)
+                .description("Whether the circuit breaker of the upstream refuses calls")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        }
+
+        private Counter rejectedCounter(String reason) {
+            return Counter.builder("person.upstream.rejected")
+                .description("Calls to the upstream refused before being sent")
+                .tag("route", routeId)
+                .tag("reason", reason)
+                .register(meterRegistry);
+        }
+
+        void acquire(Exchange exchange) {
+            if (limiter == null) {
+                return;
+            }
+            if (!limiter.tryAcquire()) {
+                limiterRejected.increment();
+                throw new UpstreamUnavailableException("Upstream of " + routeId + " is at its concurrency limit ("
+                    + limiter.getLimit() + ")", properties.getLimiter().getRetryAfter());
+            }
+            Slot slot = new Slot(System.nanoTime());
+            exchange.setProperty(slotProperty, slot);
+            exchange.getExchangeExtension().addOnCompletion(new Synchronization() {
+                @Override
+                public void onComplete(Exchange completed) {
+                    // Normally given back already, unless the route left before the release step
+                    slot.release(false);
+                }
+
+                @Override
+                public void onFailure(Exchange failed) {
+                    Exception error = failed.getException();
+                    if (UpstreamUnavailableException.find(error) != null) {
+                        // Refused by the breaker or bulkhead: the upstream was not measured
+                        if (slot.take()) {
+                            limiter.abandon();
+                        }
+                    } else {
+                        slot.release(congested(error));
+                    }
+                }
+            });
+        }
+
+        void release(Exchange exchange) {
+            Slot slot = exchange.getProperty(slotProperty, Slot.class);
+            if (slot != null) {
+                exchange.removeProperty(slotProperty);
+                slot.release(false);
+            }
+        }
+
+        void fallback(Exchange exchange) throws Exception {
+            // The breaker has counted the failure; the caller still gets the original error
+            Exception cause = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+            if (cause != null) {
+                throw cause;
+            }
+            // No exchange error: the call was refused before running, and Camel flags every fallback as
+            // short-circuited, so the breaker state tells an open circuit from a full bulkhead
+            if (isOpen()) {
+                circuitRejected.increment();
+                throw new UpstreamUnavailableException("Circuit breaker of " + routeId + " is open",
+                    properties.getCircuitBreaker().getWaitDurationInOpenState());
+            }
+            bulkheadRejected.increment();
+            throw new UpstreamUnavailableException("Upstream of " + routeId + " is at its bulkhead limit ("
+                + properties.getBulkhead().getMaxConcurrentCalls() + ")", properties.getLimiter().getRetryAfter());
+        }
+
+        /**
+         * Whether the breaker refuses calls: open, forced open, or half open with its trial calls taken.
+         */
+        boolean isOpen() {
+            ResilienceProcessor processor = breaker();
+            return processor != null && processor.getCircuitBreaker() != null
+                && processor.getCircuitBreaker().getState() != CircuitBreaker.State.CLOSED
+                && processor.getCircuitBreaker().getState() != CircuitBreaker.State.DISABLED;
+        }
+
+        Map<String, Object> state() {
+            Map<String, Object> state = new LinkedHashMap<>();
+            ResilienceProcessor processor = breaker();
+            if (processor != null) {
+                Map<String, Object> circuitBreaker = new LinkedHashMap<>();
+                circuitBreaker.put("state", processor.getCircuitBreakerState());
+                circuitBreaker.put("failureRate", processor.getFailureRate());
+                circuitBreaker.put("slowCallRate", processor.getSlowCallRate());
+                circuitBreaker.put("bufferedCalls", processor.getNumberOfBufferedCalls());
+                circuitBreaker.put("failedCalls", processor.getNumberOfFailedCalls());
+                circuitBreaker.put("notPermittedCalls", processor.getNumberOfNotPermittedCalls());
+                state.put("circuitBreaker", circuitBreaker);
+                Map<String, Object> bulkhead = new LinkedHashMap<>();
+                bulkhead.put("maxConcurrentCalls", processor.getBulkheadMaxConcurrentCalls());
+                bulkhead.put("rejected", (long) bulkheadRejected.count());
+                state.put("bulkhead", bulkhead);
+            }
+            if (limiter != null) {
+                Map<String, Object> limit = new LinkedHashMap<>();
+                limit.put("limit", limiter.getLimit());
+                limit.put("inFlight", limiter.getInFlight());
+                limit.put("rejected", limiter.getRejected());
+                state.put("limiter", limit);
+            }
+            Map<String, Object> hedged = hedging.state(routeId);
+            if (hedged != null) {
+                state.put("hedging", hedged);
+            }
+            return state;
+        }
+
+        /**
+         * Limiter slot held by one exchange, given back once.
+         */
+        private final class Slot {
+
+            private final long startNanos;
+            private final AtomicBoolean held = new AtomicBoolean(true);
+
+            Slot(long startNanos) {
+                this.startNanos = startNanos;
+            }
+
+            boolean take() {
+                return held.compareAndSet(true, false);
+            }
+
+            void release(boolean congested) {
+                if (take()) {
+                    limiter.release(System.nanoTime() - startNanos, congested);
+                }
+            }
+        }
+
+        private ResilienceProcessor breaker() {
+            ResilienceProcessor processor = breaker;
+            if (processor == null) {
+                processor = camelContext.getProcessor(circuitBreakerId(routeId), ResilienceProcessor.class);
+                breaker = processor;
+            }
+            return processor;
+        }
+    }
+
+    /**
+     * Whether a failed call points at an overloaded upstream: anything but a 4xx answer, which the upstream
+     * gave promptly and on purpose.
+     */
+    static boolean congested(Exception error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpOperationFailedException http) {
+                return http.getStatusCode() >= 500;
+            }
+        }
+        return error != null;
+    }
+}
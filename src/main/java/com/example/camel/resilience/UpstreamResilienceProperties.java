@@ -0,0 +1,296 @@
+package com.example.camel.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Protection of the upstream calls, bound from {@code person.resilience}. Every route calling the person
+ * API gets its own circuit breaker, bulkhead and adaptive concurrency limiter built from these settings,
+ * and optionally hedging of its calls.
+ */
+@Component
+@ConfigurationProperties(prefix = "person.resilience")
+public class UpstreamResilienceProperties {
+
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    private Bulkhead bulkhead = new Bulkhead();
+
+    private Limiter limiter = new Limiter();
+
+    private Hedging hedging = new Hedging();
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public void setCircuitBreaker(CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public void setBulkhead(Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+
+    public Limiter getLimiter() {
+        return limiter;
+    }
+
+    public void setLimiter(Limiter limiter) {
+        this.limiter = limiter;
+    }
+
+    public Hedging getHedging() {
+        return hedging;
+    }
+
+    public void setHedging(Hedging hedging) {
+        this.hedging = hedging;
+    }
+
+    public static class CircuitBreaker {
+
+        /** Percentage of failed calls in the sliding window that opens the breaker. */
+        private float failureRateThreshold = 50;
+
+        /** Percentage of calls slower than {@code slow-call-duration} that opens the breaker. */
+        private float slowCallRateThreshold = 100;
+
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+
+        /** Number of most recent calls the rates are computed over. */
+        private int slidingWindowSize = 20;
+
+        /** Calls needed in the window before the rates are acted upon. */
+        private int minimumNumberOfCalls = 10;
+
+        /** Time the breaker stays open, failing calls at once, before letting trial calls through. */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        /** Trial calls let through while half open. */
+        private int permittedNumberOfCallsInHalfOpenState = 5;
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public float getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Duration getSlowCallDuration() {
+            return slowCallDuration;
+        }
+
+        public void setSlowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+        }
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public Duration getWaitDurationInOpenState() {
+            return waitDurationInOpenState;
+        }
+
+        public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+        }
+
+        public int getPermittedNumberOfCallsInHalfOpenState() {
+            return permittedNumberOfCallsInHalfOpenState;
+        }
+
+        public void setPermittedNumberOfCallsInHalfOpenState(int permittedNumberOfCallsInHalfOpenState) {
+            this.permittedNumberOfCallsInHalfOpenState = permittedNumberOfCallsInHalfOpenState;
+        }
+    }
+
+    public static class Bulkhead {
+
+        /** Calls to the upstream of one route running at the same time; further calls are rejected. */
+        private int maxConcurrentCalls = 100;
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+    }
+
+    public static class Limiter {
+
+        private boolean enabled = true;
+
+        /** Concurrency allowed before any latency has been measured. */
+        private int initialLimit = 20;
+
+        private int minLimit = 1;
+
+        /** Upper bound of the limit; keep it at or below the bulkhead so the limiter sheds first. */
+        private int maxLimit = 100;
+
+        /** Calls slower than this count as congestion and shrink the limit, like failures do. */
+        private Duration latencyThreshold = Duration.ofSeconds(1);
+
+        /** Factor applied to the limit on congestion. */
+        private double backoffRatio = 0.9;
+
+        /** Delay suggested to rejected clients through {@code Retry-After}. */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    public static class Hedging {
+
+        /** Whether a slow upstream call is raced by a second identical call; only for read-only lookups. */
+        private boolean enabled = false;
+
+        /** Percentile of the recent upstream latencies after which the second call is sent. */
+        private double percentile = 0.95;
+
+        /** Lower bound of the hedging delay, so a fast upstream is not hit twice for a few milliseconds. */
+        private Duration minDelay = Duration.ofMillis(10);
+
+        /** Latencies needed before any call is hedged. */
+        private int minSamples = 20;
+
+        /** Number of most recent latencies the percentile is computed over. */
+        private int sampleSize = 1000;
+
+        /** Share of the calls that may be hedged, bounding the extra load put on the upstream. */
+        private double budget = 0.05;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public int getSampleSize() {
+            return sampleSize;
+        }
+
+        public void setSampleSize(int sampleSize) {
+            this.sampleSize = sampleSize;
+        }
+
+        public double getBudget() {
+            return budget;
+        }
+
+        public void setBudget(double budget) {
+            this.budget = budget;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.camel.resilience;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling the upstream when it is protected: the circuit breaker is open, the bulkhead
+ * is full or the concurrency limiter sheds the call. Clients get a 503 with {@code Retry-After}.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        // No stack trace: these are expected under load and carry all they need in the message
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Value of the {@code Retry-After} header: whole seconds, rounded up so clients never come back too early.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+    /**
+     * Finds the exception in a cause chain, as wrapped by the producer template or the SOAP coalescer.
+     *
+     * @return the exception, or {@code null} when the failure has another cause
+     */
+    public static UpstreamUnavailableException find(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UpstreamUnavailableException unavailable) {
+                return unavailable;
+            }
+        }
+        return null;
+    }
+}
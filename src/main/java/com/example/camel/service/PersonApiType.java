@@ -0,0 +1,89 @@
+package com.example.camel.service;
+
+import java.time.Duration;
+
+/**
+ * An upstream person API, with the Camel route serving it: the built-in {@link #JSON} and {@link #SOAP}
+ * APIs, and the lookups declared under {@code person.lookups.routes}. Two types are equal when they answer
+ * the same {@code type} parameter, so the cache entries of a reloaded lookup can be found and dropped.
+ */
+public final class PersonApiType {
+
+    public static final PersonApiType JSON = new PersonApiType("direct:personData", "personData", "JSON/REST",
+        "json", true, null);
+    public static final PersonApiType SOAP = new PersonApiType("direct:soapPersonData", "soapPersonData", "XML/SOAP",
+        "soap", true, null);
+
+    private final String endpointUri;
+    private final String routeName;
+    private final String dataType;
+    private final String parameter;
+    private final boolean cached;
+    private final Duration timeout;
+
+    public PersonApiType(String endpointUri, String routeName, String dataType, String parameter, boolean cached,
+                         Duration timeout) {
+        this.endpointUri = endpointUri;
+        this.routeName = routeName;
+        this.dataType = dataType;
+        this.parameter = parameter;
+        this.cached = cached;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Resolves the {@code type} request parameter among the built-in APIs: "xml" or "soap" select the SOAP
+     * API, anything else JSON.
+     */
+    public static PersonApiType fromParameter(String type) {
+        if ("xml".equalsIgnoreCase(type) || "soap".equalsIgnoreCase(type)) {
+            return SOAP;
+        }
+        return JSON;
+    }
+
+    public String getEndpointUri() {
+        return endpointUri;
+    }
+
+    public String getRouteName() {
+        return routeName;
+    }
+
+    public String getDataType() {
+        return dataType;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    /**
+     * Whether lookups of this API go through the lookup cache, when the cache is enabled.
+     */
+    public boolean isCached() {
+        return cached;
+    }
+
+    /**
+     * Default timeout of the asynchronous lookups of this API, {@code null} for {@code person.async.timeout}.
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PersonApiType type && parameter.equals(type.parameter);
+    }
+
+    @Override
+    public int hashCode() {
+        return parameter.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return parameter;
+    }
+}
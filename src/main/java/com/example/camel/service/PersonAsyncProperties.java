@@ -0,0 +1,61 @@
+package com.example.camel.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the asynchronous person endpoint, bound from {@code person.async}.
+ */
+@Component
+@ConfigurationProperties(prefix = "person.async")
+public class PersonAsyncProperties {
+
+    /** Time a request waits for its data when it does not give a timeout; the lookup is then cancelled. */
+    private Duration timeout = Duration.ofSeconds(10);
+
+    /** Upper bound for a timeout given by the request. */
+    private Duration maxTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Threads running asynchronous loads and cache refreshes with platform threads; unbounded with virtual
+     * threads, where the upstream limiter and bulkhead bound the calls instead.
+     */
+    private int maxConcurrentLoads = 200;
+
+    /** Loads waiting for one of those threads; past this, lookups are refused with a 503. */
+    private int maxQueuedLoads = 1000;
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getMaxTimeout() {
+        return maxTimeout;
+    }
+
+    public void setMaxTimeout(Duration maxTimeout) {
+        this.maxTimeout = maxTimeout;
+    }
+
+    public int getMaxConcurrentLoads() {
+        return maxConcurrentLoads;
+    }
+
+    public void setMaxConcurrentLoads(int maxConcurrentLoads) {
+        this.maxConcurrentLoads = maxConcurrentLoads;
+    }
+
+    public int getMaxQueuedLoads() {
+        return maxQueuedLoads;
+    }
+
+    public void setMaxQueuedLoads(int maxQueuedLoads) {
+        this.maxQueuedLoads = maxQueuedLoads;
+    }
+}
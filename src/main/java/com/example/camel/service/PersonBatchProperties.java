@@ -0,0 +1,58 @@
+package com.example.camel.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the batch person endpoint, bound from {@code person.batch}.
+ */
+@Component
+@ConfigurationProperties(prefix = "person.batch")
+public class PersonBatchProperties {
+
+    /** Maximum number of lookups of one batch running at the same time. */
+    private int parallelism = 8;
+
+    /** Maximum number of IDs accepted in one batch. */
+    private int maxSize = 500;
+
+    /** Time budget of a batch when the request does not give one; items still pending then fail. */
+    private Duration deadline = Duration.ofSeconds(10);
+
+    /** Upper bound for a deadline given by the request. */
+    private Duration maxDeadline = Duration.ofSeconds(60);
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(Duration deadline) {
+        this.deadline = deadline;
+    }
+
+    public Duration getMaxDeadline() {
+        return maxDeadline;
+    }
+
+    public void setMaxDeadline(Duration maxDeadline) {
+        this.maxDeadline = maxDeadline;
+    }
+}
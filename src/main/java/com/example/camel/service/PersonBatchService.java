@@ -0,0 +1,184 @@
+package com.example.camel.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans a batch of person lookups out over the Camel routes with bounded parallelism, and streams the
+ * results as a JSON array in input order. Every item carries its own status, so a failing or slow ID
+ * only fails its own entry: items still pending when the batch deadline passes are reported as errors,
+ * and their lookups are released.
+ */
+@Service
+public class PersonBatchService {
+
+    private final PersonLookupService personLookupService;
+    private final PersonBatchProperties properties;
+    private final JsonFactory jsonFactory;
+
+    public PersonBatchService(PersonLookupService personLookupService, PersonBatchProperties properties,
+                              ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.personLookupService = personLookupService;
+        this.properties = properties;
+    }
+
+    /**
+     * Checks a batch request, returning the deadline to apply.
+     *
+     * @param deadline the deadline asked for by the client, may be {@code null}
+     * @throws IllegalArgumentException if the batch is empty, too large or holds a null or blank ID, or the
+     *                                  deadline is not positive
+     */
+    public Duration validate(List<String> ids, Duration deadline) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one ID is required");
+        }
+        if (ids.size() > properties.getMaxSize()) {
+            throw new IllegalArgumentException(
+                "Batch of " + ids.size() + " IDs exceeds the maximum of " + properties.getMaxSize());
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null || ids.get(i).isBlank()) {
+                throw new IllegalArgumentException("ID at index " + i + " is missing or blank");
+            }
+        }
+        if (deadline == null) {
+            return properties.getDeadline();
+        }
+        if (deadline.isNegative() || deadline.isZero()) {
+            throw new IllegalArgumentException("Deadline must be positive");
+        }
+        return deadline.compareTo(properties.getMaxDeadline()) > 0 ? properties.getMaxDeadline() : deadline;
+    }
+
+    /**
+     * Starts the lookups of a validated batch and writes their results to {@code output} as they become
+     * available, in input order.
+     */
+    public void execute(PersonApiType type, List<String> ids, Duration deadline, OutputStream output)
+            throws IOException {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        List<CompletableFuture<String>> results = dispatch(type, ids, deadlineNanos);
+
+        try (JsonGenerator generator = jsonFactory.createGenerator(output)) {
+            generator.writeStartArray();
+            for (int i = 0; i < ids.size(); i++) {
+                writeItem(generator, ids.get(i), results.get(i), deadlineNanos);
+                // Let the client consume finished items while later ones are still running
+                generator.flush();
+            }
+            generator.writeEndArray();
+        } finally {
+            // Past the deadline or after a failed write, nothing waits for the items left: stop their lookups
+            results.forEach(result -> result.cancel(false));
+        }
+    }
+
+    /**
+     * Starts at most {@code parallelism} lookups at a time, each with the time left before the deadline as its
+     * timeout, so a slow ID holds no thread and its lookup is released when the deadline passes.
+     */
+    private List<CompletableFuture<String>> dispatch(PersonApiType type, List<String> ids, long deadlineNanos) {
+        List<CompletableFuture<String>> results = ids.stream().map(id -> new CompletableFuture<String>()).toList();
+        AtomicInteger cursor = new AtomicInteger();
+        int slots = Math.min(Math.max(1, properties.getParallelism()), ids.size());
+        for (int i = 0; i < slots; i++) {
+            startNext(type, ids, results, cursor, deadlineNanos);
+        }
+        return results;
+    }
+
+    /**
+     * Starts the next lookup of the batch in one slot, and the one after it once that lookup completes.
+     */
+    private void startNext(PersonApiType type, List<String> ids, List<CompletableFuture<String>> results,
+                           AtomicInteger cursor, long deadlineNanos) {
+        int index;
+        while ((index = cursor.getAndIncrement()) < ids.size()) {
+            CompletableFuture<String> result = results.get(index);
+            if (result.isDone()) {
+                // Cancelled by the writer
+                continue;
+            }
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos <= 0) {
+                // Not started before the deadline
+                result.completeExceptionally(new TimeoutException());
+                continue;
+            }
+            CompletableFuture<String> lookup =
+                personLookupService.lookupAsync(type, ids.get(index), Duration.ofNanos(remainingNanos));
+            // An item the writer gave up on releases its lookup
+            result.whenComplete((value, error) -> lookup.cancel(false));
+            if (lookup.isDone()) {
+                // Served from the cache: carry on in this slot without growing the stack
+                transfer(lookup, result);
+                continue;
+            }
+            lookup.whenComplete((value, error) -> {
+                transfer(lookup, result);
+                startNext(type, ids, results, cursor, deadlineNanos);
+            });
+            return;
+        }
+    }
+
+    private static void transfer(CompletableFuture<String> lookup, CompletableFuture<String> result) {
+        try {
+            result.complete(lookup.join());
+        } catch (CompletionException | CancellationException e) {
+            result.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private void writeItem(JsonGenerator generator, String id, CompletableFuture<String> result, long deadlineNanos)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", id);
+        try {
+            String data = result.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            generator.writeStringField("status", "success");
+            generator.writeFieldName("data");
+            if (data != null) {
+                // Route output is already JSON: splice it in rather than escaping it as a string
+                generator.writeRawValue(data);
+            } else {
+                generator.writeNull();
+            }
+        } catch (TimeoutException | CancellationException e) {
+            writeDeadlineExceeded(generator, id);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                // The lookup timed out on the time left before the deadline
+                writeDeadlineExceeded(generator, id);
+            } else {
+                generator.writeStringField("status", "error");
+                generator.writeStringField("message", "Error retrieving data for ID " + id + ": " + e.getCause().getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for batch results", e);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeDeadlineExceeded(JsonGenerator generator, String id) throws IOException {
+        generator.writeStringField("status", "error");
+        generator.writeStringField("message", "Deadline exceeded before data was retrieved for ID " + id);
+    }
+}
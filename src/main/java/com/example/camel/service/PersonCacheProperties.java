@@ -0,0 +1,68 @@
+package com.example.camel.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-process person lookup cache, bound from {@code person.cache}.
+ */
+@Component
+@ConfigurationProperties(prefix = "person.cache")
+public class PersonCacheProperties {
+
+    private boolean enabled = true;
+
+    /** How long an entry may be served after it was loaded. */
+    private Duration ttl = Duration.ofMinutes(5);
+
+    /** Age after which a read still returns the entry but reloads it in the background; zero disables. */
+    private Duration refreshAfter = Duration.ofMinutes(1);
+
+    /** Maximum number of entries, used when {@link #maximumWeight} is not set. */
+    private long maximumSize = 10_000;
+
+    /** Maximum approximate size of all cached responses in bytes; zero bounds by entry count instead. */
+    private long maximumWeight = 0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public Duration getRefreshAfter() {
+        return refreshAfter;
+    }
+
+    public void setRefreshAfter(Duration refreshAfter) {
+        this.refreshAfter = refreshAfter;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public void setMaximumWeight(long maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+}
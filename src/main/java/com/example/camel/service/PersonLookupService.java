@@ -0,0 +1,295 @@
+package com.example.camel.service;
+
+import com.example.camel.resilience.UpstreamUnavailableException;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.ExchangeBuilder;
+import org.apache.camel.builder.ThreadPoolProfileBuilder;
+import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Looks up person data through the Camel routes, behind an optional in-process cache keyed by
+ * (API type, ID). Concurrent misses for the same key share a single upstream call, and entries older
+ * than {@code person.cache.refresh-after} are served stale while being reloaded in the background.
+ * Asynchronous lookups hold no caller thread while waiting, and give up on their own timeout; a load
+ * that every caller has given up on is cancelled, stopping its exchange before the next route step.
+ * With platform threads, loads run on at most {@code person.async.max-concurrent-loads} threads, and a lookup
+ * finding the queue full fails with {@link UpstreamUnavailableException}, answered with a 503.
+ */
+@Service
+public class PersonLookupService {
+
+    static final String CACHE_NAME = "person-lookups";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final ProducerTemplate producerTemplate;
+    private final CamelContext camelContext;
+    private final PersonAsyncProperties asyncProperties;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService timeouts;
+    private final AsyncLoadingCache<PersonKey, String> cache;
+
+    public PersonLookupService(ProducerTemplate producerTemplate, CamelContext camelContext,
+                               PersonCacheProperties cacheProperties, PersonAsyncProperties asyncProperties,
+                               MeterRegistry meterRegistry) {
+        this.producerTemplate = producerTemplate;
+        this.camelContext = camelContext;
+        this.asyncProperties = asyncProperties;
+        // Background refreshes and async loads call the routes, which block: keep them off the common pool, and
+        // bound the pool so a degraded upstream cannot take a platform thread per pending lookup. The virtual
+        // thread factory ignores the sizes.
+        this.executor = camelContext.getExecutorServiceManager().newThreadPool(this, "PersonLookup",
+            new ThreadPoolProfileBuilder("PersonLookup")
+                .poolSize(asyncProperties.getMaxConcurrentLoads())
+                .maxPoolSize(asyncProperties.getMaxConcurrentLoads())
+                .maxQueueSize(asyncProperties.getMaxQueuedLoads())
+                .allowCoreThreadTimeOut(true)
+                .rejectedPolicy(ThreadPoolRejectedPolicy.Abort)
+                .build());
+        this.timeouts = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "PersonLookupTimeout");
+        if (cacheProperties.isEnabled()) {
+            this.cache = CaffeineCacheMetrics.monitor(meterRegistry,
+                newCache(cacheProperties, executor), CACHE_NAME);
+        } else {
+            this.cache = null;
+        }
+    }
+
+    /**
+     * Returns the projected person data for {@code id} from the given API.
+     */
+    public String lookup(PersonApiType type, String id) {
+        if (cache == null || !type.isCached()) {
+            return load(type, id);
+        }
+        // The first caller on a miss loads inline; concurrent callers wait on the same future
+        CompletableFuture<String> loading = new CompletableFuture<>();
+        CompletableFuture<String> result = retained(new PersonKey(type, id), () -> loading);
+        if (result == loading) {
+            try {
+                loading.complete(load(type, id));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            if (result instanceof PendingLoad load) {
+                load.release();
+            }
+        }
+    }
+
+    /**
+     * Drops the cached lookups of an API, whose route was just replaced.
+     */
+    public void invalidate(PersonApiType type) {
+        if (cache != null) {
+            cache.synchronous().asMap().keySet().removeIf(key -> key.type().equals(type));
+        }
+    }
+
+    /**
+     * Checks the timeout asked for by a client of {@link #lookupAsync}, returning the one to apply.
+     *
+     * @param timeout the timeout asked for by the client, may be {@code null}
+     * @throws IllegalArgumentException if the timeout is not positive
+     */
+    public Duration resolveTimeout(Duration timeout) {
+        if (timeout == null) {
+            return asyncProperties.getTimeout();
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        return timeout.compareTo(asyncProperties.getMaxTimeout()) > 0 ? asyncProperties.getMaxTimeout() : timeout;
+    }
+
+    /**
+     * Returns a future of the projected person data for {@code id}, completed without holding the calling
+     * thread. The future fails with a {@link java.util.concurrent.TimeoutException} once {@code timeout} has
+     * passed; cancelling it or letting it time out releases the underlying load.
+     */
+    public CompletableFuture<String> lookupAsync(PersonApiType type, String id, Duration timeout) {
+        CompletableFuture<String> shared;
+        if (cache == null || !type.isCached()) {
+            PendingLoad load = startLoad(type, id);
+            load.retain();
+            shared = load;
+        } else {
+            shared = retained(new PersonKey(type, id), () -> startLoad(type, id));
+        }
+        // Each caller gets its own view, so one caller timing out does not fail the others
+        CompletableFuture<String> result = new CompletableFuture<>();
+        AtomicBoolean expired = new AtomicBoolean();
+        shared.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (!expired.get()) {
+                result.completeExceptionally(error);
+            }
+        });
+        Runnable release = shared instanceof PendingLoad load ? once(load::release) : () -> { };
+        // Released before the caller sees the timeout, so an abandoned load is already cancelled by then
+        ScheduledFuture<?> expiry = timeouts.schedule(() -> {
+            expired.set(true);
+            release.run();
+            result.completeExceptionally(new TimeoutException());
+        }, timeout.toNanos(), TimeUnit.NANOSECONDS);
+        result.whenComplete((value, error) -> {
+            expiry.cancel(false);
+            release.run();
+        });
+        return result;
+    }
+
+    /**
+     * Returns the cached future of {@code key}, created by {@code loader} on a miss. A cancellable load is
+     * retained for the caller, who must release it once done waiting; one already abandoned is replaced.
+     */
+    private CompletableFuture<String> retained(PersonKey key, Supplier<CompletableFuture<String>> loader) {
+        while (true) {
+            CompletableFuture<String> future = cache.get(key, (k, cacheExecutor) -> loader.get());
+            if (!(future instanceof PendingLoad load) || load.retain()) {
+                return future;
+            }
+            // Cancelled but not evicted yet
+            cache.asMap().remove(key, future);
+        }
+    }
+
+    private static Runnable once(Runnable action) {
+        AtomicBoolean done = new AtomicBoolean();
+        return () -> {
+            if (done.compareAndSet(false, true)) {
+                action.run();
+            }
+        };
+    }
+
+    private PendingLoad startLoad(PersonApiType type, String id) {
+        Exchange exchange = ExchangeBuilder.anExchange(camelContext)
+            .withPattern(ExchangePattern.InOut)
+            .withBody(id)
+            .withHeader("personId", id)
+            .withHeader("type", type.getParameter())
+            .build();
+        PendingLoad load = new PendingLoad(exchange);
+        try {
+            executor.execute(() -> {
+                if (load.isDone()) {
+                    // Every caller gave up while the load was still queued
+                    return;
+                }
+                try {
+                    Exchange result = producerTemplate.send(type.getEndpointUri(), exchange);
+                    if (result.getException() != null) {
+                        throw CamelExecutionException.wrapCamelExecutionException(result, result.getException());
+                    }
+                    load.complete(result.getMessage().getBody(String.class));
+                } catch (RuntimeException e) {
+                    load.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            load.completeExceptionally(new UpstreamUnavailableException("Too many lookups in progress ("
+                + asyncProperties.getMaxConcurrentLoads() + " running, " + asyncProperties.getMaxQueuedLoads()
+                + " queued)", RETRY_AFTER));
+        }
+        return load;
+    }
+
+    private String load(PersonApiType type, String id) {
+        Map<String, Object> headers = new HashMap<>();
+        headers.put("personId", id);
+        headers.put("type", type.getParameter());
+        return producerTemplate.requestBodyAndHeaders(type.getEndpointUri(), id, headers, String.class);
+    }
+
+    private AsyncLoadingCache<PersonKey, String> newCache(PersonCacheProperties properties, ExecutorService executor) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .executor(executor)
+            .expireAfterWrite(properties.getTtl())
+            .recordStats();
+        if (properties.getMaximumWeight() > 0) {
+            builder.maximumWeight(properties.getMaximumWeight())
+                .weigher((PersonKey key, String value) -> key.id().length() + value.length());
+        } else {
+            builder.maximumSize(properties.getMaximumSize());
+        }
+        if (!properties.getRefreshAfter().isZero() && properties.getRefreshAfter().compareTo(properties.getTtl()) < 0) {
+            builder.refreshAfterWrite(properties.getRefreshAfter());
+        }
+        return builder.buildAsync((PersonKey key) -> load(key.type(), key.id()));
+    }
+
+    private record PersonKey(PersonApiType type, String id) {
+    }
+
+    /**
+     * An asynchronous load and the exchange carrying it, counting the callers still waiting for it,
+     * synchronous or not; it is cancelled once the last one releases it before it completes.
+     */
+    private static final class PendingLoad extends CompletableFuture<String> {
+
+        private final Exchange exchange;
+        // Number of callers waiting, or -1 once abandoned
+        private final AtomicInteger waiters = new AtomicInteger();
+
+        PendingLoad(Exchange exchange) {
+            this.exchange = exchange;
+        }
+
+        /**
+         * Registers one more waiting caller, unless the load has already been abandoned.
+         */
+        boolean retain() {
+            int count;
+            do {
+                count = waiters.get();
+                if (count < 0) {
+                    return false;
+                }
+            } while (!waiters.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        void release() {
+            if (waiters.decrementAndGet() == 0 && !isDone() && waiters.compareAndSet(0, -1)) {
+                // Camel checks this flag between processors, so the rest of the route is skipped
+                exchange.setRouteStop(true);
+                completeExceptionally(new CancellationException("Lookup abandoned by all callers"));
+            }
+        }
+    }
+}
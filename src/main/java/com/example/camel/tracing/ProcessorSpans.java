@@ -0,0 +1,90 @@
+package com.example.camel.tracing;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Processor;
+import org.apache.camel.model.ProcessDefinition;
+import org.apache.camel.spi.InterceptStrategy;
+import org.apache.camel.support.AsyncProcessorConverterHelper;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.tracing.ActiveSpanManager;
+import org.apache.camel.tracing.SpanAdapter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Span around each processor referenced by bean name, e.g. {@code soapRequestProcessor}, as an
+ * {@link InterceptStrategy} Camel applies to every route. Camel's own tracing only spans routes and endpoint
+ * calls; these spans show the time spent between them. Each is the child of the span Camel holds for the
+ * exchange, whichever thread runs the processor.
+ */
+@Component
+public class ProcessorSpans implements InterceptStrategy {
+
+    private final ObjectProvider<Tracer> tracer;
+    private final TracingProperties properties;
+
+    public ProcessorSpans(ObjectProvider<Tracer> tracer, TracingProperties properties) {
+        this.tracer = tracer;
+        this.properties = properties;
+    }
+
+    @Override
+    public Processor wrapProcessorInInterceptors(CamelContext context, NamedNode definition, Processor target,
+                                                 Processor nextTarget) {
+        // No tracer when tracing is disabled
+        Tracer current = tracer.getIfAvailable();
+        if (current != null && properties.isProcessors()
+                && definition instanceof ProcessDefinition process && process.getRef() != null) {
+            return new SpannedStep(target, current, process.getRef());
+        }
+        return target;
+    }
+
+    private static final class SpannedStep extends AsyncProcessorSupport {
+
+        private final AsyncProcessor delegate;
+        private final Tracer tracer;
+        private final String name;
+
+        SpannedStep(Processor delegate, Tracer tracer, String name) {
+            this.delegate = AsyncProcessorConverterHelper.convert(delegate);
+            this.tracer = tracer;
+            this.name = name;
+        }
+
+        @Override
+        public boolean process(Exchange exchange, AsyncCallback callback) {
+            Span span = start(ActiveSpanManager.getSpan(exchange));
+            return delegate.process(exchange, doneSync -> {
+                if (exchange.getException() != null) {
+                    span.error(exchange.getException());
+                }
+                span.end();
+                callback.done(doneSync);
+            });
+        }
+
+        private Span start(SpanAdapter parent) {
+            if (parent == null) {
+                return tracer.nextSpan().name(name).start();
+            }
+            // Only long enough to create the span as its child
+            try (AutoCloseable scope = parent.makeCurrent()) {
+                return tracer.nextSpan().name(name).start();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not restore the span of the exchange", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.camel.tracing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.LinkData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import io.opentelemetry.sdk.trace.samplers.SamplingDecision;
+import io.opentelemetry.sdk.trace.samplers.SamplingResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tail sampling of the traces left out by head sampling. The {@link #headSampler head sampler} records them
+ * without marking them sampled, so they are neither exported by the batch processor nor propagated as sampled.
+ * Their spans are held here by trace ID until the local root span ends; the whole trace is then exported if a
+ * span failed or the root took at least the latency threshold, and dropped otherwise.
+ * <p>
+ * Kept traces are exported on the thread ending the root span: they are the rare ones, and the exporters
+ * only hand them over.
+ */
+public class TailSampling implements SpanProcessor {
+
+    // Tags set by Spring MVC on server spans and by Camel on failed exchanges
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+    private static final AttributeKey<String> ERROR = AttributeKey.stringKey("error");
+
+    private final SpanExporter exporter;
+    private final long latencyThresholdNanos;
+    private final Cache<String, List<SpanData>> pending;
+    private final Counter kept;
+    private final Counter dropped;
+
+    public TailSampling(SpanExporter exporter, TracingProperties.Tail properties, MeterRegistry meterRegistry) {
+        this.exporter = exporter;
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.pending = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxPendingTraces())
+            .expireAfterWrite(properties.getPendingTimeout())
+            .build();
+        this.kept = Counter.builder("person.tracing.tail")
+            .description("Traces left out by head sampling, by tail sampling decision")
+            .tag("decision", "kept")
+            .register(meterRegistry);
+        this.dropped = Counter.builder("person.tracing.tail")
+            .description("Traces left out by head sampling, by tail sampling decision")
+            .tag("decision", "dropped")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Parent-based sampler keeping {@code probability} of the new traces. With tail sampling, the other traces
+     * started here are recorded for {@link TailSampling} instead of dropped.
+     */
+    public static Sampler headSampler(double probability, boolean tail) {
+        Sampler ratio = Sampler.traceIdRatioBased(probability);
+        return Sampler.parentBasedBuilder(tail ? new RecordingSampler(ratio) : ratio)
+            .setLocalParentNotSampled(tail ? new RecordingSampler(Sampler.alwaysOff()) : Sampler.alwaysOff())
+            .build();
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        SpanContext context = span.getSpanContext();
+        if (context.isSampled()) {
+            // Exported by the batch processor
+            return;
+        }
+        SpanData data = span.toSpanData();
+        SpanContext parent = span.getParentSpanContext();
+        if (parent.isValid() && !parent.isRemote()) {
+            pending.asMap().compute(context.getTraceId(), (traceId, spans) -> {
+                List<SpanData> held = spans != null ? spans : new ArrayList<>();
+                held.add(data);
+                return held;
+            });
+            return;
+        }
+
+        List<SpanData> trace = pending.asMap().remove(context.getTraceId());
+        if (trace == null) {
+            trace = new ArrayList<>(1);
+        }
+        trace.add(data);
+        if (span.getLatencyNanos() >= latencyThresholdNanos || trace.stream().anyMatch(TailSampling::failed)) {
+            kept.increment();
+            exporter.export(trace);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    /**
+     * The exporters belong to the batch processor, which shuts them down.
+     */
+    @Override
+    public CompletableResultCode shutdown() {
+        pending.invalidateAll();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return exporter.flush();
+    }
+
+    private static boolean failed(SpanData span) {
+        return span.getStatus().getStatusCode() == StatusCode.ERROR
+            || "SERVER_ERROR".equals(span.getAttributes().get(OUTCOME))
+            || "true".equals(span.getAttributes().get(ERROR));
+    }
+
+    /**
+     * Records, without sampling, the spans its delegate drops.
+     */
+    private record RecordingSampler(Sampler delegate) implements Sampler {
+
+        @Override
+        public SamplingResult shouldSample(Context parentContext, String traceId, String name, SpanKind spanKind,
+                                           Attributes attributes, List<LinkData> parentLinks) {
+            SamplingResult result = delegate.shouldSample(parentContext, traceId, name, spanKind, attributes, parentLinks);
+            return result.getDecision() == SamplingDecision.DROP ? SamplingResult.recordOnly() : result;
+        }
+
+        @Override
+        public String getDescription() {
+            return "Recording{" + delegate.getDescription() + "}";
+        }
+    }
+}
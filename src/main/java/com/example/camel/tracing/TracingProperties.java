@@ -0,0 +1,111 @@
+package com.example.camel.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tracing of the lookups, bound from {@code person.tracing}. The head sampling rate is Spring Boot's
+ * {@code management.tracing.sampling.probability}, and the OTLP export its {@code management.otlp.tracing.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "person.tracing")
+public class TracingProperties {
+
+    /** Span around each route processor referenced by bean name, under the route span. */
+    private boolean processors = true;
+
+    private Tail tail = new Tail();
+
+    private File file = new File();
+
+    public boolean isProcessors() {
+        return processors;
+    }
+
+    public void setProcessors(boolean processors) {
+        this.processors = processors;
+    }
+
+    public Tail getTail() {
+        return tail;
+    }
+
+    public void setTail(Tail tail) {
+        this.tail = tail;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public void setFile(File file) {
+        this.file = file;
+    }
+
+    public static class Tail {
+
+        /**
+         * Records the traces left out by head sampling, and still exports those that failed or were slow.
+         * Every span of every trace is then recorded and copied until its root ends, so it is off by default;
+         * without it, these traces cost nothing past the sampling decision.
+         */
+        private boolean enabled = false;
+
+        /** Duration of the local root span from which a trace is kept. */
+        private Duration latencyThreshold = Duration.ofMillis(500);
+
+        /** Traces buffered while their root span is still open; spans of further traces are dropped. */
+        private int maxPendingTraces = 10_000;
+
+        /** Time after which the spans of a trace whose root span never ended are dropped. */
+        private Duration pendingTimeout = Duration.ofMinutes(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public int getMaxPendingTraces() {
+            return maxPendingTraces;
+        }
+
+        public void setMaxPendingTraces(int maxPendingTraces) {
+            this.maxPendingTraces = maxPendingTraces;
+        }
+
+        public Duration getPendingTimeout() {
+            return pendingTimeout;
+        }
+
+        public void setPendingTimeout(Duration pendingTimeout) {
+            this.pendingTimeout = pendingTimeout;
+        }
+    }
+
+    public static class File {
+
+        /** Exports spans as OTLP JSON lines to {@code logs/traces.jsonl}, for offline use. */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.camel.config;
+
+import com.example.camel.controller.PersonResponse;
+import com.example.camel.controller.RoutesResponse;
+import com.example.camel.processor.PersonDataProcessor;
+import com.example.camel.processor.SoapResponseProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void registerHints() {
+        new NativeHints.Registrar().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testCamelServicesAreReachable() {
+        // Composants et langages utilisés par les routes, instanciés par le FactoryFinder de Camel
+        for (String type : new String[] {"org.apache.camel.component.http.HttpComponent",
+                "org.apache.camel.component.direct.DirectComponent",
+                "org.apache.camel.language.simple.SimpleLanguage"}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints), type);
+        }
+        assertTrue(RuntimeHintsPredicates.resource()
+            .forResource("META-INF/services/org/apache/camel/component/http").test(hints));
+        assertTrue(NativeHints.camelServices(getClass().getClassLoader()).stream().noneMatch(type -> type.contains("=")));
+    }
+
+    @Test
+    void testNamedProcessorsAndJsonTypesAreReachable() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(PersonDataProcessor.class)
+            .withMemberCategory(MemberCategory.DECLARED_FIELDS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(SoapResponseProcessor.class).test(hints));
+        // Les records sont lus par leurs accesseurs
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(PersonResponse.class, "data").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RoutesResponse.RouteInfo.class).test(hints));
+    }
+
+    @Test
+    void testJdkXmlParserIsReachable() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+            .onType(TypeReference.of("com.sun.xml.internal.stream.XMLInputFactoryImpl")).test(hints));
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.camel.controller;
+
+import com.example.camel.lookup.LookupRegistry;
+import com.example.camel.resilience.UpstreamResilience;
+import com.example.camel.resilience.UpstreamUnavailableException;
+import com.example.camel.service.PersonApiType;
+import com.example.camel.service.PersonBatchService;
+import com.example.camel.service.PersonLookupService;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExecutionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CamelController.class)
+@Import(LookupRegistry.class)
+class CamelControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CamelContext camelContext;
+
+    @MockBean
+    private PersonLookupService personLookupService;
+
+    @MockBean
+    private PersonBatchService personBatchService;
+
+    @MockBean
+    private UpstreamResilience upstreamResilience;
+
+    @Test
+    void testRefusedLookupIsServiceUnavailable() throws Exception {
+        when(personLookupService.lookup(PersonApiType.JSON, "5")).thenThrow(new CamelExecutionException(
+            "Exception occurred during execution", null,
+            new UpstreamUnavailableException("Circuit breaker of person-data-route is open", Duration.ofMillis(1500))));
+
+        // Retry-After en secondes entières, arrondi au supérieur
+        mockMvc.perform(get("/api/camel/person/5"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value("error"))
+                .andExpect(jsonPath("$.message")
+                    .value("Service unavailable for ID 5: Circuit breaker of person-data-route is open"));
+    }
+
+    @Test
+    void testLookupSplicesRouteJson() throws Exception {
+        when(personLookupService.lookup(PersonApiType.JSON, "3"))
+            .thenReturn("{\"first_name\":\"Person3\",\"is_active\":true}");
+
+        // Le JSON de la route est un objet imbriqué, pas une chaîne échappée
+        mockMvc.perform(get("/api/camel/person/3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.first_name").value("Person3"))
+                .andExpect(jsonPath("$.data.is_active").value(true))
+                .andExpect(jsonPath("$.route").value("personData"));
+    }
+
+    @Test
+    void testRawFormatReturnsRouteBodyUnchanged() throws Exception {
+        String json = "{\"employee_id\":\"8\",\"full_name\":\"Employee 8\"}";
+        when(personLookupService.lookup(PersonApiType.SOAP, "8")).thenReturn(json);
+
+        mockMvc.perform(get("/api/camel/person/8?type=soap&format=raw"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(content().string(json))
+                .andExpect(header().string("X-Person-Id", "8"))
+                .andExpect(header().string("X-Route", "soapPersonData"))
+                .andExpect(header().string("X-Data-Type", "XML/SOAP"))
+                .andExpect(header().exists("X-Timestamp"));
+    }
+
+    @Test
+    void testUnchangedRecordIsNotModified() throws Exception {
+        when(personLookupService.lookup(PersonApiType.JSON, "6")).thenReturn("{\"first_name\":\"Person6\"}");
+
+        String etag = mockMvc.perform(get("/api/camel/person/6"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // L'horodatage change d'une réponse à l'autre, pas l'ETag
+        assertTrue(etag.startsWith("W/\""), etag);
+        mockMvc.perform(get("/api/camel/person/6").header("If-None-Match", "\"other\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        when(personLookupService.lookup(PersonApiType.JSON, "6")).thenReturn("{\"first_name\":\"Renamed\"}");
+        mockMvc.perform(get("/api/camel/person/6").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.first_name").value("Renamed"));
+    }
+
+    @Test
+    void testETagDependsOnTypeAndFormat() throws Exception {
+        String json = "{\"id\":\"7\"}";
+        when(personLookupService.lookup(PersonApiType.JSON, "7")).thenReturn(json);
+        when(personLookupService.lookup(PersonApiType.SOAP, "7")).thenReturn(json);
+
+        String envelope = mockMvc.perform(get("/api/camel/person/7"))
+                .andReturn().getResponse().getHeader("ETag");
+        String soap = mockMvc.perform(get("/api/camel/person/7?type=soap"))
+                .andReturn().getResponse().getHeader("ETag");
+        String raw = mockMvc.perform(get("/api/camel/person/7?format=raw"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Le corps brut est identique octet pour octet : ETag fort
+        assertTrue(raw.startsWith("\""), raw);
+        assertNotEquals(envelope, soap);
+        assertNotEquals(envelope.substring(2), raw);
+        mockMvc.perform(get("/api/camel/person/7?format=raw").header("If-None-Match", raw))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testAsyncLookup() throws Exception {
+        when(personLookupService.resolveTimeout(Duration.ofMillis(500))).thenReturn(Duration.ofMillis(500));
+        when(personLookupService.lookupAsync(PersonApiType.SOAP, "4", Duration.ofMillis(500)))
+            .thenReturn(CompletableFuture.completedFuture("{\"employee_id\":\"4\"}"));
+
+        MvcResult result = mockMvc.perform(get("/api/camel/person/4/async?type=soap&timeoutMs=500"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.data.employee_id").value("4"))
+                .andExpect(jsonPath("$.route").value("soapPersonData"));
+    }
+
+    @Test
+    void testAsyncLookupTimeoutIsGatewayTimeout() throws Exception {
+        when(personLookupService.resolveTimeout(null)).thenReturn(Duration.ofMillis(100));
+        when(personLookupService.lookupAsync(any(), any(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new TimeoutException()));
+
+        MvcResult result = mockMvc.perform(get("/api/camel/person/9/async"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.status").value("error"))
+                .andExpect(jsonPath("$.message").value("Timed out after 100ms retrieving data for ID 9"));
+    }
+
+    @Test
+    void testAsyncLookupRejectsInvalidTimeout() throws Exception {
+        when(personLookupService.resolveTimeout(Duration.ZERO))
+            .thenThrow(new IllegalArgumentException("Timeout must be positive"));
+
+        MvcResult result = mockMvc.perform(get("/api/camel/person/1/async?timeoutMs=0")).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid request: Timeout must be positive"));
+    }
+}
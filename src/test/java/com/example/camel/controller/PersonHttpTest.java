@@ -0,0 +1,84 @@
+package com.example.camel.controller;
+
+import com.example.camel.support.StubPersonApi;
+import com.example.camel.support.StubPersonApiExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The person API as clients see it over the embedded server: HTTP/2, compression and conditional requests.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class PersonHttpTest {
+
+    // Des enregistrements de 4 Ko, au-dessus du seuil de compression
+    @RegisterExtension
+    static final StubPersonApiExtension upstreamApi =
+        new StubPersonApiExtension(StubPersonApi.Settings.defaults().withPayloadSize(4096));
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("person.api.base-url", upstreamApi::baseUrl);
+    }
+
+    @Test
+    void testLookupIsCompressedOverHttp2() throws Exception {
+        HttpResponse<byte[]> response = client.send(lookup("21").header("Accept-Encoding", "gzip").build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        String body = gunzip(response.body());
+        assertTrue(body.contains("\"first_name\":\"Person21\""), body);
+        assertTrue(response.body().length < body.length());
+    }
+
+    @Test
+    void testPollOfCachedRecordIsNotModified(StubPersonApi upstream) throws Exception {
+        HttpResponse<byte[]> first = client.send(lookup("22").build(), HttpResponse.BodyHandlers.ofByteArray());
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        int jsonRequests = upstream.jsonRequests();
+
+        HttpResponse<byte[]> poll = client.send(lookup("22").header("If-None-Match", etag).build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+
+        // Servi depuis le cache : ni appel amont, ni corps
+        assertEquals(304, poll.statusCode());
+        assertEquals(etag, poll.headers().firstValue("ETag").orElse(null));
+        assertEquals(0, poll.body().length);
+        assertEquals(jsonRequests, upstream.jsonRequests());
+    }
+
+    private HttpRequest.Builder lookup(String id) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/camel/person/" + id));
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.camel.load;
+
+import com.example.camel.CamelSpringBootApplication;
+import com.example.camel.support.LoadGenerator;
+import com.example.camel.support.StubPersonApi;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares maximum sustained throughput and tail latency of the person endpoint with platform threads
+ * and with the virtual-thread execution mode, against an upstream answering after a fixed delay.
+ * Tomcat keeps its default 200 worker threads, so the client count is chosen above it.
+ * <p>
+ * Run with {@code mvn test -Dtest=ExecutionModeLoadTest -Dloadtest=true} on Java 21+.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ExecutionModeLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeLoadTest.class);
+
+    private static final Duration UPSTREAM_LATENCY = Duration.ofMillis(100);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 600);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.seconds", 15));
+
+    @Test
+    void testVirtualThreadsAgainstPlatformThreads() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21");
+
+        try (StubPersonApi upstream = new StubPersonApi(UPSTREAM_LATENCY)) {
+            LoadGenerator.Result platform = run(upstream, false);
+            LoadGenerator.Result virtual = run(upstream, true);
+
+            log.info("{}", platform);
+            log.info("{}", virtual);
+            assertTrue(platform.requests() > 0 && virtual.requests() > 0);
+        }
+    }
+
+    private LoadGenerator.Result run(StubPersonApi upstream, boolean virtualThreads) throws Exception {
+        // As arguments: properties() only sets defaults, which application.yml overrides
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CamelSpringBootApplication.class)
+                .profiles("test")
+                .run(
+                    "--server.port=0",
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--person.api.base-url=" + upstream.baseUrl(),
+                    "--person.api.max-connections=2000",
+                    "--person.api.max-connections-per-route=2000",
+                    // Every request must reach upstream for the comparison to mean anything
+                    "--person.cache.enabled=false",
+                    "--logging.level.com.example.camel=WARN",
+                    "--logging.level.REQUEST_LOGGER=WARN",
+                    "--logging.level.org.apache.camel=WARN",
+                    "--logging.level.person-data-route=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            return new LoadGenerator().run(virtualThreads ? "virtual threads" : "platform threads",
+                n -> URI.create("http://localhost:" + port + "/api/camel/person/" + (n % 1000 + 1)),
+                CLIENTS, WARMUP, DURATION);
+        }
+    }
+}
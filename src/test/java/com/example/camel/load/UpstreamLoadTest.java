@@ -0,0 +1,127 @@
+package com.example.camel.load;
+
+import com.example.camel.CamelSpringBootApplication;
+import com.example.camel.processor.SoapEnvelopeWriter;
+import com.example.camel.support.LatencyDistribution;
+import com.example.camel.support.LoadGenerator;
+import com.example.camel.support.StubPersonApi;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repeatable load test of both lookup routes against the in-JVM upstream simulator. The simulator is first
+ * loaded on its own, so its ceiling can be checked to be well above what the gateway reaches; then the JSON and
+ * SOAP lookups go through the gateway, with the lookup cache off so every request reaches the upstream.
+ * Results are printed and appended to {@code target/load-results/upstream-load.csv}, one row per scenario and run.
+ * <p>
+ * Run with {@code mvn test -Dtest=UpstreamLoadTest -Dloadtest=true}, tuned with {@code -Dloadtest.clients},
+ * {@code -Dloadtest.seconds}, {@code -Dloadtest.latency} (e.g. {@code lognormal:5ms-50ms}),
+ * {@code -Dloadtest.error-rate} and {@code -Dloadtest.payload-size}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class UpstreamLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamLoadTest.class);
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 64);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration DURATION = Duration.ofSeconds(Integer.getInteger("loadtest.seconds", 15));
+    private static final String LATENCY = System.getProperty("loadtest.latency", "lognormal:5ms-50ms");
+    private static final double ERROR_RATE = Double.parseDouble(System.getProperty("loadtest.error-rate", "0"));
+    private static final int PAYLOAD_SIZE = Integer.getInteger("loadtest.payload-size", 0);
+    private static final Path RESULTS = Path.of("target", "load-results", "upstream-load.csv");
+
+    @Test
+    void testBothRoutesAgainstTheSimulator() throws Exception {
+        StubPersonApi.Settings settings = StubPersonApi.Settings.defaults()
+            .withLatency(LatencyDistribution.parse(LATENCY))
+            .withErrorRate(ERROR_RATE)
+            .withPayloadSize(PAYLOAD_SIZE);
+        LoadGenerator load = new LoadGenerator();
+        try (StubPersonApi upstream = new StubPersonApi(settings)) {
+            LoadGenerator.Result simulatorJson = load.run("simulator json",
+                n -> URI.create(upstream.baseUrl() + "/person_data/" + id(n)), CLIENTS, WARMUP, DURATION);
+            LoadGenerator.Result simulatorSoap = load.runRequests("simulator soap",
+                n -> HttpRequest.newBuilder(URI.create(upstream.baseUrl() + "/soap/PersonService"))
+                    .header("Content-Type", "application/soap+xml; charset=utf-8")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(SoapEnvelopeWriter.employeeRequest(id(n))))
+                    .timeout(Duration.ofSeconds(30))
+                    .build(),
+                CLIENTS, WARMUP, DURATION);
+
+            List<LoadGenerator.Result> results;
+            try (ConfigurableApplicationContext context = gateway(upstream)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                LoadGenerator.Result gatewayJson = load.run("gateway json",
+                    n -> URI.create("http://localhost:" + port + "/api/camel/person/" + id(n) + "?type=json"),
+                    CLIENTS, WARMUP, DURATION);
+                LoadGenerator.Result gatewaySoap = load.run("gateway soap",
+                    n -> URI.create("http://localhost:" + port + "/api/camel/person/" + id(n) + "?type=soap"),
+                    CLIENTS, WARMUP, DURATION);
+                results = List.of(simulatorJson, simulatorSoap, gatewayJson, gatewaySoap);
+            }
+
+            results.forEach(result -> log.info("{}", result));
+            record(results);
+            results.forEach(result -> assertTrue(result.requests() > 0, result.name()));
+        }
+    }
+
+    private static ConfigurableApplicationContext gateway(StubPersonApi upstream) {
+        // As arguments: properties() only sets defaults, which application.yml overrides
+        return new SpringApplicationBuilder(CamelSpringBootApplication.class)
+            .profiles("test")
+            .run(
+                "--server.port=0",
+                "--person.api.base-url=" + upstream.baseUrl(),
+                "--person.api.max-connections=1000",
+                "--person.api.max-connections-per-route=1000",
+                "--person.cache.enabled=false",
+                // The limiter would otherwise cap concurrency at its initial limit while it adapts
+                "--person.resilience.limiter.enabled=false",
+                "--person.resilience.bulkhead.max-concurrent-calls=1000",
+                "--logging.level.com.example.camel=WARN",
+                "--logging.level.REQUEST_LOGGER=WARN",
+                "--logging.level.org.apache.camel=WARN",
+                "--logging.level.person-data-route=WARN",
+                "--logging.level.soap-person-data-route=WARN");
+    }
+
+    private static String id(int n) {
+        return Integer.toString(n % 1000 + 1);
+    }
+
+    private static void record(List<LoadGenerator.Result> results) throws IOException {
+        Files.createDirectories(RESULTS.getParent());
+        StringBuilder rows = new StringBuilder();
+        if (!Files.exists(RESULTS)) {
+            rows.append("time,java,scenario,clients,latency,error_rate,payload_size,requests,errors,rps,p50_ms,p99_ms,p999_ms\n");
+        }
+        String time = Instant.now().toString();
+        for (LoadGenerator.Result result : results) {
+            rows.append(String.format(Locale.ROOT, "%s,%s,%s,%d,%s,%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f%n", time,
+                Runtime.version().feature(), result.name(), result.concurrency(), LATENCY, ERROR_RATE, PAYLOAD_SIZE,
+                result.requests(), result.errors(), result.rps(), result.p50Millis(), result.p99Millis(),
+                result.p999Millis()));
+        }
+        Files.writeString(RESULTS, rows, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.camel.logging;
+
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestEventRingTest {
+
+    private final DefaultCamelContext camelContext = new DefaultCamelContext();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        camelContext.close();
+    }
+
+    @Test
+    void testEventsAreDrainedInOrderAndOverflowIsCounted() {
+        RequestEventRing ring = new RequestEventRing(3);
+        assertEquals(4, ring.capacity());
+
+        List<RequestEvent> events = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            RequestEvent event = newEvent();
+            events.add(event);
+            assertEquals(i < 4, ring.offer(event));
+        }
+        assertEquals(2, ring.dropped());
+
+        List<RequestEvent> drained = new ArrayList<>();
+        assertEquals(3, ring.drain(drained::add, 3));
+        assertEquals(1, ring.drain(drained::add, 10));
+        assertEquals(events.subList(0, 4), drained);
+        assertEquals(0, ring.size());
+
+        // Une fois vidé, l'anneau accepte de nouveau des événements
+        assertTrue(ring.offer(newEvent()));
+    }
+
+    @Test
+    void testConcurrentProducersLoseNothingWithinCapacity() throws Exception {
+        RequestEventRing ring = new RequestEventRing(1024);
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<RequestEvent> offered = ConcurrentHashMap.newKeySet();
+        for (int p = 0; p < 4; p++) {
+            producers.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 2000; i++) {
+                    RequestEvent event = newEvent();
+                    while (!ring.offer(event)) {
+                        Thread.onSpinWait();
+                    }
+                    offered.add(event);
+                }
+            });
+        }
+
+        Set<RequestEvent> drained = new HashSet<>();
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (drained.size() < 8000 && System.nanoTime() < deadline) {
+            ring.drain(drained::add, 100);
+        }
+        producers.shutdown();
+
+        assertEquals(8000, drained.size());
+        assertEquals(offered, drained);
+    }
+
+    private RequestEvent newEvent() {
+        return new RequestEvent(null, new DefaultExchange(camelContext));
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.camel.logging;
+
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogAnalyzerTest {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 5, 2, 14, 0);
+
+    @TempDir
+    Path directory;
+
+    private final DefaultCamelContext camelContext = new DefaultCamelContext();
+    private RequestLogAnalyzer analyzer;
+
+    @BeforeEach
+    void setUp() {
+        RequestLogProperties properties = new RequestLogProperties();
+        properties.setDirectory(directory.toString());
+        properties.setAnalysisParallelism(4);
+        analyzer = new RequestLogAnalyzer(properties, camelContext);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        camelContext.close();
+    }
+
+    @Test
+    void testAggregatesTheWindow() throws IOException {
+        try (Writer log = Files.newBufferedWriter(directory.resolve("camel-requests.log"))) {
+            log.write("2024-05-02 14:00:00.000 | Route started\n");
+            for (int i = 0; i < 100; i++) {
+                // Une requête par seconde : 1 à 100 ms en JSON, toujours 500 ms en SOAP, une erreur sur dix
+                log.write(line(BASE.plusSeconds(i), "json", i + 1, i % 10 == 0 ? "ERROR" : "SUCCESS", "J" + i));
+                log.write(line(BASE.plusSeconds(i), "soap", 500, "SUCCESS", "S" + i));
+            }
+            log.write(line(BASE.plusSeconds(5), null, 7, "EXCEPTION", "X"));
+        }
+
+        RequestLogReport report = analyzer.analyze(time(BASE), time(BASE.plusSeconds(50)), null, 3);
+
+        assertEquals(1, report.filesScanned());
+        assertEquals(201, report.linesScanned());
+        assertEquals(101, report.total().count());
+        RequestLogReport.Summary json = report.types().get("json");
+        assertEquals(50, json.count());
+        assertEquals(5, json.errors());
+        assertEquals(0.1, json.errorRate(), 1e-9);
+        assertEquals(25, json.p50());
+        assertEquals(50, json.p99());
+        assertEquals(500, report.types().get("soap").p50());
+        assertEquals(1, report.types().get("other").errors());
+        // Les plus lentes d'abord, champs textuels restitués
+        assertEquals(3, report.slowest().size());
+        RequestLogReport.SlowRequest slowest = report.slowest().get(0);
+        assertEquals(500, slowest.durationMillis());
+        assertEquals("soap", slowest.type());
+        assertEquals("personId=1, type=soap", slowest.params());
+        assertEquals("SUCCESS", slowest.status());
+
+        RequestLogReport soapOnly = analyzer.analyze(time(BASE), time(BASE.plusSeconds(50)), "soap", 0);
+        assertEquals(50, soapOnly.total().count());
+        assertEquals(1, soapOnly.types().size());
+        assertTrue(soapOnly.slowest().isEmpty());
+    }
+
+    @Test
+    void testChunksSplitOnLines() throws IOException {
+        // Environ 6 Mo : le fichier est découpé en 4 tranches, aucune ligne perdue ni comptée deux fois
+        try (Writer log = Files.newBufferedWriter(directory.resolve("camel-requests.log"))) {
+            for (int i = 0; i < 30_000; i++) {
+                log.write(line(BASE.plusNanos(i * 1_000_000L), i % 2 == 0 ? "json" : "soap", i % 1000, "SUCCESS",
+                    "R" + i + "-".repeat(i % 37)));
+            }
+        }
+
+        RequestLogReport report = analyzer.analyze(time(BASE), time(BASE.plusHours(1)), null, 1);
+
+        assertEquals(30_000, report.linesScanned());
+        assertEquals(30_000, report.total().count());
+        assertEquals(15_000, report.types().get("json").count());
+        assertEquals(999, report.total().max());
+        assertEquals(999, report.slowest().get(0).durationMillis());
+    }
+
+    @Test
+    void testIndexSkipsFilesOutsideTheWindow() throws IOException {
+        Path rolled = directory.resolve("camel-requests.2024-05-01.0.log");
+        Files.writeString(rolled, line(BASE.minusDays(1), "json", 10, "SUCCESS", "old"));
+        Path active = directory.resolve("camel-requests.log");
+        Files.writeString(active, line(BASE, "json", 20, "SUCCESS", "new"));
+
+        // Première requête : tout est lu et indexé
+        assertEquals(2, analyzer.analyze(time(BASE), time(BASE.plusHours(1)), null, 0).filesScanned());
+        RequestLogReport today = analyzer.analyze(time(BASE), time(BASE.plusHours(1)), null, 0);
+        assertEquals(1, today.filesScanned());
+        assertEquals(1, today.filesSkipped());
+        assertEquals(1, today.total().count());
+        assertEquals(2, analyzer.analyze(time(BASE), time(BASE.plusHours(1)), "soap", 0).filesSkipped());
+
+        // Un fichier modifié est relu
+        Files.writeString(active, line(BASE.plusMinutes(1), "soap", 30, "SUCCESS", "appended"), StandardOpenOption.APPEND);
+        RequestLogReport soap = analyzer.analyze(time(BASE), time(BASE.plusHours(1)), "soap", 0);
+        assertEquals(1, soap.filesScanned());
+        assertEquals(1, soap.total().count());
+    }
+
+    @Test
+    void testLineBeingWrittenIsLeftOut() throws IOException {
+        String partial = line(BASE.plusSeconds(1), "json", 40, "SUCCESS", "partial");
+        Files.writeString(directory.resolve("camel-requests.log"),
+            line(BASE, "json", 20, "SUCCESS", "done") + partial.substring(0, partial.indexOf("Duration") + 11),
+            StandardCharsets.UTF_8);
+
+        RequestLogReport report = analyzer.analyze(time(BASE), time(BASE.plusHours(1)), null, 5);
+
+        assertEquals(1, report.total().count());
+        assertEquals(20, report.total().max());
+    }
+
+    @Test
+    void testInvalidQueries() {
+        assertThrows(IllegalArgumentException.class, () -> analyzer.analyze(time(BASE), time(BASE), null, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> analyzer.analyze(time(BASE), time(BASE.plusHours(1)), null, RequestLogAnalyzer.MAX_TOP + 1));
+        assertThrows(IllegalArgumentException.class, () -> analyzer.parseTime("yesterday"));
+        assertEquals(time(BASE), analyzer.parseTime("2024-05-02 14:00"));
+        assertEquals(Instant.parse("2024-05-02T12:00:00Z"), analyzer.parseTime("2024-05-02T14:00+02:00"));
+        // Aucun journal : rapport vide
+        assertEquals(0, analyzer.analyze(time(BASE), time(BASE.plusHours(1)), null, 10).total().count());
+    }
+
+    private static String line(LocalDateTime start, String type, long durationMillis, String status, String requestId) {
+        String params = "personId=1" + (type != null ? ", type=" + type : "");
+        int code = status.equals("SUCCESS") ? 200 : 500;
+        String end = TIME.format(start.plusNanos(durationMillis * 1_000_000));
+        return end + " | REQUEST_SUMMARY | StartTime: " + TIME.format(start) + " | EndTime: " + end
+            + " | URL:  | Params: " + params + " | HTTPCode: " + code + " | Duration: " + durationMillis
+            + "ms | Size: 42B | Status: " + status + " | RequestId: " + requestId + "\n";
+    }
+
+    private static Instant time(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
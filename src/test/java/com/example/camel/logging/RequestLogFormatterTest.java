@@ -0,0 +1,87 @@
+package com.example.camel.logging;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogFormatterTest {
+
+    private static final Pattern SUMMARY = Pattern.compile(
+        "REQUEST_SUMMARY \\| StartTime: \\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3} "
+            + "\\| EndTime: \\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2}:\\d{2}\\.\\d{3} \\| URL: (.*) \\| Params: (.*) "
+            + "\\| HTTPCode: (\\d+) \\| Duration: (\\d+)ms \\| Size: (\\d+)B \\| Status: (\\w+) \\| RequestId: (.+)");
+
+    private final DefaultCamelContext camelContext = new DefaultCamelContext();
+    private final RequestLogFormatter formatter = new RequestLogFormatter(ZoneOffset.UTC);
+
+    @AfterEach
+    void tearDown() throws Exception {
+        camelContext.close();
+    }
+
+    @Test
+    void testSummaryKeepsTheExistingLayout() {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getIn().setHeader("personId", "1");
+        exchange.getIn().setHeader("type", "json");
+        RequestEvent event = new RequestEvent(null, exchange);
+        exchange.getMessage().setBody("{\"first_name\":\"Élodie\"}");
+        event.recordResponse(exchange);
+
+        Matcher matcher = SUMMARY.matcher(formatter.format(event));
+        assertTrue(matcher.matches(), formatter.format(event).toString());
+        assertEquals("personId=1, type=json", matcher.group(2));
+        assertEquals("200", matcher.group(3));
+        // Taille en octets UTF-8, sans conversion du corps
+        assertEquals("24", matcher.group(5));
+        assertEquals("SUCCESS", matcher.group(6));
+        assertEquals(exchange.getExchangeId(), matcher.group(7));
+    }
+
+    @Test
+    void testFailuresAndUpstreamStatus() {
+        Exchange failed = new DefaultExchange(camelContext);
+        RequestEvent event = new RequestEvent(null, failed);
+        failed.setException(new IllegalStateException("upstream down"));
+        event.recordResponse(failed);
+        Matcher matcher = SUMMARY.matcher(formatter.format(event));
+        assertTrue(matcher.matches());
+        assertEquals("500", matcher.group(3));
+        assertEquals("EXCEPTION", matcher.group(6));
+
+        Exchange notFound = new DefaultExchange(camelContext);
+        event = new RequestEvent(null, notFound);
+        notFound.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 404);
+        notFound.getMessage().setHeader(Exchange.CONTENT_LENGTH, "17");
+        notFound.getMessage().setBody(new ByteArrayInputStream(new byte[17]));
+        event.recordResponse(notFound);
+        matcher = SUMMARY.matcher(formatter.format(event));
+        assertTrue(matcher.matches());
+        assertEquals("404", matcher.group(3));
+        assertEquals("17", matcher.group(5));
+        assertEquals("ERROR", matcher.group(6));
+    }
+
+    @Test
+    void testTimestampsArePaddedToMilliseconds() {
+        Exchange exchange = new DefaultExchange(camelContext);
+        RequestEvent event = new RequestEvent(null, exchange);
+        event.recordResponse(exchange);
+
+        String line = formatter.format(event).toString();
+        String expected = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .format(Instant.ofEpochMilli(event.startMillis).atZone(ZoneOffset.UTC));
+        assertTrue(line.startsWith("REQUEST_SUMMARY | StartTime: " + expected + " | "), line);
+    }
+}
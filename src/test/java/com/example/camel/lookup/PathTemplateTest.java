@@ -0,0 +1,45 @@
+package com.example.camel.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathTemplateTest {
+
+    @Test
+    void testIdSegmentLeavesAStaticEndpointPath() {
+        PathTemplate template = PathTemplate.parse("/api/people/{id}/profile");
+
+        assertEquals("/api/people", template.getStaticPath());
+        assertEquals("42/profile", template.path("42"));
+        assertNull(template.query("42"));
+    }
+
+    @Test
+    void testStaticPathAndQuery() {
+        PathTemplate template = PathTemplate.parse("/soap/PersonService");
+        assertEquals("/soap/PersonService", template.getStaticPath());
+        assertNull(template.path("1"));
+
+        template = PathTemplate.parse("/people?id={id}&full=true");
+        assertEquals("/people", template.getStaticPath());
+        assertNull(template.path("1"));
+        assertEquals("id=1&full=true", template.query("1"));
+    }
+
+    @Test
+    void testIdIsEncoded() {
+        PathTemplate template = PathTemplate.parse("/people/{id}?ref={id}");
+
+        // L'ID ne peut ni changer de segment ni ajouter de paramètre
+        assertEquals("a%2Fb%20c", template.path("a/b c"));
+        assertEquals("ref=a%2Fb+c%26x%3D1", template.query("a/b c&x=1"));
+    }
+
+    @Test
+    void testInvalidTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> PathTemplate.parse("people/{id}"));
+        assertThrows(IllegalArgumentException.class, () -> PathTemplate.parse("/people/{name}"));
+        assertThrows(IllegalArgumentException.class, () -> PathTemplate.parse(null));
+    }
+}
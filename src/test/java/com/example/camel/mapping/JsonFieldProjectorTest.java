@@ -0,0 +1,75 @@
+package com.example.camel.mapping;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonFieldProjectorTest {
+
+    private final JsonFieldProjector projector = new JsonFieldProjector(new JsonFactory(), "/Ok", MappingPlan.compile(List.of(
+        new FieldMapping("/first_name", "first_name", FieldType.AUTO),
+        new FieldMapping("/created_at", "creation_date", FieldType.AUTO))));
+
+    @Test
+    void testSkipsNestedBlobsAndUnmappedFields() throws Exception {
+        String result = project("""
+            {"Meta":{"Ok":{"first_name":"Wrong"}},
+             "Ok":{"id":1,"history":[{"first_name":"Old"},{"nested":{"a":[1,2,3]}}],
+                   "first_name":"Jean","profile":{"created_at":"nested"},"created_at":"2025-08-19T09:25:30Z"},
+             "Trailer":{"ignored":true}}
+            """);
+
+        assertEquals("{\"first_name\":\"Jean\",\"creation_date\":\"2025-08-19T09:25:30Z\"}", result);
+    }
+
+    @Test
+    void testMissingFieldsAreWrittenAsNull() throws Exception {
+        String result = project("{\"Ok\":{\"first_name\":\"Jean\"}}");
+
+        assertEquals("{\"first_name\":\"Jean\",\"creation_date\":null}", result);
+    }
+
+    @Test
+    void testNestedPointersAndTypeCoercion() throws Exception {
+        JsonFieldProjector typed = new JsonFieldProjector(new JsonFactory(), "", MappingPlan.compile(List.of(
+            new FieldMapping("/Ok/profile/salary", "salary", FieldType.NUMBER),
+            new FieldMapping("/Ok/active", "is_active", FieldType.BOOLEAN),
+            new FieldMapping("/Ok/id", "id", FieldType.STRING),
+            new FieldMapping("/Ok/tags", "tags", FieldType.AUTO))));
+
+        String result = project(typed,
+            "{\"Ok\":{\"id\":42,\"tags\":[\"a\",{\"b\":1}],\"active\":\"TRUE\",\"profile\":{\"salary\":\"52500\"}}}");
+
+        assertEquals("{\"salary\":52500,\"is_active\":true,\"id\":\"42\",\"tags\":[\"a\",{\"b\":1}]}", result);
+    }
+
+    @Test
+    void testMappingWithoutSourceOrValueIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+            () -> MappingPlan.compile(List.of(new FieldMapping(null, "orphan", FieldType.AUTO))));
+    }
+
+    @Test
+    void testMissingRootObjectIsRejected() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+            () -> project("{\"Err\":{\"first_name\":\"Jean\"}}"));
+
+        assertTrue(error.getMessage().contains("'Ok' field not found"));
+    }
+
+    private String project(String json) throws Exception {
+        return project(projector, json);
+    }
+
+    private static String project(JsonFieldProjector projector, String json) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        projector.project(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
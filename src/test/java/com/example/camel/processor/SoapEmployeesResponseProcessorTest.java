@@ -0,0 +1,151 @@
+package com.example.camel.processor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SoapEmployeesResponseProcessorTest {
+
+    private static final String BULK_RESPONSE = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <soap:Envelope xmlns:soap="http://www.w3.org/2003/05/soap-envelope" xmlns:per="http://example.com/person">
+            <soap:Body>
+                <per:GetEmployeesResponse>
+                    <per:Employee>
+                        <per:EmployeeId>3</per:EmployeeId>
+                        <per:FullName>Pierre Marie</per:FullName>
+                        <per:Salary>52500</per:Salary>
+                    </per:Employee>
+                    <per:Employee>
+                        <per:EmployeeId>4</per:EmployeeId>
+                        <per:FullName>Sophie Pierre</per:FullName>
+                        <per:Department>R&amp;D</per:Department>
+                    </per:Employee>
+                    <per:ResponseCode>SUCCESS</per:ResponseCode>
+                    <per:ResponseMessage>Employees data retrieved successfully</per:ResponseMessage>
+                </per:GetEmployeesResponse>
+            </soap:Body>
+        </soap:Envelope>
+        """;
+
+    @Autowired
+    private SoapEmployeesResponseProcessor processor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DefaultCamelContext context = new DefaultCamelContext();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Test
+    void testSplitsEmployeesByIdInDocumentOrder() throws Exception {
+        Map<String, String> employees = process(BULK_RESPONSE);
+
+        assertEquals(List.of("3", "4"), List.copyOf(employees.keySet()));
+        JsonNode first = objectMapper.readTree(employees.get("3"));
+        assertEquals("Pierre Marie", first.get("full_name").asText());
+        assertEquals(52500, first.get("salary").asInt());
+        // Les champs d'un employé ne débordent pas sur le suivant
+        assertTrue(first.get("department").isNull());
+        JsonNode second = objectMapper.readTree(employees.get("4"));
+        assertEquals("Sophie Pierre", second.get("full_name").asText());
+        assertEquals("R&D", second.get("department").asText());
+        assertTrue(second.get("salary").isNull());
+    }
+
+    @Test
+    void testSharedElementsApplyToEveryEmployee() throws Exception {
+        Map<String, String> employees = process(BULK_RESPONSE);
+
+        // Le code réponse est hors des enregistrements : chaque employé le reçoit
+        for (String json : employees.values()) {
+            JsonNode employee = objectMapper.readTree(json);
+            assertEquals("SUCCESS", employee.get("response_code").asText());
+            assertEquals("SOAP/XML", employee.get("data_source").asText());
+        }
+    }
+
+    @Test
+    void testEmployeesAreKeyedOnTrimmedIds() throws Exception {
+        Map<String, String> employees = process("""
+            <Envelope><Body><GetEmployeesResponse>
+            <Employee><EmployeeId> 007 </EmployeeId><FullName>Jean Dupont</FullName></Employee>
+            <Employee><EmployeeId>AB12</EmployeeId><FullName>Marie Martin</FullName></Employee>
+            <Employee><EmployeeId>7</EmployeeId><FullName>Paul Durand</FullName></Employee>
+            </GetEmployeesResponse></Body></Envelope>
+            """);
+
+        // "007" et "7" sont deux employés distincts
+        assertEquals(List.of("007", "AB12", "7"), List.copyOf(employees.keySet()));
+        assertEquals("7", SoapEmployeesResponseProcessor.normalize("07"));
+        assertEquals("ab12", SoapEmployeesResponseProcessor.normalize(" Ab12"));
+        assertEquals("0", SoapEmployeesResponseProcessor.normalize("000"));
+    }
+
+    @Test
+    void testRequestedIdsFallBackOnUnambiguousNormalizedIds() {
+        Map<String, String> employees = Map.of("7", "{\"n\":7}", "ab12", "{\"n\":12}");
+
+        SoapEmployeesResponseProcessor.Match match = SoapEmployeesResponseProcessor.match(List.of("007", "AB12", "9"), employees);
+
+        // L'amont a normalisé les identifiants : chaque demande retrouve tout de même son employé
+        assertEquals(Map.of("007", "{\"n\":7}", "AB12", "{\"n\":12}"), match.found());
+        assertTrue(match.ambiguous().isEmpty());
+    }
+
+    @Test
+    void testCollidingIdsInOneBatchNeverShareARecord() {
+        // Les deux IDs demandés sont distincts mais se normalisent de la même façon
+        List<String> ids = List.of("7", "007", "AB1", "ab1");
+
+        SoapEmployeesResponseProcessor.Match exact = SoapEmployeesResponseProcessor.match(ids,
+            Map.of("7", "seven", "007", "double-o-seven", "AB1", "upper", "ab1", "lower"));
+        assertEquals(Map.of("7", "seven", "007", "double-o-seven", "AB1", "upper", "ab1", "lower"), exact.found());
+        assertTrue(exact.ambiguous().isEmpty());
+
+        // Un seul enregistrement pour deux demandes : aucune ne le reçoit à la place de l'autre
+        SoapEmployeesResponseProcessor.Match normalized = SoapEmployeesResponseProcessor.match(List.of("007", "07", "AB1", "ab1"),
+            Map.of("7", "seven", "ab1", "lower"));
+        assertEquals(Map.of("ab1", "lower"), normalized.found());
+        assertEquals(Set.of("007", "07", "AB1"), normalized.ambiguous());
+    }
+
+    @Test
+    void testResponseWithoutEmployeesIsEmpty() throws Exception {
+        Map<String, String> employees = process("""
+            <Envelope><Body><GetEmployeesResponse><ResponseCode>NOT_FOUND</ResponseCode>
+            </GetEmployeesResponse></Body></Envelope>
+            """);
+
+        assertTrue(employees.isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> process(String xml) throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(new ByteArrayInputStream(xml.strip().getBytes(StandardCharsets.UTF_8)));
+
+        processor.process(exchange);
+
+        return exchange.getIn().getBody(Map.class);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.camel.processor;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoapEnvelopeWriterTest {
+
+    private static final String PER = "http://example.com/person";
+
+    @Test
+    void testEmployeeRequest() throws Exception {
+        Document envelope = parse(SoapEnvelopeWriter.employeeRequest("42"));
+
+        assertEquals("Envelope", envelope.getDocumentElement().getLocalName());
+        assertEquals(1, envelope.getElementsByTagNameNS(PER, "GetEmployeeRequest").getLength());
+        assertEquals("42", envelope.getElementsByTagNameNS(PER, "employeeId").item(0).getTextContent());
+    }
+
+    @Test
+    void testIdsAreEscapedNotInjected() throws Exception {
+        String hostile = "1</per:employeeId><per:employeeId>2 & \"3\" 'é' 😀";
+        Document envelope = parse(SoapEnvelopeWriter.employeeRequest(hostile));
+
+        // L'identifiant reste une seule valeur texte, restituée à l'identique
+        NodeList ids = envelope.getElementsByTagNameNS(PER, "employeeId");
+        assertEquals(1, ids.getLength());
+        assertEquals(hostile, ids.item(0).getTextContent());
+    }
+
+    @Test
+    void testEmployeesRequestKeepsIdOrder() throws Exception {
+        Document envelope = parse(SoapEnvelopeWriter.employeesRequest(List.of("3", "1", "<2>")));
+
+        assertEquals(1, envelope.getElementsByTagNameNS(PER, "GetEmployeesRequest").getLength());
+        NodeList ids = envelope.getElementsByTagNameNS(PER, "employeeId");
+        assertEquals(3, ids.getLength());
+        assertEquals("3", ids.item(0).getTextContent());
+        assertEquals("1", ids.item(1).getTextContent());
+        assertEquals("<2>", ids.item(2).getTextContent());
+    }
+
+    @Test
+    void testIdsXmlCannotCarryAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> SoapEnvelopeWriter.employeeRequest("1\u0000"));
+        assertThrows(IllegalArgumentException.class, () -> SoapEnvelopeWriter.employeeRequest("1\uD83D"));
+        assertThrows(IllegalArgumentException.class, () -> SoapEnvelopeWriter.employeesRequest(List.of()));
+    }
+
+    private static Document parse(byte[] xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    }
+}
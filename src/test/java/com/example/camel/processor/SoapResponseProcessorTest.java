@@ -0,0 +1,114 @@
+package com.example.camel.processor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SoapResponseProcessorTest {
+
+    private static final String SOAP_RESPONSE = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <soap:Envelope xmlns:soap="http://www.w3.org/2003/05/soap-envelope" xmlns:per="http://example.com/person">
+            <soap:Header/>
+            <soap:Body>
+                <per:GetEmployeeResponse>
+                    <per:Employee>
+                        <per:EmployeeId>3</per:EmployeeId>
+                        <per:FullName>Pierre Marie</per:FullName>
+                        <per:Department>Finance</per:Department>
+                        <per:Position>Analyst</per:Position>
+                        <per:Email>pierre.marie@company.com</per:Email>
+                        <per:Salary>52500</per:Salary>
+                        <per:HireDate>2020-04-15</per:HireDate>
+                        <per:IsActive>true</per:IsActive>
+                        <per:Office>Building 1, Floor 4</per:Office>
+                        <per:Phone>+33 1 42 03 03 03</per:Phone>
+                        <per:Extension>1003</per:Extension>
+                    </per:Employee>
+                    <per:ResponseCode>SUCCESS</per:ResponseCode>
+                    <per:ResponseMessage>Employee data retrieved successfully</per:ResponseMessage>
+                    <per:Timestamp>2025-09-13T15:29:13Z</per:Timestamp>
+                </per:GetEmployeeResponse>
+            </soap:Body>
+        </soap:Envelope>
+        """;
+
+    @Autowired
+    private SoapResponseProcessor processor;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DefaultCamelContext context = new DefaultCamelContext();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        context.close();
+    }
+
+    @Test
+    void testExtractsEmployeeFieldsFromStream() throws Exception {
+        JsonNode result = process(SOAP_RESPONSE);
+
+        assertEquals("3", result.get("employee_id").asText());
+        assertEquals("Pierre Marie", result.get("full_name").asText());
+        assertEquals("Finance", result.get("department").asText());
+        // Conversion de type déclarée dans person.mappings.soap
+        assertTrue(result.get("salary").isNumber());
+        assertEquals(52500, result.get("salary").asInt());
+        assertTrue(result.get("is_active").isBoolean());
+        assertTrue(result.get("is_active").asBoolean());
+        assertEquals("1003", result.get("extension").asText());
+        assertEquals("SOAP/XML", result.get("data_source").asText());
+        assertEquals("SUCCESS", result.get("response_code").asText());
+        assertEquals("Employee data retrieved successfully", result.get("response_message").asText());
+        // Les éléments non configurés ne doivent pas apparaître
+        assertFalse(result.has("Timestamp"));
+        assertEquals(14, result.size());
+    }
+
+    @Test
+    void testElementPathsRequireTheParentElement() throws Exception {
+        JsonNode result = process("""
+            <Envelope><Body><Manager><FullName>Not this one</FullName></Manager>
+            <Employee><FullName>Sophie Pierre</FullName><Salary>n/a</Salary></Employee></Body></Envelope>
+            """);
+
+        assertEquals("Sophie Pierre", result.get("full_name").asText());
+        // Une valeur non numérique devient null
+        assertTrue(result.get("salary").isNull());
+    }
+
+    @Test
+    void testMissingElementsAreNull() throws Exception {
+        JsonNode result = process("""
+            <Envelope><Body><Employee><EmployeeId>7</EmployeeId></Employee></Body></Envelope>
+            """);
+
+        assertEquals("7", result.get("employee_id").asText());
+        assertTrue(result.get("full_name").isNull());
+        assertTrue(result.get("response_code").isNull());
+    }
+
+    private JsonNode process(String xml) throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        exchange.getIn().setBody(new ByteArrayInputStream(xml.strip().getBytes(StandardCharsets.UTF_8)));
+
+        processor.process(exchange);
+
+        assertEquals("application/json", exchange.getIn().getHeader("Content-Type"));
+        return objectMapper.readTree(exchange.getIn().getBody(String.class));
+    }
+}
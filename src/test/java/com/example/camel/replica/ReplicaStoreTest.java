@@ -0,0 +1,148 @@
+package com.example.camel.replica;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testValuesSurviveReopening() throws Exception {
+        try (ReplicaStore store = ReplicaStore.open(directory, 100, 64 * 1024)) {
+            assertTrue(store.put("json:1", "{\"first_name\":\"Person1\"}", 10));
+            assertTrue(store.put("soap:1", "{\"full_name\":\"Jean Dupont\"}", 20));
+            assertTrue(store.put("json:1", "{\"first_name\":\"Personne1\"}", 30));
+            assertNull(store.get("json:2"));
+        }
+
+        // Réouverture : lisible sans rechargement, la dernière valeur l'emporte
+        try (ReplicaStore store = ReplicaStore.open(directory, 100, 64 * 1024)) {
+            assertEquals(2, store.size());
+            assertEquals("{\"first_name\":\"Personne1\"}", store.get("json:1"));
+            assertEquals("{\"full_name\":\"Jean Dupont\"}", store.get("soap:1"));
+            assertEquals(30, store.syncedAt("json:1"));
+            assertEquals(-1, store.syncedAt("json:2"));
+        }
+    }
+
+    @Test
+    void testFullDataFileIsCompacted() throws Exception {
+        try (ReplicaStore store = ReplicaStore.open(directory, 10, 4096)) {
+            // Bien plus d'écritures que le fichier n'en contient : les versions remplacées sont écartées
+            for (int i = 0; i < 500; i++) {
+                assertTrue(store.put("json:" + (i % 10), "{\"version\":" + i + "}", i));
+            }
+            assertEquals(10, store.size());
+            assertEquals("{\"version\":499}", store.get("json:9"));
+            assertEquals("{\"version\":490}", store.get("json:0"));
+            assertTrue(store.usedBytes() <= 4096);
+        }
+        try (ReplicaStore store = ReplicaStore.open(directory, 10, 4096)) {
+            assertEquals("{\"version\":495}", store.get("json:5"));
+        }
+    }
+
+    @Test
+    void testCapacityIsEnforced() throws Exception {
+        try (ReplicaStore store = ReplicaStore.open(directory, 2, 4096)) {
+            assertTrue(store.put("json:1", "{}", 1));
+            assertTrue(store.put("json:2", "{}", 1));
+            assertFalse(store.put("json:3", "{}", 1));
+            // Une clé existante peut toujours être mise à jour
+            assertTrue(store.put("json:2", "{\"a\":1}", 2));
+            assertFalse(store.put("json:4", "x".repeat(5000), 1));
+            assertNull(store.get("json:3"));
+        }
+    }
+
+    @Test
+    void testFullStoreOfLiveRecordsIsNotCompacted() throws Exception {
+        try (ReplicaStore store = ReplicaStore.open(directory, 1000, 4096)) {
+            int keys = 0;
+            // Clés de même longueur : une mise à jour prend autant de place qu'un ajout
+            while (store.put("json:%04d".formatted(keys), "{\"version\":0}", 1)) {
+                keys++;
+            }
+            // Rien que des enregistrements vivants : une compaction ne libérerait rien
+            long generation = store.generation();
+            long usedBytes = store.usedBytes();
+
+            for (int i = 0; i < 100; i++) {
+                assertFalse(store.put("json:%04d".formatted(keys + i), "{\"version\":0}", 3));
+                assertFalse(store.put("json:0001", "{\"version\":" + i % 10 + "}", 3));
+            }
+            assertEquals(generation, store.generation());
+            assertEquals(usedBytes, store.usedBytes());
+            assertEquals("{\"version\":0}", store.get("json:0001"));
+        }
+    }
+
+    @Test
+    void testCompactionKeepsOnlyLiveBytes() throws Exception {
+        try (ReplicaStore store = ReplicaStore.open(directory, 10, 4096)) {
+            for (int i = 0; i < 200; i++) {
+                assertTrue(store.put("json:" + (i % 2), "{\"version\":" + i + "}", i));
+            }
+            long generation = store.generation();
+            assertTrue(generation > 1);
+            assertTrue(store.liveBytes() < store.usedBytes());
+        }
+        // Les octets vivants sont recalculés à la réouverture
+        try (ReplicaStore store = ReplicaStore.open(directory, 10, 4096)) {
+            long live = store.liveBytes();
+            store.put("json:0", "{\"version\":1000}", 1000);
+            assertEquals(live + 1, store.liveBytes());
+        }
+    }
+
+    @Test
+    void testTouchMovesSyncedAtWithoutWriting() throws Exception {
+        try (ReplicaStore store = ReplicaStore.open(directory, 100, 64 * 1024)) {
+            store.put("json:1", "{}", 10);
+            long usedBytes = store.usedBytes();
+
+            assertTrue(store.touch("json:1", 50));
+            assertFalse(store.touch("json:2", 50));
+
+            assertEquals(50, store.syncedAt("json:1"));
+            assertEquals("{}", store.get("json:1"));
+            assertEquals(usedBytes, store.usedBytes());
+            assertEquals(-1, store.syncedAt("json:2"));
+        }
+    }
+
+    @Test
+    void testStaleKeysAreOldestFirst() throws Exception {
+        try (ReplicaStore store = ReplicaStore.open(directory, 100, 64 * 1024)) {
+            store.put("json:1", "{}", 50);
+            store.put("json:2", "{}", 10);
+            store.put("json:3", "{}", 30);
+            store.put("json:4", "{}", 90);
+            store.put("soap:1", "{}", 5);
+
+            assertEquals(List.of("json:2", "json:3"), store.staleKeys("json:", 60, 2));
+            assertEquals(List.of("json:2", "json:3", "json:1"), store.staleKeys("json:", 60, 10));
+            assertEquals(List.of("soap:1"), store.staleKeys("soap:", 60, 10));
+            assertEquals(List.of(), store.staleKeys("json:", 60, 0));
+        }
+    }
+
+    @Test
+    void testOtherLayoutStartsEmpty() throws Exception {
+        try (ReplicaStore store = ReplicaStore.open(directory, 100, 64 * 1024)) {
+            store.put("json:1", "{}", 1);
+        }
+        // Un index d'une autre taille ne peut pas être relu : la réplique repart vide
+        try (ReplicaStore store = ReplicaStore.open(directory, 1000, 64 * 1024)) {
+            assertEquals(0, store.size());
+            assertNull(store.get("json:1"));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.camel.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void testRefusesCallsBeyondTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD, 0.5);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+
+        // Un appel refusé par le disjoncteur libère sa place sans modifier la limite
+        limiter.abandon();
+        assertEquals(2, limiter.getLimit());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void testGrowsOnlyWhileTheLimitIsUsed() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 5, THRESHOLD, 0.5);
+
+        // Un seul appel à la fois sur une limite de 4 : la limite ne grandit pas
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+        assertEquals(4, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+        assertEquals(5, limiter.getLimit());
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.release(FAST, false);
+        // Plafonnée à la limite maximale
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    void testBacksOffOnSlowOrFailedCalls() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, THRESHOLD, 0.5);
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertEquals(4, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+        assertEquals(2, limiter.getLimit());
+
+        limiter.tryAcquire();
+        limiter.release(FAST, true);
+        // Jamais sous la limite minimale
+        assertEquals(2, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 0, 10, THRESHOLD, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 5, 2, THRESHOLD, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(1, 1, 2, THRESHOLD, 1.0));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.camel.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgeBudgetTest {
+
+    @Test
+    void testHedgesAtMostTheBudgetedShare() {
+        HedgeBudget budget = new HedgeBudget(0.05);
+        int hedged = 0;
+        for (int call = 0; call < 1000; call++) {
+            budget.deposit();
+            // Chaque appel voudrait être doublé
+            if (budget.tryWithdraw()) {
+                hedged++;
+            }
+        }
+        assertEquals(50, hedged);
+    }
+
+    @Test
+    void testQuietPeriodSavesOnlyAShortBurst() {
+        HedgeBudget budget = new HedgeBudget(0.5);
+        for (int call = 0; call < 1000; call++) {
+            budget.deposit();
+        }
+
+        int burst = 0;
+        while (budget.tryWithdraw()) {
+            burst++;
+        }
+        assertEquals(10, burst);
+    }
+
+    @Test
+    void testRefundedHedgeCanBeSpentAgain() {
+        HedgeBudget budget = new HedgeBudget(0.5);
+        budget.deposit();
+        budget.deposit();
+
+        assertTrue(budget.tryWithdraw());
+        assertFalse(budget.tryWithdraw());
+        // Retiré mais jamais envoyé : le jeton revient au budget
+        budget.refund();
+        assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    void testZeroBudgetNeverHedges() {
+        HedgeBudget budget = new HedgeBudget(0);
+        for (int call = 0; call < 100; call++) {
+            budget.deposit();
+        }
+        assertFalse(budget.tryWithdraw());
+        assertThrows(IllegalArgumentException.class, () -> new HedgeBudget(1.5));
+    }
+}
@@ -16,6 +16,9 @@ class JsonTransformRouteTest {
     @Autowired
     private CamelContext camelContext;
 
+    @Autowired
+    private PersonDataProcessor processor;
+
     @Test
     void testCamelContextStartup() {
         // Vérifie que le contexte Camel démarre correctement
@@ -28,8 +31,6 @@ class JsonTransformRouteTest {
         // Test direct du processeur de données de personne
         String inputJson = "{\"Ok\":{\"id\":1,\"first_name\":\"Jean\",\"last_name\":\"Dupont\",\"email\":\"jean.dupont@test.com\",\"phone\":\"+33123456789\",\"birth_date\":\"1990-05-15\",\"gender\":\"M\",\"created_at\":\"2025-08-19T09:25:30.135028Z\",\"updated_at\":\"2025-08-19T09:25:30.135028Z\",\"is_active\":true}}";
         
-        PersonDataProcessor processor = new PersonDataProcessor();
-        
         // Créer un exchange simple pour le test
         org.apache.camel.impl.DefaultCamelContext context = new org.apache.camel.impl.DefaultCamelContext();
         org.apache.camel.Exchange exchange = context.getEndpoint("direct:test").createExchange();
@@ -0,0 +1,212 @@
+package com.example.camel.route;
+
+import com.example.camel.lookup.LookupRegistry;
+import com.example.camel.lookup.LookupRoutes;
+import com.example.camel.support.StubPersonApi;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ProducerTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LookupRoutesTest {
+
+    private static final StubPersonApi upstream = startUpstream();
+    private static final Path lookupFile = lookupFile();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProducerTemplate producerTemplate;
+
+    @Autowired
+    private CamelContext camelContext;
+
+    @Autowired
+    private LookupRegistry lookupRegistry;
+
+    @Autowired
+    private LookupRoutes lookupRoutes;
+
+    @DynamicPropertySource
+    static void lookupProperties(DynamicPropertyRegistry registry) {
+        registry.add("person.api.base-url", upstream::baseUrl);
+        registry.add("person.lookups.file", lookupFile::toString);
+        registry.add("person.lookups.reload-interval", () -> "50ms");
+        registry.add("person.lookups.routes.contact.path", () -> "/person_data/{id}");
+        registry.add("person.lookups.routes.contact.cache", () -> "false");
+        registry.add("person.lookups.routes.contact.timeout", () -> "2s");
+        registry.add("person.lookups.routes.contact.response.root", () -> "/Ok");
+        registry.add("person.lookups.routes.contact.response.fields[0].source", () -> "/email");
+        registry.add("person.lookups.routes.contact.response.fields[0].target", () -> "email");
+        registry.add("person.lookups.routes.contact.response.fields[1].source", () -> "/is_active");
+        registry.add("person.lookups.routes.contact.response.fields[1].target", () -> "active");
+        registry.add("person.lookups.routes.department.method", () -> "POST");
+        registry.add("person.lookups.routes.department.path", () -> "/soap/PersonService");
+        registry.add("person.lookups.routes.department.headers.SOAPAction", () -> "getEmployee");
+        registry.add("person.lookups.routes.department.request", () -> "soap-employee");
+        registry.add("person.lookups.routes.department.format", () -> "xml");
+        registry.add("person.lookups.routes.department.response.fields[0].source", () -> "Employee/Department");
+        registry.add("person.lookups.routes.department.response.fields[0].target", () -> "department");
+    }
+
+    @AfterAll
+    static void stopUpstream() throws IOException {
+        upstream.close();
+        Files.deleteIfExists(lookupFile);
+    }
+
+    @AfterEach
+    void resetLookupFile() throws Exception {
+        // Chaque test part des seules recherches configurées, quel que soit l'ordre d'exécution
+        Files.deleteIfExists(lookupFile);
+        lookupRoutes.reload();
+    }
+
+    @Test
+    void testDeclaredJsonLookup() throws Exception {
+        int jsonRequests = upstream.jsonRequests();
+
+        mockMvc.perform(get("/api/camel/person/7?type=contact"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.email").value("person7@example.com"))
+                .andExpect(jsonPath("$.data.active").value(true))
+                .andExpect(jsonPath("$.route").value("lookup-contact"))
+                .andExpect(jsonPath("$.dataType").value("JSON/REST"));
+        // cache: false, chaque recherche appelle l'amont
+        producerTemplate.requestBody("direct:lookup-contact", "7", String.class);
+        assertEquals(jsonRequests + 2, upstream.jsonRequests());
+
+        mockMvc.perform(get("/api/camel/routes"))
+                .andExpect(jsonPath("$.routes[?(@.id == 'lookup-contact-route')].resilience.limiter.limit").exists());
+        assertEquals(2000, lookupRegistry.find("contact").orElseThrow().getTimeout().toMillis());
+    }
+
+    @Test
+    void testDeclaredSoapLookup() {
+        String json = producerTemplate.requestBody("direct:lookup-department", "12", String.class);
+
+        assertEquals("{\"department\":\"IT\"}", json);
+    }
+
+    @Test
+    void testFileLookupIsReloaded() throws Exception {
+        writeLookup("first_name");
+        awaitTrue(() -> "{\"name\":\"Person3\"}".equals(lookupOrNull("3")));
+        assertNotNull(camelContext.getRoute(LookupRoutes.routeId("contact")));
+
+        // Nouvelle projection : le résultat en cache est abandonné avec l'ancienne route
+        writeLookup("last_name");
+        awaitTrue(() -> "{\"name\":\"Doe3\"}".equals(lookupOrNull("3")));
+
+        // Déclaration invalide : les routes en service sont conservées
+        Files.writeString(lookupFile, "person.lookups.routes.names.path: people/{id}\n");
+        Files.setLastModifiedTime(lookupFile, FileTime.from(Instant.now().plusSeconds(120)));
+        Thread.sleep(300);
+        assertEquals("{\"name\":\"Doe3\"}", lookup("3"));
+        assertTrue(lookupRegistry.find("contact").isPresent());
+    }
+
+    @Test
+    void testFailingReloadKeepsPreviousRoutesServing() throws Exception {
+        writeLookup("email");
+        awaitTrue(() -> "{\"name\":\"person4@example.com\"}".equals(lookupOrNull("4")));
+
+        // Compile sans erreur, mais la propriété n'est résolue qu'à l'ajout des routes
+        Files.writeString(lookupFile, """
+            person:
+              lookups:
+                routes:
+                  names:
+                    base-url: "{{no.such.property}}"
+                    path: /person_data/{id}
+            """);
+        assertThrows(Exception.class, () -> lookupRoutes.reload());
+
+        assertEquals("{\"name\":\"person4@example.com\"}", lookup("4"));
+        assertNotNull(camelContext.getRoute(LookupRoutes.routeId("names")));
+        assertEquals("{\"department\":\"IT\"}", producerTemplate.requestBody("direct:lookup-department", "4", String.class));
+    }
+
+    private String lookup(String id) {
+        return producerTemplate.requestBody("direct:lookup-names", id, String.class);
+    }
+
+    /**
+     * Result of the names lookup, or {@code null} while its route is not there yet.
+     */
+    private String lookupOrNull(String id) {
+        try {
+            return lookup(id);
+        } catch (CamelExecutionException e) {
+            return null;
+        }
+    }
+
+    private void writeLookup(String source) throws IOException {
+        Files.writeString(lookupFile, """
+            person:
+              lookups:
+                routes:
+                  names:
+                    path: /person_data/{id}
+                    response:
+                      root: /Ok
+                      fields:
+                        - source: /%s
+                          target: name
+            """.formatted(source));
+        // Le fichier est repéré à sa date de modification, qui peut ne pas avoir changé
+        Files.setLastModifiedTime(lookupFile, FileTime.from(Instant.now().plusSeconds(source.length())));
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5s");
+            Thread.sleep(20);
+        }
+    }
+
+    private static Path lookupFile() {
+        try {
+            Path file = Files.createTempFile("lookups", ".yml");
+            Files.delete(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static StubPersonApi startUpstream() {
+        try {
+            return new StubPersonApi();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
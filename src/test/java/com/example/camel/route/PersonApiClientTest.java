@@ -0,0 +1,168 @@
+package com.example.camel.route;
+
+import com.example.camel.service.PersonApiType;
+import com.example.camel.service.PersonLookupService;
+import com.example.camel.support.StubPersonApi;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class PersonApiClientTest {
+
+    private static final StubPersonApi upstream = startUpstream();
+
+    @Autowired
+    private CamelContext camelContext;
+
+    @Autowired
+    private ProducerTemplate producerTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PersonLookupService personLookupService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("person.api.base-url", upstream::baseUrl);
+        // Un appel SOAP par requête ici : le regroupement est couvert par SoapCoalescingTest
+        registry.add("person.soap.coalescing.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.close();
+    }
+
+    @Test
+    void testUniqueIdsReuseStaticEndpoints() {
+        int upstreamRequests = upstream.jsonRequests() + upstream.soapRequests();
+        producerTemplate.requestBodyAndHeaders("direct:personData", "1", Map.of("personId", "1"), String.class);
+        int endpoints = camelContext.getEndpoints().size();
+
+        for (int id = 2; id <= 25; id++) {
+            String result = producerTemplate.requestBodyAndHeaders(
+                "direct:personData", String.valueOf(id), Map.of("personId", String.valueOf(id)), String.class);
+            assertTrue(result.contains("\"first_name\":\"Person" + id + "\""), result);
+        }
+        String soap = producerTemplate.requestBodyAndHeaders("direct:soapPersonData", "7", Map.of(), String.class);
+        assertTrue(soap.contains("\"employee_id\":\"7\""), soap);
+
+        // Aucun endpoint dynamique par ID : seul l'endpoint SOAP s'ajoute
+        assertTrue(camelContext.getEndpoints().size() <= endpoints + 1,
+            "endpoints grew from " + endpoints + " to " + camelContext.getEndpoints().size());
+        assertEquals(upstreamRequests + 26, upstream.jsonRequests() + upstream.soapRequests());
+        // Les connexions keep-alive reviennent dans le pool partagé
+        assertTrue(meterRegistry.get("person.api.pool.connections").tag("state", "available").gauge().value() > 0);
+    }
+
+    @Test
+    void testIdStaysOneEncodedPathSegment() {
+        // Ni segment supplémentaire ni paramètre de requête côté amont
+        producerTemplate.send("direct:personData", exchange -> exchange.getIn().setBody("a/b?x=1#%"));
+
+        assertEquals("/person_data/a%2Fb%3Fx%3D1%23%25", upstream.lastPersonPath());
+    }
+
+    @Test
+    void testPoolOccupancyIsPublished() {
+        assertEquals(200.0, meterRegistry.get("person.api.pool.connections").tag("state", "max").gauge().value());
+        assertNotNull(meterRegistry.get("person.api.pool.connections").tag("state", "pending").gauge());
+    }
+
+    @Test
+    void testAsyncLookupRunsThroughTheRoutes() throws Exception {
+        String json = personLookupService.lookupAsync(PersonApiType.JSON, "41", Duration.ofSeconds(5))
+            .get(5, TimeUnit.SECONDS);
+        String soap = personLookupService.lookupAsync(PersonApiType.SOAP, "42", Duration.ofSeconds(5))
+            .get(5, TimeUnit.SECONDS);
+
+        assertTrue(json.contains("\"first_name\":\"Person41\""), json);
+        assertTrue(soap.contains("\"employee_id\":\"42\""), soap);
+    }
+
+    @Test
+    void testEachExchangeLogsOneSummary() throws Exception {
+        double before = writtenRequestEvents();
+        producerTemplate.requestBodyAndHeaders("direct:personData", "51", Map.of("personId", "51"), String.class);
+        producerTemplate.requestBodyAndHeaders("direct:soapPersonData", "52", Map.of(), String.class);
+
+        // L'écriture est asynchrone : on attend le writer, puis on vérifie qu'aucune ligne n'est en double
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writtenRequestEvents() < before + 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertEquals(before + 2, writtenRequestEvents());
+        assertEquals(0.0, meterRegistry.get("request.log.events").tag("outcome", "dropped").functionCounter().count());
+    }
+
+    @Test
+    void testRouteUpstreamAndProcessorTimings() throws Exception {
+        producerTemplate.requestBodyAndHeaders("direct:soapPersonData", "61", Map.of(), String.class);
+
+        assertTrue(meterRegistry.get("person.route.requests").tag("route", "soap-person-data-route")
+            .tag("status", "SUCCESS").timer().count() >= 1);
+        assertEquals(0.0, meterRegistry.get("person.route.in.flight").tag("route", "soap-person-data-route")
+            .gauge().value());
+        assertTrue(meterRegistry.get("person.route.response.size").tag("route", "soap-person-data-route")
+            .summary().totalAmount() > 0);
+        assertTrue(meterRegistry.get("person.upstream.requests")
+            .tag("upstream", upstream.baseUrl() + "/soap/PersonService").tag("status", "SUCCESS")
+            .timer().count() >= 1);
+        for (String processor : new String[] {"soapRequestProcessor", "soapResponseProcessor"}) {
+            assertTrue(meterRegistry.get("person.processor.duration").tag("processor", processor)
+                .timer().count() >= 1, processor);
+        }
+
+        // Exposés en percentiles et en histogramme pour Prometheus
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString(
+                "person_route_requests_seconds_bucket{route=\"soap-person-data-route\",status=\"SUCCESS\"")))
+            .andExpect(content().string(containsString(
+                "person_processor_duration_seconds{processor=\"soapResponseProcessor\",quantile=\"0.999\"")));
+    }
+
+    private double writtenRequestEvents() {
+        return meterRegistry.get("request.log.events").tag("outcome", "written").functionCounter().count();
+    }
+
+    private static StubPersonApi startUpstream() {
+        try {
+            return new StubPersonApi();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
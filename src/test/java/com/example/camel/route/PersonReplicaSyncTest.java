@@ -0,0 +1,96 @@
+package com.example.camel.route;
+
+import com.example.camel.replica.PersonReplica;
+import com.example.camel.replica.ReplicaProperties;
+import com.example.camel.support.StubPersonApi;
+import com.example.camel.support.StubPersonApiExtension;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PersonReplicaSyncTest {
+
+    @RegisterExtension
+    static final StubPersonApiExtension upstreamApi = new StubPersonApiExtension();
+
+    private static final Path directory = directory();
+
+    @Autowired
+    private PersonReplica personReplica;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("person.api.base-url", upstreamApi::baseUrl);
+        registry.add("person.replica.enabled", () -> "true");
+        registry.add("person.replica.directory", directory::toString);
+        registry.add("person.replica.sync-interval", () -> "0s");
+        registry.add("person.replica.batch-size", () -> "2");
+        registry.add("person.replica.ids[0]", () -> "301-306");
+        registry.add("person.soap.coalescing.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void deleteReplica() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    void testFailedSeedsDoNotHoldBackTheNextOnes(StubPersonApi upstream) {
+        // 301 et 302 échouent : ils attendent refresh-after au lieu de revenir en tête à chaque passe
+        upstream.setStatus(500);
+        try {
+            personReplica.sync();
+        } finally {
+            upstream.setStatus(200);
+        }
+        int jsonRequests = upstream.jsonRequests();
+        int soapRequests = upstream.soapRequests();
+        int soapEmployees = upstream.soapEmployees();
+
+        personReplica.sync();
+        personReplica.sync();
+        assertEquals(jsonRequests + 4, upstream.jsonRequests());
+        // Sans coalescence, l'amont ne reçoit que des requêtes unitaires
+        assertEquals(soapRequests + 4, upstream.soapRequests());
+        assertEquals(soapEmployees + 4, upstream.soapEmployees());
+
+        // Les plages sont parcourues une seule fois : plus rien à charger
+        personReplica.sync();
+        assertEquals(jsonRequests + 4, upstream.jsonRequests());
+        assertEquals(soapRequests + 4, upstream.soapRequests());
+    }
+
+    @Test
+    void testInvalidSeedsFailAtStartup() {
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setIds(List.of("1-10", "abc"));
+        assertThrows(IllegalArgumentException.class, () -> new PersonReplica(properties, null, null, null, null));
+
+        properties.setIds(List.of("10-1"));
+        assertThrows(IllegalArgumentException.class, () -> new PersonReplica(properties, null, null, null, null));
+    }
+
+    private static Path directory() {
+        try {
+            return Files.createTempDirectory("replica-sync");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
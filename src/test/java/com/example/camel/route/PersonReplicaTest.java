@@ -0,0 +1,107 @@
+package com.example.camel.route;
+
+import com.example.camel.replica.PersonReplica;
+import com.example.camel.support.StubPersonApi;
+import com.example.camel.support.StubPersonApiExtension;
+import org.apache.camel.ProducerTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PersonReplicaTest {
+
+    @RegisterExtension
+    static final StubPersonApiExtension upstreamApi = new StubPersonApiExtension();
+
+    private static final Path directory = directory();
+
+    @Autowired
+    private ProducerTemplate producerTemplate;
+
+    @Autowired
+    private PersonReplica personReplica;
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("person.api.base-url", upstreamApi::baseUrl);
+        registry.add("person.replica.enabled", () -> "true");
+        registry.add("person.replica.directory", directory::toString);
+        registry.add("person.replica.sync-interval", () -> "0s");
+        registry.add("person.replica.ids[0]", () -> "101-105");
+        registry.add("person.replica.ids[1]", () -> "110");
+    }
+
+    @AfterAll
+    static void deleteReplica() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Test
+    void testMissIsStoredThenServedLocally(StubPersonApi upstream) throws Exception {
+        int jsonRequests = upstream.jsonRequests();
+
+        String first = producerTemplate.requestBody("direct:personData", "42", String.class);
+        // L'écriture dans la réplique se fait hors du chemin de la requête
+        personReplica.flush();
+        String second = producerTemplate.requestBody("direct:personData", "42", String.class);
+
+        assertTrue(first.contains("\"first_name\":\"Person42\""), first);
+        assertEquals(first, second);
+        // Le second appel est servi par la réplique
+        assertEquals(jsonRequests + 1, upstream.jsonRequests());
+    }
+
+    @Test
+    void testSoapMissIsStoredThenServedLocally(StubPersonApi upstream) throws Exception {
+        int soapRequests = upstream.soapRequests();
+
+        String first = producerTemplate.requestBody("direct:soapPersonData", "43", String.class);
+        personReplica.flush();
+        String second = producerTemplate.requestBody("direct:soapPersonData", "43", String.class);
+
+        assertTrue(first.contains("\"employee_id\":\"43\""), first);
+        assertEquals(first, second);
+        assertEquals(soapRequests + 1, upstream.soapRequests());
+    }
+
+    @Test
+    void testSyncLoadsSeededIds(StubPersonApi upstream) {
+        personReplica.sync();
+        int jsonRequests = upstream.jsonRequests();
+        int soapRequests = upstream.soapRequests();
+
+        for (String id : new String[] {"101", "103", "105", "110"}) {
+            assertTrue(producerTemplate.requestBody("direct:personData", id, String.class)
+                .contains("\"first_name\":\"Person" + id + "\""));
+            assertTrue(producerTemplate.requestBody("direct:soapPersonData", id, String.class)
+                .contains("\"employee_id\":\"" + id + "\""));
+        }
+        // Tout est déjà répliqué : aucun appel amont, et une nouvelle synchronisation n'a rien à charger
+        personReplica.sync();
+        assertEquals(jsonRequests, upstream.jsonRequests());
+        assertEquals(soapRequests, upstream.soapRequests());
+    }
+
+    private static Path directory() {
+        try {
+            return Files.createTempDirectory("replica");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.camel.route;
+
+import com.example.camel.support.StubPersonApi;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ProducerTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SoapCoalescingTest {
+
+    private static final StubPersonApi upstream = startUpstream();
+
+    @Autowired
+    private ProducerTemplate producerTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("person.api.base-url", upstream::baseUrl);
+        // Fenêtre large pour que les requêtes concurrentes du test tombent dans le même lot
+        registry.add("person.soap.coalescing.enabled", () -> "true");
+        registry.add("person.soap.coalescing.window", () -> "200ms");
+        registry.add("person.soap.coalescing.max-batch-size", () -> "25");
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.close();
+    }
+
+    @Test
+    void testConcurrentLookupsShareOneBulkCall() throws Exception {
+        int soapRequests = upstream.soapRequests();
+        int soapEmployees = upstream.soapEmployees();
+        // 40 appels pour 20 IDs distincts : les doublons partagent la même entrée du lot
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(String.valueOf(100 + i % 20));
+        }
+
+        List<String> results = lookupConcurrently(ids);
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertTrue(results.get(i).contains("\"employee_id\":\"" + ids.get(i) + "\""), results.get(i));
+            assertTrue(results.get(i).contains("\"response_code\":\"SUCCESS\""), results.get(i));
+        }
+        assertEquals(soapRequests + 1, upstream.soapRequests());
+        assertEquals(soapEmployees + 20, upstream.soapEmployees());
+    }
+
+    @Test
+    void testFullBatchIsSentWithoutWaiting() throws Exception {
+        int soapRequests = upstream.soapRequests();
+        int soapEmployees = upstream.soapEmployees();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            ids.add(String.valueOf(200 + i));
+        }
+
+        List<String> results = lookupConcurrently(ids);
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertTrue(results.get(i).contains("\"employee_id\":\"" + ids.get(i) + "\""), results.get(i));
+        }
+        // 25 IDs au plus par appel : un lot plein part aussitôt, le reste à la fin de la fenêtre
+        assertEquals(soapRequests + 2, upstream.soapRequests());
+        assertEquals(soapEmployees + 30, upstream.soapEmployees());
+        assertEquals(25.0, meterRegistry.get("person.soap.coalescing.batch.size").summary().max());
+    }
+
+    @Test
+    void testCollidingIdsInOneBatchGetTheirOwnEmployee() throws Exception {
+        // Identifiants distincts qui se normalisent de la même façon, dans le même lot
+        List<String> ids = List.of("7", "007", "AB1", "ab1");
+
+        List<String> results = lookupConcurrently(ids);
+
+        for (int i = 0; i < ids.size(); i++) {
+            assertTrue(results.get(i).contains("\"employee_id\":\"" + ids.get(i) + "\""), results.get(i));
+        }
+    }
+
+    @Test
+    void testSingleLookupUsesSingleOperation() {
+        int soapEmployees = upstream.soapEmployees();
+
+        String soap = producerTemplate.requestBodyAndHeaders("direct:soapPersonData", "7", Map.of(), String.class);
+
+        assertTrue(soap.contains("\"employee_id\":\"7\""), soap);
+        assertTrue(soap.contains("\"full_name\":\"Employee 7\""), soap);
+        assertEquals(soapEmployees + 1, upstream.soapEmployees());
+    }
+
+    @Test
+    void testInvalidIdFailsAlone() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> valid = executor.submit(() ->
+                producerTemplate.requestBodyAndHeaders("direct:soapPersonData", "8", Map.of(), String.class));
+            // Un caractère de contrôle ne peut pas être écrit en XML : seule cette requête échoue
+            CamelExecutionException error = assertThrows(CamelExecutionException.class, () ->
+                producerTemplate.requestBodyAndHeaders("direct:soapPersonData", "9\u0001", Map.of(), String.class));
+            assertInstanceOf(IllegalArgumentException.class, error.getCause());
+
+            assertTrue(valid.get(10, TimeUnit.SECONDS).contains("\"employee_id\":\"8\""));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<String> lookupConcurrently(List<String> ids) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(ids.size());
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<String>> futures = new ArrayList<>();
+            for (String id : ids) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return producerTemplate.requestBodyAndHeaders("direct:soapPersonData", id, Map.of(), String.class);
+                }));
+            }
+            start.countDown();
+            List<String> results = new ArrayList<>();
+            for (Future<String> future : futures) {
+                results.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static StubPersonApi startUpstream() {
+        try {
+            return new StubPersonApi();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.camel.route;
+
+import com.example.camel.support.StubPersonApi;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.camel.ProducerTemplate;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UpstreamHedgingTest {
+
+    private static final StubPersonApi upstream = startUpstream();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProducerTemplate producerTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("person.api.base-url", upstream::baseUrl);
+        // Un appel SOAP par requête, doublé sur la route SOAP elle-même
+        registry.add("person.soap.coalescing.enabled", () -> "false");
+        registry.add("person.resilience.hedging.enabled", () -> "true");
+        registry.add("person.resilience.hedging.min-samples", () -> "5");
+        registry.add("person.resilience.hedging.min-delay", () -> "100ms");
+        registry.add("person.resilience.hedging.budget", () -> "1.0");
+    }
+
+    @AfterEach
+    void restoreUpstream() {
+        upstream.resume();
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.close();
+    }
+
+    @Test
+    void testStalledCallIsAnsweredByTheHedge() throws Exception {
+        for (int id = 1; id <= 5; id++) {
+            producerTemplate.requestBody("direct:personData", String.valueOf(id), String.class);
+        }
+        // Amorce rapide : aucun appel doublé
+        assertEquals(0, meterRegistry.get("person.upstream.hedged").tag("route", "person-data-route").counter().count());
+
+        int jsonRequests = upstream.jsonRequests();
+        upstream.pauseNext(1);
+        long startNanos = System.nanoTime();
+        String json = producerTemplate.requestBody("direct:personData", "42", String.class);
+
+        assertTrue(json.contains("\"first_name\":\"Person42\""), json);
+        assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(5));
+        assertEquals(jsonRequests + 2, upstream.jsonRequests());
+        mockMvc.perform(get("/api/camel/routes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routes[?(@.id == 'person-data-route')].resilience.hedging.delayMillis")
+                    .value(100))
+                .andExpect(jsonPath("$.routes[?(@.id == 'person-data-route')].resilience.hedging.hedged").value(1))
+                .andExpect(jsonPath("$.routes[?(@.id == 'person-data-route')].resilience.hedging.wins").value(1))
+                .andExpect(jsonPath("$.routes[?(@.id == 'person-data-route')].resilience.hedging.winRate").value(1.0));
+        assertEquals(1.0, meterRegistry.get("person.upstream.hedge.win.rate").tag("route", "person-data-route")
+            .gauge().value());
+    }
+
+    @Test
+    void testSoapCallIsHedged() {
+        for (int id = 21; id <= 25; id++) {
+            producerTemplate.requestBody("direct:soapPersonData", String.valueOf(id), String.class);
+        }
+
+        int soapRequests = upstream.soapRequests();
+        upstream.pauseNext(1);
+        String json = producerTemplate.requestBody("direct:soapPersonData", "26", String.class);
+
+        assertTrue(json.contains("\"employee_id\":\"26\""), json);
+        assertEquals(soapRequests + 2, upstream.soapRequests());
+        assertEquals(1, meterRegistry.get("person.upstream.hedge.wins").tag("route", "soap-person-data-route")
+            .counter().count());
+    }
+
+    private static StubPersonApi startUpstream() {
+        try {
+            return new StubPersonApi();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.camel.route;
+
+import com.example.camel.support.StubPersonApi;
+import com.example.camel.resilience.UpstreamResilience;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UpstreamResilienceTest {
+
+    private static final StubPersonApi upstream = startUpstream();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProducerTemplate producerTemplate;
+
+    @Autowired
+    private CamelContext camelContext;
+
+    @Autowired
+    private UpstreamResilience upstreamResilience;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("person.api.base-url", upstream::baseUrl);
+        // Un appel SOAP par requête, pour compter les appels en cours sur la route SOAP
+        registry.add("person.soap.coalescing.enabled", () -> "false");
+        registry.add("person.resilience.circuit-breaker.sliding-window-size", () -> "4");
+        registry.add("person.resilience.circuit-breaker.minimum-number-of-calls", () -> "4");
+        registry.add("person.resilience.circuit-breaker.wait-duration-in-open-state", () -> "60s");
+        registry.add("person.resilience.circuit-breaker.slow-call-duration", () -> "1500ms");
+        registry.add("person.resilience.limiter.initial-limit", () -> "2");
+        registry.add("person.resilience.limiter.max-limit", () -> "2");
+    }
+
+    @Test
+    void testBreakerKeepsSubSecondDurations() {
+        CircuitBreaker breaker = camelContext.getRegistry().lookupByNameAndType(
+            UpstreamResilience.circuitBreakerId("person-data-route"), CircuitBreaker.class);
+
+        // 1500 ms, pas tronqué à 1 s
+        assertEquals(Duration.ofMillis(1500), breaker.getCircuitBreakerConfig().getSlowCallDurationThreshold());
+        assertEquals(60_000L, breaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1));
+    }
+
+    @AfterEach
+    void restoreUpstream() {
+        upstream.setStatus(200);
+        upstream.resume();
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        upstream.close();
+    }
+
+    @Test
+    void testOpenCircuitAnswersServiceUnavailable() throws Exception {
+        upstream.setStatus(500);
+        for (int id = 1; id <= 4; id++) {
+            // Tant que le disjoncteur est fermé, l'erreur d'origine est conservée
+            mockMvc.perform(get("/api/camel/person/" + id))
+                    .andExpect(status().isInternalServerError());
+        }
+        int jsonRequests = upstream.jsonRequests();
+
+        mockMvc.perform(get("/api/camel/person/5"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "60"))
+                .andExpect(jsonPath("$.message", containsString("Circuit breaker of person-data-route is open")));
+        assertEquals(jsonRequests, upstream.jsonRequests());
+
+        mockMvc.perform(get("/api/camel/routes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routes[?(@.id == 'person-data-route')].resilience.circuitBreaker.state")
+                    .value("OPEN"))
+                .andExpect(jsonPath("$.routes[?(@.id == 'person-data-route')].resilience.circuitBreaker.notPermittedCalls")
+                    .value(1));
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(jsonPath("$.components.upstreams.status").value("UP"))
+                .andExpect(jsonPath("$.components.upstreams.details['person-data-route'].circuitBreaker.state")
+                    .value("OPEN"));
+    }
+
+    @Test
+    void testConcurrencyLimitShedsLoad() throws Exception {
+        upstream.pause();
+        int soapRequests = upstream.soapRequests();
+        CompletableFuture<String> first = producerTemplate.asyncRequestBody("direct:soapPersonData", "11", String.class);
+        CompletableFuture<String> second = producerTemplate.asyncRequestBody("direct:soapPersonData", "12", String.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (upstream.soapRequests() < soapRequests + 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Deux appels en cours pour une limite de 2 : le troisième est refusé sans attendre
+        mockMvc.perform(get("/api/camel/person/13?type=soap"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message", containsString("concurrency limit (2)")));
+
+        upstream.resume();
+        assertTrue(first.get(5, TimeUnit.SECONDS).contains("\"employee_id\":\"11\""));
+        assertTrue(second.get(5, TimeUnit.SECONDS).contains("\"employee_id\":\"12\""));
+        assertEquals(soapRequests + 2, upstream.soapRequests());
+        mockMvc.perform(get("/api/camel/routes"))
+                .andExpect(jsonPath("$.routes[?(@.id == 'soap-person-data-route')].resilience.limiter.rejected")
+                    .value(1))
+                .andExpect(jsonPath("$.routes[?(@.id == 'soap-person-data-route')].resilience.limiter.inFlight")
+                    .value(0));
+    }
+
+    @Test
+    void testLimiterSlotIsReleasedOnceTheUpstreamAnswered() throws Exception {
+        AtomicReference<Object> inFlight = new AtomicReference<>();
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                RouteDefinition route = from("direct:limiterReleaseTest").routeId("limiter-release-test-route")
+                    .setHeader(Exchange.HTTP_METHOD, constant("GET"));
+                upstreamResilience.callUpstream(route, "limiter-release-test-route", upstream.baseUrl() + "/person_data/5")
+                    // Le travail local après l'appel ne tient plus de place dans la limite de l'amont
+                    .process(exchange -> inFlight.set(
+                        ((Map<?, ?>) upstreamResilience.state("limiter-release-test-route").get("limiter")).get("inFlight")));
+            }
+        });
+
+        producerTemplate.requestBody("direct:limiterReleaseTest", "", String.class);
+
+        assertEquals(0, inFlight.get());
+    }
+
+    private static StubPersonApi startUpstream() {
+        try {
+            return new StubPersonApi();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.camel.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PersonBatchServiceTest {
+
+    private final PersonLookupService lookupService = mock(PersonLookupService.class);
+    private final PersonBatchProperties properties = new PersonBatchProperties();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PersonBatchService batchService = new PersonBatchService(lookupService, properties, objectMapper);
+
+    @Test
+    void testResultsKeepInputOrderWithPerItemErrors() throws Exception {
+        when(lookupService.lookupAsync(eq(PersonApiType.JSON), eq("1"), any())).thenReturn(
+            CompletableFuture.supplyAsync(() -> "{\"first_name\":\"Person1\"}",
+                CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS)));
+        when(lookupService.lookupAsync(eq(PersonApiType.JSON), eq("2"), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("not found")));
+        when(lookupService.lookupAsync(eq(PersonApiType.JSON), eq("3"), any()))
+            .thenReturn(CompletableFuture.completedFuture("{\"first_name\":\"Jane3\"}"));
+
+        JsonNode result = execute(List.of("1", "2", "3"), Duration.ofSeconds(5));
+
+        assertEquals(3, result.size());
+        assertEquals("1", result.get(0).get("id").asText());
+        assertEquals("success", result.get(0).get("status").asText());
+        // Les données sont imbriquées telles quelles, sans double encodage
+        assertEquals("Person1", result.get(0).get("data").get("first_name").asText());
+        assertEquals("error", result.get(1).get("status").asText());
+        assertTrue(result.get(1).get("message").asText().contains("not found"));
+        assertEquals("Jane3", result.get(2).get("data").get("first_name").asText());
+    }
+
+    @Test
+    void testSlowItemFailsAloneAtDeadline() throws Exception {
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        when(lookupService.lookupAsync(eq(PersonApiType.SOAP), eq("slow"), any())).thenReturn(slow);
+        when(lookupService.lookupAsync(eq(PersonApiType.SOAP), eq("fast"), any()))
+            .thenReturn(CompletableFuture.completedFuture("{\"employee_id\":\"4\"}"));
+
+        long start = System.nanoTime();
+        JsonNode result = execute(PersonApiType.SOAP, List.of("slow", "fast"), Duration.ofMillis(300));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1500, "batch waited " + elapsedMillis + "ms for the slow item");
+        assertEquals("error", result.get(0).get("status").asText());
+        assertTrue(result.get(0).get("message").asText().contains("Deadline exceeded"));
+        assertEquals("success", result.get(1).get("status").asText());
+        // La recherche abandonnée à l'échéance est libérée
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    void testLookupsAreBoundedAndTimedOutOnTheRemainingDeadline() throws Exception {
+        properties.setParallelism(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Duration> timeouts = new CopyOnWriteArrayList<>();
+        when(lookupService.lookupAsync(eq(PersonApiType.JSON), anyString(), any())).thenAnswer(invocation -> {
+            timeouts.add(invocation.getArgument(2));
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            String id = invocation.getArgument(1);
+            // La recherche de l'ID 2 expire sur le temps restant
+            CompletableFuture<String> lookup = id.equals("2")
+                ? CompletableFuture.failedFuture(new TimeoutException())
+                : CompletableFuture.supplyAsync(() -> "{\"id\":\"" + id + "\"}",
+                    CompletableFuture.delayedExecutor(20, TimeUnit.MILLISECONDS));
+            return lookup.whenComplete((value, error) -> running.decrementAndGet());
+        });
+
+        JsonNode result = execute(List.of("1", "2", "3", "4", "5"), Duration.ofSeconds(5));
+
+        assertEquals(2, maxRunning.get());
+        assertEquals(5, timeouts.size());
+        assertTrue(timeouts.stream().allMatch(timeout -> timeout.compareTo(Duration.ofSeconds(5)) <= 0));
+        assertTrue(result.get(1).get("message").asText().contains("Deadline exceeded"));
+        for (int i : new int[] {0, 2, 3, 4}) {
+            assertEquals("success", result.get(i).get("status").asText());
+        }
+    }
+
+    @Test
+    void testValidation() {
+        properties.setMaxSize(2);
+
+        assertThrows(IllegalArgumentException.class, () -> batchService.validate(List.of(), null));
+        assertThrows(IllegalArgumentException.class, () -> batchService.validate(List.of("1", "2", "3"), null));
+        assertThrows(IllegalArgumentException.class, () -> batchService.validate(List.of("1"), Duration.ZERO));
+        assertEquals(properties.getDeadline(), batchService.validate(List.of("1"), null));
+        assertEquals(properties.getMaxDeadline(), batchService.validate(List.of("1"), Duration.ofHours(1)));
+    }
+
+    @Test
+    void testNullOrBlankIdsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> batchService.validate(Arrays.asList("1", null), null));
+        assertThrows(IllegalArgumentException.class, () -> batchService.validate(List.of("1", ""), null));
+        assertThrows(IllegalArgumentException.class, () -> batchService.validate(List.of(" "), null));
+        verifyNoInteractions(lookupService);
+    }
+
+    private JsonNode execute(List<String> ids, Duration deadline) throws Exception {
+        return execute(PersonApiType.JSON, ids, deadline);
+    }
+
+    private JsonNode execute(PersonApiType type, List<String> ids, Duration deadline) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        batchService.execute(type, ids, deadline, output);
+        return objectMapper.readTree(output.toByteArray());
+    }
+}
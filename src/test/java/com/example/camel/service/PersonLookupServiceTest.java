@@ -0,0 +1,271 @@
+package com.example.camel.service;
+
+import com.example.camel.resilience.UpstreamUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PersonLookupServiceTest {
+
+    private final ProducerTemplate producerTemplate = mock(ProducerTemplate.class);
+    private final DefaultCamelContext camelContext = new DefaultCamelContext();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PersonAsyncProperties asyncProperties = new PersonAsyncProperties();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        camelContext.close();
+    }
+
+    @Test
+    void testConcurrentMissesShareOneUpstreamCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(producerTemplate.requestBodyAndHeaders(eq("direct:personData"), eq("1"), anyMap(), eq(String.class)))
+            .thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return "{\"first_name\":\"Jean\"}";
+            });
+        PersonLookupService service = newService(new PersonCacheProperties());
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> service.lookup(PersonApiType.JSON, "1")));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        for (Future<String> result : results) {
+            assertEquals("{\"first_name\":\"Jean\"}", result.get(5, TimeUnit.SECONDS));
+        }
+        callers.shutdown();
+
+        verify(producerTemplate, times(1)).requestBodyAndHeaders(anyString(), any(), anyMap(), eq(String.class));
+    }
+
+    @Test
+    void testEntriesAreKeyedByTypeAndIdAndCounted() {
+        when(producerTemplate.requestBodyAndHeaders(anyString(), any(), anyMap(), eq(String.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0) + "/" + invocation.getArgument(1));
+        PersonLookupService service = newService(new PersonCacheProperties());
+
+        assertEquals("direct:personData/1", service.lookup(PersonApiType.JSON, "1"));
+        assertEquals("direct:personData/1", service.lookup(PersonApiType.JSON, "1"));
+        assertEquals("direct:soapPersonData/1", service.lookup(PersonApiType.SOAP, "1"));
+
+        verify(producerTemplate).requestBodyAndHeaders(eq("direct:soapPersonData"), eq("1"),
+            eq(Map.of("personId", "1", "type", "soap")), eq(String.class));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "person-lookups").tag("result", "hit")
+            .functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "person-lookups").tag("result", "miss")
+            .functionCounter().count());
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        when(producerTemplate.requestBodyAndHeaders(anyString(), any(), anyMap(), eq(String.class)))
+            .thenThrow(new IllegalStateException("upstream down"))
+            .thenReturn("{}");
+        PersonLookupService service = newService(new PersonCacheProperties());
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+            () -> service.lookup(PersonApiType.JSON, "2"));
+        assertEquals("upstream down", error.getMessage());
+        assertEquals("{}", service.lookup(PersonApiType.JSON, "2"));
+    }
+
+    @Test
+    void testDisabledCacheAlwaysCallsUpstream() {
+        when(producerTemplate.requestBodyAndHeaders(anyString(), any(), anyMap(), eq(String.class))).thenReturn("{}");
+        PersonCacheProperties properties = new PersonCacheProperties();
+        properties.setEnabled(false);
+        PersonLookupService service = newService(properties);
+
+        service.lookup(PersonApiType.JSON, "3");
+        service.lookup(PersonApiType.JSON, "3");
+
+        verify(producerTemplate, times(2)).requestBodyAndHeaders(anyString(), any(), anyMap(), eq(String.class));
+    }
+
+    @Test
+    void testAsyncLookupSharesTheCache() throws Exception {
+        when(producerTemplate.send(eq("direct:personData"), any(Exchange.class))).thenAnswer(invocation -> {
+            Exchange exchange = invocation.getArgument(1);
+            assertEquals("json", exchange.getIn().getHeader("type"));
+            exchange.getMessage().setBody("{\"first_name\":\"" + exchange.getIn().getHeader("personId") + "\"}");
+            return exchange;
+        });
+        PersonLookupService service = newService(new PersonCacheProperties());
+
+        assertEquals("{\"first_name\":\"5\"}",
+            service.lookupAsync(PersonApiType.JSON, "5", Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS));
+        // Le résultat asynchrone est servi ensuite par le cache, y compris en synchrone
+        assertEquals("{\"first_name\":\"5\"}", service.lookup(PersonApiType.JSON, "5"));
+
+        verify(producerTemplate, times(1)).send(anyString(), any(Exchange.class));
+        verify(producerTemplate, never()).requestBodyAndHeaders(anyString(), any(), anyMap(), eq(String.class));
+    }
+
+    @Test
+    void testTimeoutOfTheOnlyCallerStopsTheExchange() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Exchange> inFlight = new AtomicReference<>();
+        when(producerTemplate.send(anyString(), any(Exchange.class))).thenAnswer(invocation -> {
+            Exchange exchange = invocation.getArgument(1);
+            inFlight.set(exchange);
+            release.await(5, TimeUnit.SECONDS);
+            exchange.getMessage().setBody("{}");
+            return exchange;
+        });
+        PersonLookupService service = newService(new PersonCacheProperties());
+
+        CompletableFuture<String> result = service.lookupAsync(PersonApiType.SOAP, "6", Duration.ofMillis(100));
+        ExecutionException error = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertTrue(inFlight.get().isRouteStop());
+        release.countDown();
+
+        // Le chargement abandonné n'est pas conservé dans le cache
+        when(producerTemplate.send(anyString(), any(Exchange.class))).thenAnswer(invocation -> {
+            Exchange exchange = invocation.getArgument(1);
+            exchange.getMessage().setBody("{\"employee_id\":\"6\"}");
+            return exchange;
+        });
+        assertEquals("{\"employee_id\":\"6\"}",
+            service.lookupAsync(PersonApiType.SOAP, "6", Duration.ofSeconds(5)).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testOneCallerTimingOutDoesNotCancelTheOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Exchange> inFlight = new AtomicReference<>();
+        when(producerTemplate.send(anyString(), any(Exchange.class))).thenAnswer(invocation -> {
+            Exchange exchange = invocation.getArgument(1);
+            inFlight.set(exchange);
+            release.await(5, TimeUnit.SECONDS);
+            exchange.getMessage().setBody("{}");
+            return exchange;
+        });
+        PersonLookupService service = newService(new PersonCacheProperties());
+
+        CompletableFuture<String> impatient = service.lookupAsync(PersonApiType.JSON, "7", Duration.ofMillis(100));
+        CompletableFuture<String> patient = service.lookupAsync(PersonApiType.JSON, "7", Duration.ofSeconds(5));
+        assertThrows(ExecutionException.class, () -> impatient.get(5, TimeUnit.SECONDS));
+        assertFalse(inFlight.get().isRouteStop());
+        release.countDown();
+
+        assertEquals("{}", patient.get(5, TimeUnit.SECONDS));
+        verify(producerTemplate, times(1)).send(anyString(), any(Exchange.class));
+    }
+
+    @Test
+    void testSynchronousCallerKeepsTheLoadAlive() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Exchange> inFlight = new AtomicReference<>();
+        when(producerTemplate.send(anyString(), any(Exchange.class))).thenAnswer(invocation -> {
+            Exchange exchange = invocation.getArgument(1);
+            inFlight.set(exchange);
+            release.await(5, TimeUnit.SECONDS);
+            exchange.getMessage().setBody("{\"first_name\":\"9\"}");
+            return exchange;
+        });
+        PersonLookupService service = newService(new PersonCacheProperties());
+
+        CompletableFuture<String> impatient = service.lookupAsync(PersonApiType.JSON, "9", Duration.ofMillis(200));
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        Future<String> blocking = callers.submit(() -> service.lookup(PersonApiType.JSON, "9"));
+        assertThrows(ExecutionException.class, () -> impatient.get(5, TimeUnit.SECONDS));
+
+        // L'appelant synchrone compte parmi les attentes : le chargement n'est pas annulé
+        assertFalse(inFlight.get().isRouteStop());
+        release.countDown();
+        assertEquals("{\"first_name\":\"9\"}", blocking.get(5, TimeUnit.SECONDS));
+        callers.shutdown();
+        verify(producerTemplate, times(1)).send(anyString(), any(Exchange.class));
+        verify(producerTemplate, never()).requestBodyAndHeaders(anyString(), any(), anyMap(), eq(String.class));
+    }
+
+    @Test
+    void testCancellationWithoutCacheStopsTheExchange() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Exchange> inFlight = new AtomicReference<>();
+        when(producerTemplate.send(anyString(), any(Exchange.class))).thenAnswer(invocation -> {
+            inFlight.set(invocation.getArgument(1));
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return invocation.getArgument(1);
+        });
+        PersonCacheProperties properties = new PersonCacheProperties();
+        properties.setEnabled(false);
+        PersonLookupService service = newService(properties);
+
+        CompletableFuture<String> result = service.lookupAsync(PersonApiType.JSON, "8", Duration.ofSeconds(5));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        result.cancel(false);
+
+        assertTrue(inFlight.get().isRouteStop());
+        release.countDown();
+    }
+
+    @Test
+    void testAsyncLoadsAreBoundedAndOverflowIsRefused() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(producerTemplate.send(anyString(), any(Exchange.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            Exchange exchange = invocation.getArgument(1);
+            exchange.getMessage().setBody("{}");
+            return exchange;
+        });
+        asyncProperties.setMaxConcurrentLoads(1);
+        asyncProperties.setMaxQueuedLoads(1);
+        PersonCacheProperties properties = new PersonCacheProperties();
+        properties.setEnabled(false);
+        PersonLookupService service = newService(properties);
+
+        // Un chargement en cours, un en file : le troisième est refusé au lieu d'ouvrir un nouveau thread
+        CompletableFuture<String> running = service.lookupAsync(PersonApiType.JSON, "1", Duration.ofSeconds(5));
+        CompletableFuture<String> queued = service.lookupAsync(PersonApiType.JSON, "2", Duration.ofSeconds(5));
+        CompletableFuture<String> refused = service.lookupAsync(PersonApiType.JSON, "3", Duration.ofSeconds(5));
+
+        ExecutionException error = assertThrows(ExecutionException.class, () -> refused.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UpstreamUnavailableException.class, error.getCause());
+        release.countDown();
+        assertEquals("{}", running.get(5, TimeUnit.SECONDS));
+        assertEquals("{}", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testTimeoutResolution() {
+        PersonLookupService service = newService(new PersonCacheProperties());
+
+        assertEquals(asyncProperties.getTimeout(), service.resolveTimeout(null));
+        assertEquals(Duration.ofMillis(250), service.resolveTimeout(Duration.ofMillis(250)));
+        assertEquals(asyncProperties.getMaxTimeout(), service.resolveTimeout(Duration.ofHours(1)));
+        assertThrows(IllegalArgumentException.class, () -> service.resolveTimeout(Duration.ZERO));
+    }
+
+    private PersonLookupService newService(PersonCacheProperties properties) {
+        return new PersonLookupService(producerTemplate, camelContext, properties, asyncProperties, meterRegistry);
+    }
+}
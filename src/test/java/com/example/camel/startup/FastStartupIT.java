@@ -0,0 +1,101 @@
+package com.example.camel.startup;
+
+import com.example.camel.support.StubPersonApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Time from launching the fast-startup build ({@code target/fast-startup/run.sh}) to its first successful
+ * lookup. Run by failsafe in the {@code fast-startup} Maven profile, once the build and its CDS archive exist.
+ */
+class FastStartupIT {
+
+    private static final Logger log = LoggerFactory.getLogger(FastStartupIT.class);
+
+    private static final Duration GIVE_UP = Duration.ofSeconds(60);
+
+    private final Path directory = Path.of(System.getProperty("fast-startup.dir", "target/fast-startup"));
+    private final Duration target = DurationStyle.detectAndParse(System.getProperty("fast-startup.target", "8s"));
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StubPersonApi upstream;
+    private Process application;
+
+    @BeforeEach
+    void startUpstream() throws IOException {
+        upstream = new StubPersonApi();
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+        }
+        upstream.close();
+    }
+
+    @Test
+    void testFirstLookupWithinTarget() throws Exception {
+        assertTrue(Files.exists(directory.resolve("app.jsa")), "No CDS archive in " + directory);
+        int port = freePort();
+        URI lookup = URI.create("http://localhost:" + port + "/api/camel/person/1");
+
+        long startNanos = System.nanoTime();
+        application = new ProcessBuilder("sh", "run.sh", "--server.port=" + port,
+                "--person.api.base-url=" + upstream.baseUrl())
+            .directory(directory.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(directory.resolve("fast-startup-it.log").toFile())
+            .start();
+
+        // Interrogé jusqu'à la première réponse 200 : les routes démarrent après Tomcat
+        Duration elapsed = null;
+        while (elapsed == null) {
+            assertTrue(application.isAlive(), "Application exited, see fast-startup-it.log");
+            assertTrue(System.nanoTime() - startNanos < GIVE_UP.toNanos(), "No successful lookup after " + GIVE_UP);
+            if (isSuccessful(lookup)) {
+                elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+            } else {
+                Thread.sleep(20);
+            }
+        }
+
+        log.info("Time to first successful request: {} ms (target {} ms)", elapsed.toMillis(), target.toMillis());
+        assertTrue(elapsed.compareTo(target) <= 0,
+            "First successful request after " + elapsed.toMillis() + " ms, target is " + target.toMillis() + " ms");
+        assertEquals(1, upstream.jsonRequests());
+    }
+
+    private boolean isSuccessful(URI uri) throws InterruptedException {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // Not listening yet
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
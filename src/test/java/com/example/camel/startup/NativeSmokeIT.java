@@ -0,0 +1,132 @@
+package com.example.camel.startup;
+
+import com.example.camel.support.StubPersonApi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Smoke test of the native executable ({@code target/camel-springboot-app}) against a stub upstream: time to
+ * the first successful lookup, then lookups of both API types, which go through the reflection and resource hints
+ * of {@code NativeHints}. Run by failsafe in the {@code native} Maven profile, once the image is built.
+ */
+class NativeSmokeIT {
+
+    private static final Logger log = LoggerFactory.getLogger(NativeSmokeIT.class);
+
+    private static final Duration GIVE_UP = Duration.ofSeconds(30);
+
+    private final Path image = Path.of(System.getProperty("native.image", "target/camel-springboot-app"));
+    private final Duration target = DurationStyle.detectAndParse(System.getProperty("native.target", "1s"));
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StubPersonApi upstream;
+    private Process application;
+    private String baseUrl;
+
+    @BeforeEach
+    void start() throws Exception {
+        assertTrue(Files.isExecutable(image), "No native executable at " + image);
+        upstream = new StubPersonApi();
+        int port = freePort();
+        baseUrl = "http://localhost:" + port;
+
+        long startNanos = System.nanoTime();
+        application = new ProcessBuilder(image.toAbsolutePath().toString(), "--spring.profiles.active=fast-startup",
+                "--server.port=" + port, "--person.api.base-url=" + upstream.baseUrl())
+            .redirectErrorStream(true)
+            .redirectOutput(image.resolveSibling("native-smoke-it.log").toFile())
+            .start();
+
+        // Interrogé jusqu'à la première réponse 200 : les routes démarrent après Tomcat
+        Duration elapsed = null;
+        while (elapsed == null) {
+            assertTrue(application.isAlive(), "Native executable exited, see native-smoke-it.log");
+            assertTrue(System.nanoTime() - startNanos < GIVE_UP.toNanos(), "No successful lookup after " + GIVE_UP);
+            if (get("/api/camel/person/1").filter(response -> response.statusCode() == 200).isPresent()) {
+                elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+            } else {
+                Thread.sleep(5);
+            }
+        }
+        log.info("Time to first successful request: {} ms (target {} ms)", elapsed.toMillis(), target.toMillis());
+        assertTrue(elapsed.compareTo(target) <= 0,
+            "First successful request after " + elapsed.toMillis() + " ms, target is " + target.toMillis() + " ms");
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+        }
+        upstream.close();
+    }
+
+    @Test
+    void testLookupsOnEveryRoute() throws Exception {
+        // JSON : PersonDataProcessor et l'enveloppe PersonResponse
+        assertBody("/api/camel/person/1", "\"first_name\":\"Person1\"");
+        // SOAP : SoapRequestProcessor puis l'analyseur StAX du JDK dans SoapResponseProcessor
+        assertBody("/api/camel/person/2?type=soap", "\"employee_id\":\"2\"");
+        assertBody("/api/camel/person/3?type=soap&format=raw", "\"employee_id\":\"3\"");
+        // Réponses construites à partir de Map (état de résilience des routes)
+        assertBody("/api/camel/routes", "\"person-data-route\"");
+        assertBody("/api/camel/person/1/async?timeoutMs=-1", "\"status\":\"error\"");
+
+        long rssKilobytes = residentSetKilobytes(application.pid());
+        if (rssKilobytes >= 0) {
+            log.info("Resident set after the lookups: {} MB", rssKilobytes / 1024);
+        }
+    }
+
+    private void assertBody(String path, String expected) throws InterruptedException {
+        HttpResponse<String> response = get(path).orElseThrow(() -> new AssertionError("No response for " + path));
+        assertTrue(response.body().contains(expected), path + " answered " + response.statusCode() + ": " + response.body());
+    }
+
+    private Optional<HttpResponse<String>> get(String path) throws InterruptedException {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(5)).GET().build();
+            return Optional.of(client.send(request, HttpResponse.BodyHandlers.ofString()));
+        } catch (IOException e) {
+            // Not listening yet
+            return Optional.empty();
+        }
+    }
+
+    private static long residentSetKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+            .filter(line -> line.startsWith("VmRSS:"))
+            .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+            .findFirst()
+            .orElse(-1);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
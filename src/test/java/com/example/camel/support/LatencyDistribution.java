@@ -0,0 +1,77 @@
+package com.example.camel.support;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Delay the {@link StubPersonApi} waits before each response, drawn afresh for every request.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    LatencyDistribution NONE = () -> 0;
+
+    /**
+     * Next delay, in nanoseconds.
+     */
+    long nextNanos();
+
+    static LatencyDistribution fixed(Duration latency) {
+        long nanos = latency.toNanos();
+        return () -> nanos;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long low = min.toNanos();
+        long high = max.toNanos();
+        return () -> low == high ? low : ThreadLocalRandom.current().nextLong(low, high + 1);
+    }
+
+    static LatencyDistribution exponential(Duration mean) {
+        double nanos = mean.toNanos();
+        return () -> (long) (-nanos * Math.log(1 - ThreadLocalRandom.current().nextDouble()));
+    }
+
+    /**
+     * Long-tailed delays, as seen from real services: half below {@code median}, 1% above {@code p99}.
+     */
+    static LatencyDistribution logNormal(Duration median, Duration p99) {
+        double mu = Math.log(median.toNanos());
+        // 2.326 is the 99th percentile of the standard normal distribution
+        double sigma = Math.max(0, (Math.log(p99.toNanos()) - mu) / 2.326);
+        return () -> (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+    }
+
+    /**
+     * Parses {@code none}, {@code fixed:5ms}, {@code uniform:1ms-10ms}, {@code exponential:5ms} or
+     * {@code lognormal:5ms-50ms} (median, then p99); durations take a {@code ms}, {@code s} or {@code us} unit.
+     */
+    static LatencyDistribution parse(String text) {
+        String spec = text.trim().toLowerCase(Locale.ROOT);
+        int colon = spec.indexOf(':');
+        String kind = colon < 0 ? spec : spec.substring(0, colon);
+        String[] values = colon < 0 ? new String[0] : spec.substring(colon + 1).split("-");
+        return switch (kind + "/" + values.length) {
+            case "none/0" -> NONE;
+            case "fixed/1" -> fixed(duration(values[0]));
+            case "uniform/2" -> uniform(duration(values[0]), duration(values[1]));
+            case "exponential/1" -> exponential(duration(values[0]));
+            case "lognormal/2" -> logNormal(duration(values[0]), duration(values[1]));
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + text);
+        };
+    }
+
+    private static Duration duration(String text) {
+        if (text.endsWith("us")) {
+            return Duration.ofNanos(Long.parseLong(text.substring(0, text.length() - 2)) * 1000);
+        }
+        if (text.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+        }
+        if (text.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        throw new IllegalArgumentException("Duration needs a unit (us, ms or s): " + text);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.camel.support;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop HTTP load generator: a fixed number of clients send requests back to back for a given
+ * time, and the completed requests are summarized as throughput and latency percentiles.
+ */
+public final class LoadGenerator {
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .version(HttpClient.Version.HTTP_1_1)
+        .build();
+
+    /**
+     * Runs the load, discarding the results of the warm-up period.
+     *
+     * @param uris request URI for the n-th request of a client, to spread load over several IDs
+     */
+    public Result run(String name, IntFunction<URI> uris, int concurrency, Duration warmup, Duration duration)
+            throws Exception {
+        return runRequests(name, n -> HttpRequest.newBuilder(uris.apply(n)).timeout(Duration.ofSeconds(30)).build(),
+            concurrency, warmup, duration);
+    }
+
+    /**
+     * Same as {@link #run}, for requests other than plain GETs.
+     *
+     * @param requests n-th request of a client
+     */
+    public Result runRequests(String name, IntFunction<HttpRequest> requests, int concurrency, Duration warmup,
+                              Duration duration) throws Exception {
+        measure(requests, concurrency, warmup);
+        Result result = measure(requests, concurrency, duration);
+        return new Result(name, concurrency, result.requests, result.errors, result.rps,
+            result.p50Millis, result.p99Millis, result.p999Millis);
+    }
+
+    private Result measure(IntFunction<HttpRequest> requests, int concurrency, Duration duration) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<Future<long[]>> latencies = new ArrayList<>();
+        for (int c = 0; c < concurrency; c++) {
+            latencies.add(clients.submit(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                for (int n = 0; System.nanoTime() < end; n++) {
+                    HttpRequest request = requests.apply(n);
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                        continue;
+                    }
+                    if (count == samples.length) {
+                        samples = Arrays.copyOf(samples, count * 2);
+                    }
+                    samples[count++] = System.nanoTime() - sent;
+                }
+                return Arrays.copyOf(samples, count);
+            }));
+        }
+        long[] all = new long[0];
+        for (Future<long[]> future : latencies) {
+            long[] samples = future.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + samples.length);
+            System.arraycopy(samples, 0, all, offset, samples.length);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        clients.shutdown();
+        Arrays.sort(all);
+        return new Result(null, concurrency, all.length, errors.get(), all.length / seconds,
+            percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999));
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    public record Result(String name, int concurrency, long requests, long errors, double rps,
+                         double p50Millis, double p99Millis, double p999Millis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-28s clients=%4d requests=%7d errors=%5d rps=%9.1f p50=%8.2fms p99=%8.2fms p999=%8.2fms",
+                name, concurrency, requests, errors, rps, p50Millis, p99Millis, p999Millis);
+        }
+    }
+}
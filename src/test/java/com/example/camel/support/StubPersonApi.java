@@ -0,0 +1,351 @@
+package com.example.camel.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-JVM stand-in for mock_server.py: serves {@code GET /person_data/{id}} and
+ * {@code POST /soap/PersonService} (single and bulk operations) with the same payload shapes, on a random port
+ * unless {@link Settings} say otherwise. Connections are served by the JDK's NIO HTTP server and each request
+ * runs on a virtual thread when the JVM has them, so a slow simulated upstream holds no platform thread.
+ * <p>
+ * {@link Settings} also give a latency distribution, a rate of failed (500) responses and a minimum record size,
+ * padding records with a {@code notes} field that the projections ignore. Tests can use it through
+ * {@link StubPersonApiExtension}; {@link #main} runs it standalone, for load tests against a deployed gateway.
+ */
+public class StubPersonApi implements AutoCloseable {
+
+    static {
+        // Headers and body go out in separate writes; with Nagle on, every response waits for a delayed ACK
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(StubPersonApi.class);
+
+    private static final Pattern EMPLOYEE_ID = Pattern.compile("<(?:\\w+:)?employeeId>([^<]*)<");
+    private static final int BACKLOG = 1024;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicInteger jsonRequests = new AtomicInteger();
+    private final AtomicInteger soapRequests = new AtomicInteger();
+    private final AtomicInteger soapEmployees = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile String lastTraceparent;
+    private volatile String lastPersonPath;
+
+    private final Settings settings;
+    private final String padding;
+    private volatile int status = 200;
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    // Responses still to hold on the gate
+    private final AtomicInteger held = new AtomicInteger();
+
+    public StubPersonApi() throws IOException {
+        this(Settings.defaults());
+    }
+
+    /**
+     * @param latency artificial delay added before every response
+     */
+    public StubPersonApi(Duration latency) throws IOException {
+        this(Settings.defaults().withLatency(LatencyDistribution.fixed(latency)));
+    }
+
+    public StubPersonApi(Settings settings) throws IOException {
+        this.settings = settings;
+        this.padding = "x".repeat(settings.payloadSize());
+        this.executor = settings.virtualThreads() ? virtualThreadExecutor() : Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress(settings.host(), settings.port()), BACKLOG);
+        server.createContext("/person_data/", this::handlePerson);
+        server.createContext("/soap/PersonService", this::handleSoap);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Runs the simulator until the JVM stops, e.g. on the test class path:
+     * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.camel.support.StubPersonApi
+     * -Dexec.args="--port=8001 --latency=lognormal:5ms-50ms"}.
+     * Options: {@code --host}, {@code --port}, {@code --latency} (see {@link LatencyDistribution#parse}),
+     * {@code --error-rate}, {@code --payload-size} and {@code --platform-threads}.
+     */
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.defaults().withPort(8001);
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg : arg.substring(0, equals);
+            String value = equals < 0 ? "" : arg.substring(equals + 1);
+            settings = switch (name) {
+                case "--host" -> settings.withHost(value);
+                case "--port" -> settings.withPort(Integer.parseInt(value));
+                case "--latency" -> settings.withLatency(LatencyDistribution.parse(value));
+                case "--error-rate" -> settings.withErrorRate(Double.parseDouble(value));
+                case "--payload-size" -> settings.withPayloadSize(Integer.parseInt(value));
+                case "--platform-threads" -> settings.withVirtualThreads(false);
+                default -> throw new IllegalArgumentException("Unknown option " + arg);
+            };
+        }
+        StubPersonApi api = new StubPersonApi(settings);
+        log.info("Upstream simulator listening on {} with {}", api.baseUrl(), String.join(" ", args));
+        Runtime.getRuntime().addShutdownHook(new Thread(api::close));
+        Thread.currentThread().join();
+    }
+
+    public String baseUrl() {
+        return "http://" + settings.host() + ":" + server.getAddress().getPort();
+    }
+
+    public int jsonRequests() {
+        return jsonRequests.get();
+    }
+
+    public int soapRequests() {
+        return soapRequests.get();
+    }
+
+    /**
+     * Path of the latest person request, as sent: still percent-encoded.
+     */
+    public String lastPersonPath() {
+        return lastPersonPath;
+    }
+
+    /**
+     * W3C {@code traceparent} header of the latest request, {@code null} if it had none.
+     */
+    public String lastTraceparent() {
+        return lastTraceparent;
+    }
+
+    /**
+     * Number of employees served over all SOAP requests, bulk ones counting each of their IDs.
+     */
+    public int soapEmployees() {
+        return soapEmployees.get();
+    }
+
+    /**
+     * Number of responses failed on purpose, following {@link Settings#errorRate()}.
+     */
+    public int failures() {
+        return failures.get();
+    }
+
+    /**
+     * Makes every following response use this HTTP status, with the usual body.
+     */
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    /**
+     * Holds every response until {@link #resume()}.
+     */
+    public void pause() {
+        pauseNext(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Holds the next {@code count} responses until {@link #resume()}; later ones are served as usual.
+     */
+    public void pauseNext(int count) {
+        gate = new CountDownLatch(1);
+        held.set(count);
+    }
+
+    public void resume() {
+        held.set(0);
+        gate.countDown();
+    }
+
+    public static String personJson(String id) {
+        return "{\"Ok\":{\"id\":" + id + ",\"first_name\":\"Person" + id + "\",\"last_name\":\"Doe" + id
+            + "\",\"email\":\"person" + id + "@example.com\",\"birth_date\":\"1990-05-15\","
+            + "\"created_at\":\"2025-08-19T09:25:30.135028Z\",\"is_active\":true}}";
+    }
+
+    public static String employeeXml(String id) {
+        return "<per:Employee><per:EmployeeId>" + id + "</per:EmployeeId><per:FullName>Employee " + id
+            + "</per:FullName><per:Department>IT</per:Department><per:Position>Developer</per:Position>"
+            + "<per:Email>employee" + id + "@company.com</per:Email><per:Salary>50000</per:Salary>"
+            + "<per:HireDate>2020-01-15</per:HireDate><per:IsActive>true</per:IsActive>"
+            + "<per:Office>Building 1, Floor 1</per:Office><per:Phone>+33 1 42 00 00 00</per:Phone>"
+            + "<per:Extension>1000</per:Extension></per:Employee>";
+    }
+
+    private void handlePerson(HttpExchange exchange) throws IOException {
+        jsonRequests.incrementAndGet();
+        lastTraceparent = exchange.getRequestHeaders().getFirst("traceparent");
+        lastPersonPath = exchange.getRequestURI().getRawPath();
+        String id = exchange.getRequestURI().getPath().substring("/person_data/".length());
+        if (simulateFailure()) {
+            respond(exchange, 500, "application/json", "{\"Err\":\"Simulated upstream failure\"}");
+            return;
+        }
+        String json = personJson(id);
+        if (json.length() < padding.length()) {
+            // Padded inside the Ok object, before its closing brace
+            json = json.substring(0, json.length() - 2) + ",\"notes\":\""
+                + padding.substring(Math.min(padding.length(), json.length() + 11)) + "\"}}";
+        }
+        respond(exchange, status, "application/json", json);
+    }
+
+    private void handleSoap(HttpExchange exchange) throws IOException {
+        soapRequests.incrementAndGet();
+        lastTraceparent = exchange.getRequestHeaders().getFirst("traceparent");
+        String request;
+        try (InputStream body = exchange.getRequestBody()) {
+            request = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Matcher matcher = EMPLOYEE_ID.matcher(request);
+        boolean bulk = request.contains("GetEmployeesRequest");
+        String operation = bulk ? "GetEmployeesResponse" : "GetEmployeeResponse";
+        if (simulateFailure()) {
+            respond(exchange, 500, "application/soap+xml; charset=utf-8",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?><soap:Envelope xmlns:soap=\"http://www.w3.org/2003/05/soap-envelope\">"
+                    + "<soap:Body><soap:Fault><soap:Code><soap:Value>soap:Receiver</soap:Value></soap:Code>"
+                    + "<soap:Reason><soap:Text xml:lang=\"en\">Simulated upstream failure</soap:Text></soap:Reason>"
+                    + "</soap:Fault></soap:Body></soap:Envelope>");
+            return;
+        }
+        StringBuilder employees = new StringBuilder();
+        if (bulk) {
+            while (matcher.find()) {
+                appendEmployee(employees, matcher.group(1));
+            }
+        } else {
+            appendEmployee(employees, matcher.find() ? matcher.group(1) : "1");
+        }
+        respond(exchange, status, "application/soap+xml; charset=utf-8",
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?><soap:Envelope xmlns:soap=\"http://www.w3.org/2003/05/soap-envelope\""
+                + " xmlns:per=\"http://example.com/person\"><soap:Header/><soap:Body><per:" + operation + ">"
+                + employees
+                + "<per:ResponseCode>SUCCESS</per:ResponseCode>"
+                + "<per:ResponseMessage>Employee data retrieved successfully</per:ResponseMessage>"
+                + "</per:" + operation + "></soap:Body></soap:Envelope>");
+    }
+
+    private void appendEmployee(StringBuilder employees, String id) {
+        String xml = employeeXml(id);
+        if (xml.length() < padding.length()) {
+            int end = xml.length() - "</per:Employee>".length();
+            employees.append(xml, 0, end).append("<per:Notes>")
+                .append(padding, 0, Math.max(0, padding.length() - xml.length() - 23)).append("</per:Notes>")
+                .append(xml, end, xml.length());
+        } else {
+            employees.append(xml);
+        }
+        soapEmployees.incrementAndGet();
+    }
+
+    private boolean simulateFailure() {
+        if (settings.errorRate() > 0 && ThreadLocalRandom.current().nextDouble() < settings.errorRate()) {
+            failures.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        try {
+            if (held.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+                gate.await();
+            }
+            long delay = settings.latency().nextNanos();
+            if (delay > 0) {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Before Java 21
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * How the simulator behaves.
+     *
+     * @param port        0 for a random port
+     * @param latency     delay before each response
+     * @param errorRate   share of requests answered with a 500 and an error body, between 0 and 1
+     * @param payloadSize minimum size of each person or employee record, in characters; 0 for the plain records
+     */
+    public record Settings(String host, int port, LatencyDistribution latency, double errorRate, int payloadSize,
+                           boolean virtualThreads) {
+
+        public Settings {
+            if (errorRate < 0 || errorRate > 1) {
+                throw new IllegalArgumentException("Error rate must be between 0 and 1: " + errorRate);
+            }
+            if (payloadSize < 0) {
+                throw new IllegalArgumentException("Payload size must not be negative: " + payloadSize);
+            }
+        }
+
+        public static Settings defaults() {
+            return new Settings("localhost", 0, LatencyDistribution.NONE, 0, 0, true);
+        }
+
+        public Settings withHost(String host) {
+            return new Settings(host, port, latency, errorRate, payloadSize, virtualThreads);
+        }
+
+        public Settings withPort(int port) {
+            return new Settings(host, port, latency, errorRate, payloadSize, virtualThreads);
+        }
+
+        public Settings withLatency(LatencyDistribution latency) {
+            return new Settings(host, port, latency, errorRate, payloadSize, virtualThreads);
+        }
+
+        public Settings withErrorRate(double errorRate) {
+            return new Settings(host, port, latency, errorRate, payloadSize, virtualThreads);
+        }
+
+        public Settings withPayloadSize(int payloadSize) {
+            return new Settings(host, port, latency, errorRate, payloadSize, virtualThreads);
+        }
+
+        public Settings withVirtualThreads(boolean virtualThreads) {
+            return new Settings(host, port, latency, errorRate, payloadSize, virtualThreads);
+        }
+    }
+}
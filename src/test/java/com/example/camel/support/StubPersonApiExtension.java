@@ -0,0 +1,74 @@
+package com.example.camel.support;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Runs a {@link StubPersonApi} for the tests of a class, registered on a static field:
+ * <pre>
+ * &#64;RegisterExtension
+ * static final StubPersonApiExtension upstream = new StubPersonApiExtension();
+ *
+ * &#64;DynamicPropertySource
+ * static void upstreamProperties(DynamicPropertyRegistry registry) {
+ *     registry.add("person.api.base-url", upstream::baseUrl);
+ * }
+ * </pre>
+ * The simulator starts on first use, so a Spring context may ask for its URL before the extension's own
+ * callbacks run, and stops after the last test of the class. Test methods can also declare a
+ * {@link StubPersonApi} parameter.
+ */
+public class StubPersonApiExtension implements AfterAllCallback, ParameterResolver {
+
+    private final StubPersonApi.Settings settings;
+    private StubPersonApi api;
+
+    public StubPersonApiExtension() {
+        this(StubPersonApi.Settings.defaults());
+    }
+
+    public StubPersonApiExtension(StubPersonApi.Settings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * The running simulator, started if needed.
+     */
+    public synchronized StubPersonApi api() {
+        if (api == null) {
+            try {
+                api = new StubPersonApi(settings);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return api;
+    }
+
+    public String baseUrl() {
+        return api().baseUrl();
+    }
+
+    @Override
+    public synchronized void afterAll(ExtensionContext context) {
+        if (api != null) {
+            api.close();
+            api = null;
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == StubPersonApi.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return api();
+    }
+}
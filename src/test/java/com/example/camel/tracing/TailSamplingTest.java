@@ -0,0 +1,134 @@
+package com.example.camel.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TailSamplingTest {
+
+    private final List<SpanData> exported = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SdkTracerProvider provider;
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    void testFastSuccessfulTraceIsDropped() {
+        Tracer tracer = tracer(0, true);
+
+        Span root = tracer.spanBuilder("GET /api/camel/person/{id}").startSpan();
+        Span child = tracer.spanBuilder("personDataProcessor").setParent(Context.current().with(root)).startSpan();
+
+        // Enregistrée pour la décision de queue, mais ni échantillonnée ni exportée
+        assertTrue(child.isRecording());
+        assertFalse(child.getSpanContext().isSampled());
+        child.end();
+        root.end();
+        assertTrue(exported.isEmpty());
+        assertEquals(1, decisions("dropped"));
+    }
+
+    @Test
+    void testFailedTraceIsKeptWhole() {
+        Tracer tracer = tracer(0, true);
+
+        Span root = tracer.spanBuilder("GET /api/camel/person/{id}").startSpan();
+        Span child = tracer.spanBuilder("soapResponseProcessor").setParent(Context.current().with(root)).startSpan();
+        child.setStatus(StatusCode.ERROR);
+        child.end();
+        root.end();
+
+        assertEquals(List.of("soapResponseProcessor", "GET /api/camel/person/{id}"),
+            exported.stream().map(SpanData::getName).toList());
+        assertEquals(1, decisions("kept"));
+    }
+
+    @Test
+    void testSlowTraceIsKept() {
+        Tracer tracer = tracer(0, true);
+
+        Span root = tracer.spanBuilder("slow").setStartTimestamp(1000, TimeUnit.MILLISECONDS).startSpan();
+        root.end(1080, TimeUnit.MILLISECONDS);
+        Span fast = tracer.spanBuilder("fast").setStartTimestamp(1000, TimeUnit.MILLISECONDS).startSpan();
+        fast.end(1020, TimeUnit.MILLISECONDS);
+
+        assertEquals(List.of("slow"), exported.stream().map(SpanData::getName).toList());
+    }
+
+    @Test
+    void testHeadSampledTraceIsLeftToTheBatchProcessor() {
+        Tracer tracer = tracer(1, true);
+
+        Span root = tracer.spanBuilder("sampled").startSpan();
+        root.setStatus(StatusCode.ERROR);
+        root.end();
+
+        assertTrue(root.getSpanContext().isSampled());
+        assertTrue(exported.isEmpty());
+    }
+
+    @Test
+    void testWithoutTailSamplingUnsampledSpansAreNotRecorded() {
+        Tracer tracer = tracer(0, false);
+
+        Span root = tracer.spanBuilder("unsampled").startSpan();
+        Span child = tracer.spanBuilder("child").setParent(Context.current().with(root)).startSpan();
+
+        assertFalse(root.isRecording());
+        assertFalse(child.isRecording());
+        child.end();
+        root.end();
+    }
+
+    private Tracer tracer(double probability, boolean tail) {
+        TracingProperties.Tail properties = new TracingProperties.Tail();
+        properties.setLatencyThreshold(Duration.ofMillis(50));
+        provider = SdkTracerProvider.builder()
+            .setSampler(TailSampling.headSampler(probability, tail))
+            .addSpanProcessor(new TailSampling(new CollectingExporter(), properties, meterRegistry))
+            .build();
+        return provider.get("test");
+    }
+
+    private double decisions(String decision) {
+        return meterRegistry.get("person.tracing.tail").tag("decision", decision).counter().count();
+    }
+
+    private final class CollectingExporter implements SpanExporter {
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> spans) {
+            exported.addAll(spans);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
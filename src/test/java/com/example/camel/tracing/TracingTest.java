@@ -0,0 +1,119 @@
+package com.example.camel.tracing;
+
+import com.example.camel.support.StubPersonApi;
+import com.example.camel.support.StubPersonApiExtension;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A lookup traced end to end: server request, routes, processors and upstream call in one trace.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("test")
+class TracingTest {
+
+    @RegisterExtension
+    static final StubPersonApiExtension upstreamApi = new StubPersonApiExtension();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private CollectingExporter exporter;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("person.api.base-url", upstreamApi::baseUrl);
+    }
+
+    @Test
+    void testLookupIsOneTracePropagatedUpstream(StubPersonApi upstream) throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/camel/person/51")).build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        SpanData processor = exporter.spans.stream()
+            .filter(span -> span.getName().equals("personDataProcessor"))
+            .findFirst().orElseThrow(() -> new AssertionError("No processor span in " + names()));
+        String traceId = processor.getTraceId();
+        List<SpanData> trace = exporter.spans.stream().filter(span -> span.getTraceId().equals(traceId)).toList();
+
+        // Requête serveur, route, processeur et appel amont dans la même trace
+        assertTrue(trace.stream().anyMatch(span -> span.getName().startsWith("http get")
+            && !span.getParentSpanContext().isValid()), names());
+        assertTrue(trace.size() >= 4, names());
+        assertTrue(trace.stream().anyMatch(span -> span.getAttributes().get(AttributeKey.stringKey("request.id")) != null),
+            names());
+        // Le traceparent transmis à l'amont porte la trace
+        assertNotNull(upstream.lastTraceparent());
+        assertEquals(traceId, upstream.lastTraceparent().split("-")[1]);
+    }
+
+    private String names() {
+        return exporter.spans.stream().map(span -> span.getName() + "@" + span.getTraceId())
+            .collect(Collectors.joining(", "));
+    }
+
+    @TestConfiguration
+    static class ExporterConfig {
+
+        @Bean
+        CollectingExporter collectingExporter() {
+            return new CollectingExporter();
+        }
+    }
+
+    static final class CollectingExporter implements SpanExporter {
+
+        final List<SpanData> spans = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> batch) {
+            spans.addAll(batch);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
@@ -44,7 +44,7 @@ fi
 echo ""
 echo -e "${YELLOW}🔍 Log analysis commands:${NC}"
 echo "  View all requests: cat logs/camel-requests.log"
-echo "  Filter by HTTP code: grep 'HTTP 200' logs/camel-requests.log"
+echo "  Filter by HTTP code: grep 'HTTPCode: 200' logs/camel-requests.log"
 echo "  Filter by execution time: grep 'REQUEST_SUMMARY' logs/camel-requests.log"
 echo "  Count requests: wc -l logs/camel-requests.log"
 echo "  Real-time monitoring: tail -f logs/camel-requests.log"